@@ -1,10 +1,13 @@
 package com.vaccine.tracker.config;
 
+import com.vaccine.tracker.monitoring.QueryBudgetInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.util.Arrays;
@@ -16,6 +19,9 @@ import java.util.Arrays;
 @Configuration
 public class AppConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private QueryBudgetInterceptor queryBudgetInterceptor;
+
     /**
      * Configures CORS settings for the application.
      * @return Configured CORS source
@@ -33,4 +39,14 @@ public class AppConfig implements WebMvcConfigurer {
         source.registerCorsConfiguration("/**", configuration);
         return source;
     }
+
+    /**
+     * Registers request interceptors.
+     * The query budget interceptor checks SQL statement counts per handler.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryBudgetInterceptor)
+                .addPathPatterns("/api/**");
+    }
 }
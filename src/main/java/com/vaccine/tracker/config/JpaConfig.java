@@ -0,0 +1,57 @@
+package com.vaccine.tracker.config;
+
+import com.vaccine.tracker.monitoring.SqlStatementCounter;
+import com.vaccine.tracker.security.ParentScopeGuard;
+import com.vaccine.tracker.security.ParentScopeJpaDialect;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import java.util.List;
+
+/**
+ * Hibernate settings that need Spring beans and so cannot live in application.properties.
+ */
+@Configuration
+public class JpaConfig {
+
+    /**
+     * Registers the statement counter used to enforce per-endpoint SQL budgets.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(SqlStatementCounter statementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+    }
+
+    /**
+     * Registers the guard that rejects customer loads made without the parent scope filter.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer parentScopeGuardCustomizer() {
+        IntegratorProvider integrators = () -> List.of(new ParentScopeGuard());
+        return properties -> properties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER, integrators);
+    }
+
+    /**
+     * Uses the dialect that enables the parent scope filter on every customer transaction.
+     * Set before the factory initializes, so it takes precedence over the vendor adapter's
+     * dialect and is picked up by the transaction manager.
+     */
+    @Bean
+    public static BeanPostProcessor parentScopeDialectPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean entityManagerFactory) {
+                    entityManagerFactory.setJpaDialect(new ParentScopeJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,17 +1,35 @@
 package com.vaccine.tracker.config;
 
+import com.vaccine.tracker.constant.ApiEndpoints;
+import com.vaccine.tracker.security.BoundedPasswordEncoder;
+import com.vaccine.tracker.security.JwtAuthenticationFilter;
+import com.vaccine.tracker.security.JwtTokenProvider;
+import com.vaccine.tracker.security.LoginAttemptThrottle;
+import com.vaccine.tracker.security.PasswordHashingExecutor;
+import com.vaccine.tracker.security.ThrottlingAuthenticationProvider;
 import com.vaccine.tracker.service.CustomUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -19,12 +37,51 @@ public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
     
+    private final JwtTokenProvider jwtTokenProvider;
+    
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    
+    private final LoginAttemptThrottle loginAttemptThrottle;
+    
+    @Value("${app.security.bcrypt.strength:10}")
+    private int bcryptStrength;
+    
     @Autowired
-    public SecurityConfig(CustomUserDetailsService userDetailsService) {
+    public SecurityConfig(CustomUserDetailsService userDetailsService, JwtTokenProvider jwtTokenProvider,
+                          PasswordHashingExecutor passwordHashingExecutor, LoginAttemptThrottle loginAttemptThrottle) {
         this.userDetailsService = userDetailsService;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.loginAttemptThrottle = loginAttemptThrottle;
+    }
+
+    /**
+     * Stateless chain for every /api/** request.
+     * Callers authenticate with a bearer token; no HTTP session is created or
+     * read, so an API call without a valid token is rejected with 401.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain apiFilterChain(HttpSecurity http) throws Exception {
+        RequestMatcher tokenLogin = new AntPathRequestMatcher(ApiEndpoints.AUTH_LOGIN);
+        
+        http
+            .securityMatcher(new AntPathRequestMatcher(ApiEndpoints.API_BASE + "/**"))
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .requestCache(cache -> cache.disable())
+            .authorizeHttpRequests(authz -> authz
+                .requestMatchers(tokenLogin, new AntPathRequestMatcher("/api/status")).permitAll()
+                .anyRequest().authenticated()
+            )
+            .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+            .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider), UsernamePasswordAuthenticationFilter.class);
+        
+        return http.build();
     }
 
     @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
             .csrf(csrf -> csrf.disable()) // For development purposes only
@@ -51,10 +108,12 @@ public class SecurityConfig {
     
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
+        DaoAuthenticationProvider authProvider = new ThrottlingAuthenticationProvider(loginAttemptThrottle);
         
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Lets the provider store a rehashed password when upgradeEncoding reports an outdated hash
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         
         return authProvider;
     }
@@ -64,8 +123,18 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
     
+    /**
+     * New hashes are written as {bcrypt} at the configured cost. Legacy unprefixed
+     * hashes still verify and, like hashes at a lower cost, are upgraded on the
+     * next successful login. All hashing runs on the bounded hashing pool.
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        String encodingId = "bcrypt";
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(
+                encodingId, Map.of(encodingId, new BCryptPasswordEncoder(bcryptStrength)));
+        delegating.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        
+        return new BoundedPasswordEncoder(delegating, passwordHashingExecutor);
     }
 }
\ No newline at end of file
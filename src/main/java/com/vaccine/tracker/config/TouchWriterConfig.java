@@ -0,0 +1,21 @@
+package com.vaccine.tracker.config;
+
+import com.vaccine.tracker.repository.TouchColumnWriter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configures the coalescing writers for touch-style timestamp columns.
+ * Add a bean here for each further column that is updated on every access.
+ */
+@Configuration
+@EnableScheduling
+public class TouchWriterConfig {
+
+    @Bean
+    public TouchColumnWriter lastLoginWriter(JdbcTemplate jdbcTemplate) {
+        return new TouchColumnWriter(jdbcTemplate, "users", "username", "last_login");
+    }
+}
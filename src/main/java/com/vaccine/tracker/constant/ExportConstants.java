@@ -0,0 +1,17 @@
+package com.vaccine.tracker.constant;
+
+/**
+ * Constants for streaming exports of large result sets.
+ */
+public class ExportConstants {
+    
+    // Rows fetched per JDBC round trip for streamed queries
+    public static final String STREAM_FETCH_SIZE = "500";
+    
+    // Rows written between persistence context clears, keeping memory flat
+    public static final int STREAM_CLEAR_INTERVAL = 500;
+    
+    private ExportConstants() {
+        // Private constructor to prevent instantiation
+    }
+}
@@ -0,0 +1,17 @@
+package com.vaccine.tracker.constant;
+
+/**
+ * Pagination constants for cursor-paged list endpoints.
+ */
+public class PaginationConstants {
+    
+    public static final String DEFAULT_PAGE_SIZE = "20";
+    public static final int MAX_PAGE_SIZE = 100;
+    
+    public static final String PARAM_CURSOR = "cursor";
+    public static final String PARAM_SIZE = "size";
+    
+    private PaginationConstants() {
+        // Private constructor to prevent instantiation
+    }
+}
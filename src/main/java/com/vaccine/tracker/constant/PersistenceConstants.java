@@ -0,0 +1,14 @@
+package com.vaccine.tracker.constant;
+
+/**
+ * Constants for id generation and JDBC batching.
+ */
+public class PersistenceConstants {
+    
+    // Ids reserved per sequence call; must match each sequence's INCREMENT BY
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
+    private PersistenceConstants() {
+        // Private constructor to prevent instantiation
+    }
+}
@@ -0,0 +1,48 @@
+package com.vaccine.tracker.constant;
+
+/**
+ * Constants for report generation and the daily report rollup.
+ */
+public class ReportConstants {
+    
+    // Bucket used by rollup rows that are not split further, such as revenue
+    public static final String BUCKET_ALL = "ALL";
+    
+    // Vaccine id recorded for revenue from payments without a vaccination
+    public static final long UNATTRIBUTED_VACCINE_ID = 0L;
+    
+    // Reactions at or above this severity (1-5) count as severe
+    public static final int SEVERE_REACTION_THRESHOLD = 4;
+    
+    // Number of vaccines listed as most administered
+    public static final int TOP_VACCINES_LIMIT = 10;
+    
+    // Number of feedback entries included in the customer report
+    public static final int RECENT_FEEDBACK_LIMIT = 5;
+    
+    // Days ahead and behind covered by the vaccine inventory report
+    public static final int INVENTORY_WINDOW_DAYS = 30;
+    
+    // Most months returned by one monthly report range request
+    public static final int MAX_MONTHLY_REPORT_MONTHS = 36;
+    
+    // Months covered by the missed appointments report
+    public static final int MISSED_REPORT_MONTHS = 12;
+    
+    // Mismatches listed by the rollup consistency check before it stops listing
+    public static final int MAX_REPORTED_MISMATCHES = 100;
+    
+    // Scale of rolled-up and averaged money amounts
+    public static final int MONEY_SCALE = 2;
+    
+    // Exclusive upper bounds, in days of the child's age on the scheduled day, of the report age groups
+    public static final int[] AGE_GROUP_UPPER_DAYS = {61, 183, 365, 730, 1826};
+    
+    // Age group labels; one more than the bounds, the last group is open-ended
+    public static final String[] AGE_GROUP_LABELS = {
+            "0-2 months", "2-6 months", "6-12 months", "1-2 years", "2-5 years", "5+ years"};
+    
+    private ReportConstants() {
+        // Private constructor to prevent instantiation
+    }
+}
@@ -0,0 +1,18 @@
+package com.vaccine.tracker.constant;
+
+/**
+ * Search constants for the typeahead lookup endpoints.
+ */
+public class SearchConstants {
+    
+    public static final String PARAM_LIMIT = "limit";
+    public static final String DEFAULT_LIMIT = "10";
+    public static final int MAX_LIMIT = 50;
+    
+    // Dead rows an in-memory name index tolerates before rebuilding, beyond a quarter of its rows
+    public static final int MIN_DEAD_ROWS = 1024;
+    
+    private SearchConstants() {
+        // Private constructor to prevent instantiation
+    }
+}
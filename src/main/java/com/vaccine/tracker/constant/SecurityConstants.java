@@ -14,6 +14,10 @@ public class SecurityConstants {
     // Password validation patterns
     public static final String PASSWORD_PATTERN = "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=])(?=\\S+$).{8,}$";
     
+    // Hibernate filter limiting customer queries to their own children's data
+    public static final String PARENT_SCOPE_FILTER = "parentScope";
+    public static final String PARENT_SCOPE_PARAM = "parentId";
+    
     // Role prefixes
     public static final String ROLE_PREFIX = "ROLE_";
     
@@ -0,0 +1,56 @@
+package com.vaccine.tracker.controller;
+
+import com.vaccine.tracker.constant.ApiEndpoints;
+import com.vaccine.tracker.dto.request.LoginRequest;
+import com.vaccine.tracker.dto.response.JwtResponse;
+import com.vaccine.tracker.security.JwtTokenProvider;
+import com.vaccine.tracker.security.UserPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+
+/**
+ * Controller for token-based API authentication.
+ */
+@RestController
+public class AuthApiController {
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    /**
+     * Authenticate with username and password and issue an access token.
+     * Invalid credentials are answered with 401 by the security filter chain.
+     *
+     * @param loginRequest the login credentials
+     * @param request the HTTP request, used for the client address in login throttling
+     * @return the access token and user details
+     */
+    @PostMapping(ApiEndpoints.AUTH_LOGIN)
+    public ResponseEntity<JwtResponse> login(@Valid @RequestBody LoginRequest loginRequest,
+                                             HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken credentials = new UsernamePasswordAuthenticationToken(
+                loginRequest.getUsername(), loginRequest.getPassword());
+        credentials.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+        Authentication authentication = authenticationManager.authenticate(credentials);
+
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        String token = tokenProvider.generateToken(principal);
+
+        return ResponseEntity.ok(new JwtResponse(
+                token, principal.getId(), principal.getUsername(), principal.getEmail(), principal.getRole()));
+    }
+}
@@ -1,14 +1,20 @@
 package com.vaccine.tracker.controller;
 
+import com.vaccine.tracker.constant.PaginationConstants;
+import com.vaccine.tracker.constant.SearchConstants;
 import com.vaccine.tracker.dto.request.ChildRequest;
+import com.vaccine.tracker.dto.request.PageCursor;
 import com.vaccine.tracker.dto.response.ChildResponse;
+import com.vaccine.tracker.dto.response.CursorPage;
 import com.vaccine.tracker.dto.response.MessageResponse;
 import com.vaccine.tracker.entity.Child;
 import com.vaccine.tracker.entity.User;
 import com.vaccine.tracker.mapper.ChildMapper;
+import com.vaccine.tracker.monitoring.QueryBudget;
 import com.vaccine.tracker.service.ChildService;
 import com.vaccine.tracker.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -25,6 +31,7 @@ import java.util.List;
  */
 @Controller
 @RequestMapping("/api/children")
+@QueryBudget(selects = 5, writes = 5)
 public class ChildController {
 
     @Autowired
@@ -68,16 +75,23 @@ public class ChildController {
     }
 
     /**
-     * Get all children for the current user.
+     * Get the current user's children, one page at a time, ordered by last name.
      *
-     * @return list of children
+     * @param cursor the cursor returned with the previous page, omitted for the first page
+     * @param size the page size, capped at {@link PaginationConstants#MAX_PAGE_SIZE}
+     * @return one page of children
      */
+    @QueryBudget(selects = 3)
     @GetMapping("/list")
     @ResponseBody
-    public ResponseEntity<List<ChildResponse>> getChildren() {
-        User currentUser = userService.getCurrentUser();
-        List<Child> children = childService.findByParent(currentUser);
-        return ResponseEntity.ok(childMapper.toChildResponseList(children));
+    public ResponseEntity<CursorPage<ChildResponse>> getChildren(
+            @RequestParam(name = PaginationConstants.PARAM_CURSOR, required = false) String cursor,
+            @RequestParam(name = PaginationConstants.PARAM_SIZE,
+                          defaultValue = PaginationConstants.DEFAULT_PAGE_SIZE) int size) {
+        Long parentId = userService.getCurrentPrincipal().getId();
+        Slice<Child> children = childService.findPageByParentId(parentId, PageCursor.decode(cursor), size);
+        return ResponseEntity.ok(CursorPage.of(children, childMapper.toChildResponseList(children.getContent()),
+                child -> PageCursor.of(child.getLastName(), child.getId())));
     }
 
     /**
@@ -143,6 +157,7 @@ public class ChildController {
      * @param parentId the parent user ID
      * @return list of children
      */
+    @QueryBudget(selects = 3)
     @GetMapping("/by-parent/{parentId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'STAFF')")
     @ResponseBody
@@ -152,15 +167,19 @@ public class ChildController {
     }
 
     /**
-     * Search children by name.
+     * Search children by name, ignoring case and diacritics; the last word may be a prefix.
      *
      * @param keyword the search keyword
-     * @return list of matching children
+     * @param limit the maximum number of results, capped at {@link SearchConstants#MAX_LIMIT}
+     * @return list of matching children, best matches first
      */
+    @QueryBudget(selects = 3)
     @GetMapping("/search")
     @ResponseBody
-    public ResponseEntity<List<ChildResponse>> searchChildren(@RequestParam String keyword) {
-        List<Child> children = childService.findByFullNameContaining(keyword);
+    public ResponseEntity<List<ChildResponse>> searchChildren(
+            @RequestParam String keyword,
+            @RequestParam(name = SearchConstants.PARAM_LIMIT, defaultValue = SearchConstants.DEFAULT_LIMIT) int limit) {
+        List<Child> children = childService.searchByName(keyword, limit);
         return ResponseEntity.ok(childMapper.toChildResponseList(children));
     }
 
@@ -1,13 +1,18 @@
 package com.vaccine.tracker.controller;
 
+import com.vaccine.tracker.constant.PaginationConstants;
 import com.vaccine.tracker.dto.request.FeedbackRequest;
+import com.vaccine.tracker.dto.request.PageCursor;
+import com.vaccine.tracker.dto.response.CursorPage;
 import com.vaccine.tracker.dto.response.FeedbackResponse;
 import com.vaccine.tracker.dto.response.MessageResponse;
 import com.vaccine.tracker.entity.Feedback;
 import com.vaccine.tracker.mapper.FeedbackMapper;
+import com.vaccine.tracker.monitoring.QueryBudget;
 import com.vaccine.tracker.service.FeedbackService;
 import com.vaccine.tracker.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
@@ -22,6 +27,7 @@ import java.util.List;
  */
 @Controller
 @RequestMapping("/api/feedbacks")
+@QueryBudget(selects = 5, writes = 5)
 public class FeedbackController {
 
     @Autowired
@@ -81,25 +87,33 @@ public class FeedbackController {
      *
      * @return list of feedback
      */
+    @QueryBudget(selects = 2)
     @GetMapping("/my-feedback")
     @ResponseBody
     public ResponseEntity<List<FeedbackResponse>> getUserFeedback() {
-        Long userId = userService.getCurrentUser().getId();
+        Long userId = userService.getCurrentPrincipal().getId();
         List<Feedback> feedbacks = feedbackService.findByUserId(userId);
         return ResponseEntity.ok(feedbackMapper.toFeedbackResponseList(feedbacks));
     }
 
     /**
-     * Get all feedback (admin/staff only).
+     * Get all feedback, one page at a time, newest first (admin/staff only).
      *
-     * @return list of all feedback
+     * @param cursor the cursor returned with the previous page, omitted for the first page
+     * @param size the page size, capped at {@link PaginationConstants#MAX_PAGE_SIZE}
+     * @return one page of feedback
      */
+    @QueryBudget(selects = 2)
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'STAFF')")
     @ResponseBody
-    public ResponseEntity<List<FeedbackResponse>> getAllFeedback() {
-        List<Feedback> feedbacks = feedbackService.findAll();
-        return ResponseEntity.ok(feedbackMapper.toFeedbackResponseList(feedbacks));
+    public ResponseEntity<CursorPage<FeedbackResponse>> getAllFeedback(
+            @RequestParam(name = PaginationConstants.PARAM_CURSOR, required = false) String cursor,
+            @RequestParam(name = PaginationConstants.PARAM_SIZE,
+                          defaultValue = PaginationConstants.DEFAULT_PAGE_SIZE) int size) {
+        Slice<Feedback> feedbacks = feedbackService.findAllPage(PageCursor.decode(cursor), size);
+        return ResponseEntity.ok(CursorPage.of(feedbacks, feedbackMapper.toFeedbackResponseList(feedbacks.getContent()),
+                feedback -> PageCursor.of(feedback.getCreatedAt(), feedback.getId())));
     }
 
     /**
@@ -126,6 +140,7 @@ public class FeedbackController {
      * @param scheduleId the schedule ID
      * @return list of feedback
      */
+    @QueryBudget(selects = 3)
     @GetMapping("/by-schedule/{scheduleId}")
     @ResponseBody
     public ResponseEntity<List<FeedbackResponse>> getFeedbackBySchedule(@PathVariable Long scheduleId) {
@@ -138,6 +153,7 @@ public class FeedbackController {
      *
      * @return list of feedback without responses
      */
+    @QueryBudget(selects = 2)
     @GetMapping("/without-responses")
     @PreAuthorize("hasAnyRole('ADMIN', 'STAFF')")
     @ResponseBody
@@ -1,22 +1,31 @@
 package com.vaccine.tracker.controller;
 
+import com.vaccine.tracker.constant.PaginationConstants;
+import com.vaccine.tracker.dto.request.PageCursor;
 import com.vaccine.tracker.dto.request.PaymentRequest;
+import com.vaccine.tracker.dto.response.CursorPage;
 import com.vaccine.tracker.dto.response.MessageResponse;
 import com.vaccine.tracker.dto.response.PaymentResponse;
 import com.vaccine.tracker.entity.Order;
 import com.vaccine.tracker.entity.Payment;
 import com.vaccine.tracker.mapper.PaymentMapper;
+import com.vaccine.tracker.monitoring.QueryBudget;
 import com.vaccine.tracker.service.OrderService;
 import com.vaccine.tracker.service.PaymentService;
 import com.vaccine.tracker.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -25,6 +34,7 @@ import java.util.List;
  */
 @Controller
 @RequestMapping("/api/payments")
+@QueryBudget(selects = 5, writes = 5)
 public class PaymentController {
 
     @Autowired
@@ -103,25 +113,33 @@ public class PaymentController {
      *
      * @return list of payments
      */
+    @QueryBudget(selects = 3)
     @GetMapping
     @ResponseBody
     public ResponseEntity<List<PaymentResponse>> getUserPayments() {
-        Long userId = userService.getCurrentUser().getId();
+        Long userId = userService.getCurrentPrincipal().getId();
         List<Payment> payments = paymentService.findByUserId(userId);
         return ResponseEntity.ok(paymentMapper.toPaymentResponseList(payments));
     }
 
     /**
-     * Get all payments (admin only).
+     * Get all payments, one page at a time, newest first (admin only).
      *
-     * @return list of all payments
+     * @param cursor the cursor returned with the previous page, omitted for the first page
+     * @param size the page size, capped at {@link PaginationConstants#MAX_PAGE_SIZE}
+     * @return one page of payments
      */
+    @QueryBudget(selects = 2)
     @GetMapping("/all")
     @PreAuthorize("hasRole('ADMIN')")
     @ResponseBody
-    public ResponseEntity<List<PaymentResponse>> getAllPayments() {
-        List<Payment> payments = paymentService.findAll();
-        return ResponseEntity.ok(paymentMapper.toPaymentResponseList(payments));
+    public ResponseEntity<CursorPage<PaymentResponse>> getAllPayments(
+            @RequestParam(name = PaginationConstants.PARAM_CURSOR, required = false) String cursor,
+            @RequestParam(name = PaginationConstants.PARAM_SIZE,
+                          defaultValue = PaginationConstants.DEFAULT_PAGE_SIZE) int size) {
+        Slice<Payment> payments = paymentService.findAllPage(PageCursor.decode(cursor), size);
+        return ResponseEntity.ok(CursorPage.of(payments, paymentMapper.toPaymentResponseList(payments.getContent()),
+                payment -> PageCursor.of(payment.getPaymentDate(), payment.getId())));
     }
 
     /**
@@ -170,20 +188,23 @@ public class PaymentController {
 
     /**
      * Get payments by date range (admin only).
+     * The JSON array is streamed to the response as rows are read, so any range can be exported.
      *
      * @param startDate the start date
      * @param endDate the end date
-     * @return list of payments in the date range
+     * @param response the HTTP response to write the payments to
      */
+    @QueryBudget(selects = QueryBudget.UNLIMITED)
     @GetMapping("/by-date-range")
     @PreAuthorize("hasRole('ADMIN')")
-    @ResponseBody
-    public ResponseEntity<List<PaymentResponse>> getPaymentsByDateRange(
+    public void getPaymentsByDateRange(
             @RequestParam LocalDateTime startDate,
-            @RequestParam LocalDateTime endDate) {
+            @RequestParam LocalDateTime endDate,
+            HttpServletResponse response) throws IOException {
         
-        List<Payment> payments = paymentService.findByPaymentDateBetween(startDate, endDate);
-        return ResponseEntity.ok(paymentMapper.toPaymentResponseList(payments));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        paymentService.writeByPaymentDateBetween(startDate, endDate, response.getOutputStream());
     }
 
     /**
@@ -1,19 +1,28 @@
 package com.vaccine.tracker.controller;
 
+import com.vaccine.tracker.constant.PaginationConstants;
+import com.vaccine.tracker.dto.request.PageCursor;
 import com.vaccine.tracker.dto.request.ReactionRequest;
+import com.vaccine.tracker.dto.response.CursorPage;
 import com.vaccine.tracker.dto.response.MessageResponse;
 import com.vaccine.tracker.dto.response.ReactionResponse;
 import com.vaccine.tracker.entity.Reaction;
 import com.vaccine.tracker.mapper.ReactionMapper;
+import com.vaccine.tracker.monitoring.QueryBudget;
 import com.vaccine.tracker.service.ReactionService;
 import com.vaccine.tracker.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -22,6 +31,7 @@ import java.util.List;
  */
 @Controller
 @RequestMapping("/api/reactions")
+@QueryBudget(selects = 5, writes = 5)
 public class ReactionController {
 
     @Autowired
@@ -82,6 +92,7 @@ public class ReactionController {
      * @param childId the child ID
      * @return list of reactions
      */
+    @QueryBudget(selects = 3)
     @GetMapping("/child/{childId}")
     @ResponseBody
     public ResponseEntity<List<ReactionResponse>> getReactionsByChild(@PathVariable Long childId) {
@@ -94,10 +105,11 @@ public class ReactionController {
      *
      * @return list of reactions
      */
+    @QueryBudget(selects = 3)
     @GetMapping("/my-children")
     @ResponseBody
     public ResponseEntity<List<ReactionResponse>> getReactionsForUserChildren() {
-        Long parentId = userService.getCurrentUser().getId();
+        Long parentId = userService.getCurrentPrincipal().getId();
         List<Reaction> reactions = reactionService.findByParentId(parentId);
         return ResponseEntity.ok(reactionMapper.toReactionResponseList(reactions));
     }
@@ -116,16 +128,38 @@ public class ReactionController {
     }
 
     /**
-     * Get all reactions (admin/staff only).
+     * Get all reactions, one page at a time, newest first (admin/staff only).
      *
-     * @return list of all reactions
+     * @param cursor the cursor returned with the previous page, omitted for the first page
+     * @param size the page size, capped at {@link PaginationConstants#MAX_PAGE_SIZE}
+     * @return one page of reactions
      */
+    @QueryBudget(selects = 2)
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'STAFF')")
     @ResponseBody
-    public ResponseEntity<List<ReactionResponse>> getAllReactions() {
-        List<Reaction> reactions = reactionService.findAll();
-        return ResponseEntity.ok(reactionMapper.toReactionResponseList(reactions));
+    public ResponseEntity<CursorPage<ReactionResponse>> getAllReactions(
+            @RequestParam(name = PaginationConstants.PARAM_CURSOR, required = false) String cursor,
+            @RequestParam(name = PaginationConstants.PARAM_SIZE,
+                          defaultValue = PaginationConstants.DEFAULT_PAGE_SIZE) int size) {
+        Slice<Reaction> reactions = reactionService.findAllPage(PageCursor.decode(cursor), size);
+        return ResponseEntity.ok(CursorPage.of(reactions, reactionMapper.toReactionResponseList(reactions.getContent()),
+                reaction -> PageCursor.of(reaction.getReactionDate(), reaction.getId())));
+    }
+
+    /**
+     * Export all reactions as one JSON array (admin/staff only).
+     * Rows are streamed to the response as they are read instead of being collected first.
+     *
+     * @param response the HTTP response to write the reactions to
+     */
+    @QueryBudget(selects = QueryBudget.UNLIMITED)
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'STAFF')")
+    public void exportReactions(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        reactionService.writeAll(response.getOutputStream());
     }
 
     /**
@@ -1,31 +1,54 @@
 package com.vaccine.tracker.controller;
 
+import com.vaccine.tracker.dto.request.VaccinationExportRequest;
+import com.vaccine.tracker.dto.response.MessageResponse;
+import com.vaccine.tracker.dto.response.MonthlyReportResponse;
 import com.vaccine.tracker.dto.response.ReportResponse;
+import com.vaccine.tracker.monitoring.QueryBudget;
+import com.vaccine.tracker.service.ReportCache;
+import com.vaccine.tracker.service.ReportRollupService;
 import com.vaccine.tracker.service.ReportService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Controller for handling report generation.
  */
 @Controller
 @RequestMapping("/api/reports")
+@QueryBudget(selects = 20)
 @PreAuthorize("hasAnyRole('ADMIN', 'STAFF')")
 public class ReportController {
 
     @Autowired
     private ReportService reportService;
 
+    @Autowired
+    private ReportRollupService reportRollupService;
+
+    @Autowired
+    private ReportCache reportCache;
+
     /**
      * Show admin dashboard with reports.
      */
@@ -146,4 +169,112 @@ public class ReportController {
         ReportResponse report = reportService.generateComprehensiveReport(startDate, endDate);
         return ResponseEntity.ok(report);
     }
+
+    /**
+     * Get the monthly vaccination reports for a range of months, oldest first.
+     * Closed months are served from their stored snapshots.
+     *
+     * @param from the first month
+     * @param to the last month
+     * @return one report per month
+     */
+    @QueryBudget(selects = QueryBudget.UNLIMITED, writes = QueryBudget.UNLIMITED)
+    @GetMapping("/monthly")
+    @ResponseBody
+    public ResponseEntity<List<MonthlyReportResponse>> getMonthlyReports(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        
+        return ResponseEntity.ok(reportService.getMonthlyVaccinationReports(from, to));
+    }
+
+    /**
+     * Get a provider's performance up to yesterday: completion and missed rates,
+     * average delay from scheduled to administered date, and reaction rate.
+     * Responds with 404 when the id is not a staff user.
+     *
+     * @param providerId the provider id
+     * @return the provider performance report
+     */
+    @GetMapping("/providers/{providerId}")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getProviderPerformance(@PathVariable Long providerId) {
+        return ResponseEntity.ok(reportService.getProviderPerformanceReport(providerId));
+    }
+
+    /**
+     * Get the performance of all providers, most completed schedules first.
+     *
+     * @return one performance report per provider
+     */
+    @GetMapping("/providers")
+    @ResponseBody
+    public ResponseEntity<List<Map<String, Object>>> getProviderLeaderboard() {
+        return ResponseEntity.ok(reportService.getProviderLeaderboard());
+    }
+
+    /**
+     * Export the vaccination registry as CSV, streamed straight to the response.
+     *
+     * @param request the columns, date range, partitioning and compression to use
+     * @param response the HTTP response to write the CSV to
+     */
+    @QueryBudget(selects = QueryBudget.UNLIMITED)
+    @GetMapping("/export/vaccinations")
+    public void exportVaccinations(@Valid VaccinationExportRequest request, HttpServletResponse response)
+            throws IOException {
+        String filename = request.isGzip() ? "vaccinations.csv.gz" : "vaccinations.csv";
+        response.setContentType(request.isGzip() ? "application/gzip" : "text/csv; charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        
+        reportService.exportVaccinationDataToCsv(request, response.getOutputStream());
+    }
+
+    /**
+     * Rebuild the daily report rollup for a date range from the schedule, reaction and payment tables.
+     *
+     * @param startDate the first day to rebuild
+     * @param endDate the last day to rebuild
+     * @return the number of rollup rows written
+     */
+    @QueryBudget(selects = QueryBudget.UNLIMITED, writes = QueryBudget.UNLIMITED)
+    @PostMapping("/rollups/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ResponseBody
+    public ResponseEntity<MessageResponse> rebuildRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        
+        int rows = reportRollupService.rebuild(startDate, endDate);
+        return ResponseEntity.ok(new MessageResponse("Report rollup rebuilt with " + rows + " rows"));
+    }
+
+    /**
+     * Check the daily report rollup for a date range against the schedule, reaction and payment tables.
+     *
+     * @param startDate the first day to check
+     * @param endDate the last day to check
+     * @return whether the rollup is consistent and the mismatches found
+     */
+    @QueryBudget(selects = QueryBudget.UNLIMITED)
+    @GetMapping("/rollups/check")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> checkRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        
+        return ResponseEntity.ok(reportRollupService.checkConsistency(startDate, endDate));
+    }
+
+    /**
+     * Get report cache statistics (admin only).
+     *
+     * @return cache size and hit, miss, coalesced and invalidation counters
+     */
+    @GetMapping("/cache-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ResponseBody
+    public ResponseEntity<Map<String, Long>> getCacheStats() {
+        return ResponseEntity.ok(reportCache.getStats());
+    }
 }
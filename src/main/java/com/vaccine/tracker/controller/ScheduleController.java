@@ -1,14 +1,20 @@
 package com.vaccine.tracker.controller;
 
+import com.vaccine.tracker.constant.PaginationConstants;
+import com.vaccine.tracker.dto.request.PageCursor;
 import com.vaccine.tracker.dto.request.ScheduleRequest;
+import com.vaccine.tracker.dto.response.CursorPage;
 import com.vaccine.tracker.dto.response.MessageResponse;
 import com.vaccine.tracker.dto.response.ScheduleResponse;
+import com.vaccine.tracker.dto.response.ScheduleSummaryResponse;
 import com.vaccine.tracker.entity.Schedule;
 import com.vaccine.tracker.enums.ScheduleStatus;
 import com.vaccine.tracker.mapper.ScheduleMapper;
+import com.vaccine.tracker.monitoring.QueryBudget;
 import com.vaccine.tracker.service.ScheduleService;
 import com.vaccine.tracker.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -25,6 +31,7 @@ import java.util.List;
  */
 @Controller
 @RequestMapping("/api/schedules")
+@QueryBudget(selects = 5, writes = 5)
 public class ScheduleController {
 
     @Autowired
@@ -55,16 +62,24 @@ public class ScheduleController {
     }
 
     /**
-     * Get all schedules for current user's children.
+     * Get schedules for current user's children, one page at a time, ordered by date.
      *
-     * @return list of schedules
+     * @param cursor the cursor returned with the previous page, omitted for the first page
+     * @param size the page size, capped at {@link PaginationConstants#MAX_PAGE_SIZE}
+     * @return one page of schedules
      */
+    @QueryBudget(selects = 2)
     @GetMapping("/list")
     @ResponseBody
-    public ResponseEntity<List<ScheduleResponse>> getSchedules() {
-        Long parentId = userService.getCurrentUser().getId();
-        List<Schedule> schedules = scheduleService.findByParentId(parentId);
-        return ResponseEntity.ok(scheduleMapper.toScheduleResponseList(schedules));
+    public ResponseEntity<CursorPage<ScheduleSummaryResponse>> getSchedules(
+            @RequestParam(name = PaginationConstants.PARAM_CURSOR, required = false) String cursor,
+            @RequestParam(name = PaginationConstants.PARAM_SIZE,
+                          defaultValue = PaginationConstants.DEFAULT_PAGE_SIZE) int size) {
+        Long parentId = userService.getCurrentPrincipal().getId();
+        Slice<ScheduleSummaryResponse> schedules = scheduleService.findPageByParentId(
+                parentId, PageCursor.decode(cursor), size);
+        return ResponseEntity.ok(CursorPage.of(schedules, schedules.getContent(),
+                schedule -> PageCursor.of(schedule.getScheduledDate(), schedule.getId())));
     }
 
     /**
@@ -129,11 +144,11 @@ public class ScheduleController {
      * @param childId the child ID
      * @return list of schedules
      */
+    @QueryBudget(selects = 2)
     @GetMapping("/child/{childId}")
     @ResponseBody
-    public ResponseEntity<List<ScheduleResponse>> getSchedulesByChild(@PathVariable Long childId) {
-        List<Schedule> schedules = scheduleService.findByChildId(childId);
-        return ResponseEntity.ok(scheduleMapper.toScheduleResponseList(schedules));
+    public ResponseEntity<List<ScheduleSummaryResponse>> getSchedulesByChild(@PathVariable Long childId) {
+        return ResponseEntity.ok(scheduleService.findSummariesByChildId(childId));
     }
 
     /**
@@ -142,11 +157,11 @@ public class ScheduleController {
      * @param childId the child ID
      * @return list of upcoming schedules
      */
+    @QueryBudget(selects = 2)
     @GetMapping("/upcoming/{childId}")
     @ResponseBody
-    public ResponseEntity<List<ScheduleResponse>> getUpcomingSchedules(@PathVariable Long childId) {
-        List<Schedule> schedules = scheduleService.findUpcomingSchedulesForChild(childId);
-        return ResponseEntity.ok(scheduleMapper.toScheduleResponseList(schedules));
+    public ResponseEntity<List<ScheduleSummaryResponse>> getUpcomingSchedules(@PathVariable Long childId) {
+        return ResponseEntity.ok(scheduleService.findUpcomingSummariesForChild(childId));
     }
 
     /**
@@ -155,11 +170,11 @@ public class ScheduleController {
      * @param status the schedule status
      * @return list of matching schedules
      */
+    @QueryBudget(selects = 2)
     @GetMapping("/by-status")
     @ResponseBody
-    public ResponseEntity<List<ScheduleResponse>> getSchedulesByStatus(@RequestParam ScheduleStatus status) {
-        List<Schedule> schedules = scheduleService.findByStatus(status);
-        return ResponseEntity.ok(scheduleMapper.toScheduleResponseList(schedules));
+    public ResponseEntity<List<ScheduleSummaryResponse>> getSchedulesByStatus(@RequestParam ScheduleStatus status) {
+        return ResponseEntity.ok(scheduleService.findSummariesByStatus(status));
     }
 
     /**
@@ -169,14 +184,14 @@ public class ScheduleController {
      * @param endDate the end date
      * @return list of schedules in the date range
      */
+    @QueryBudget(selects = 2)
     @GetMapping("/by-date-range")
     @ResponseBody
-    public ResponseEntity<List<ScheduleResponse>> getSchedulesByDateRange(
+    public ResponseEntity<List<ScheduleSummaryResponse>> getSchedulesByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
         
-        List<Schedule> schedules = scheduleService.findByDateRange(startDate, endDate);
-        return ResponseEntity.ok(scheduleMapper.toScheduleResponseList(schedules));
+        return ResponseEntity.ok(scheduleService.findSummariesByDateRange(startDate, endDate));
     }
 
     /**
@@ -1,12 +1,17 @@
 package com.vaccine.tracker.controller;
 
+import com.vaccine.tracker.constant.PaginationConstants;
+import com.vaccine.tracker.dto.request.PageCursor;
+import com.vaccine.tracker.dto.response.CursorPage;
 import com.vaccine.tracker.dto.response.MessageResponse;
 import com.vaccine.tracker.dto.response.UserResponse;
 import com.vaccine.tracker.entity.User;
 import com.vaccine.tracker.enums.Role;
 import com.vaccine.tracker.mapper.UserMapper;
+import com.vaccine.tracker.security.UserDetailsCache;
 import com.vaccine.tracker.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
@@ -15,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controller for handling user operations.
@@ -29,6 +35,9 @@ public class UserController {
     @Autowired
     private UserMapper userMapper;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
     /**
      * Get the profile page for the current user.
      */
@@ -90,16 +99,22 @@ public class UserController {
     }
 
     /**
-     * Get all users (admin only).
+     * Get all users, one page at a time, ordered by username (admin only).
      *
-     * @return list of all users
+     * @param cursor the cursor returned with the previous page, omitted for the first page
+     * @param size the page size, capped at {@link PaginationConstants#MAX_PAGE_SIZE}
+     * @return one page of users
      */
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
     @ResponseBody
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        List<User> users = userService.findAll();
-        return ResponseEntity.ok(userMapper.toUserResponseList(users));
+    public ResponseEntity<CursorPage<UserResponse>> getAllUsers(
+            @RequestParam(name = PaginationConstants.PARAM_CURSOR, required = false) String cursor,
+            @RequestParam(name = PaginationConstants.PARAM_SIZE,
+                          defaultValue = PaginationConstants.DEFAULT_PAGE_SIZE) int size) {
+        Slice<User> users = userService.findAllPage(PageCursor.decode(cursor), size);
+        return ResponseEntity.ok(CursorPage.of(users, userMapper.toUserResponseList(users.getContent()),
+                user -> PageCursor.of(user.getUsername(), user.getId())));
     }
 
     /**
@@ -212,4 +227,16 @@ public class UserController {
         List<User> users = userService.findByFullNameContaining(keyword);
         return ResponseEntity.ok(userMapper.toUserResponseList(users));
     }
+
+    /**
+     * Get user details cache statistics (admin only).
+     *
+     * @return cache size and hit, miss and eviction counters
+     */
+    @GetMapping("/cache-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ResponseBody
+    public ResponseEntity<Map<String, Long>> getCacheStats() {
+        return ResponseEntity.ok(userDetailsCache.getStats());
+    }
 }
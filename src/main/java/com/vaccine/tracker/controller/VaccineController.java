@@ -1,10 +1,12 @@
 package com.vaccine.tracker.controller;
 
+import com.vaccine.tracker.constant.SearchConstants;
 import com.vaccine.tracker.dto.response.MessageResponse;
 import com.vaccine.tracker.dto.response.VaccineResponse;
 import com.vaccine.tracker.entity.Vaccine;
 import com.vaccine.tracker.enums.VaccineType;
 import com.vaccine.tracker.mapper.VaccineMapper;
+import com.vaccine.tracker.monitoring.QueryBudget;
 import com.vaccine.tracker.service.VaccineService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -150,6 +152,22 @@ public class VaccineController {
         return ResponseEntity.ok(vaccineMapper.toVaccineResponseList(vaccines));
     }
 
+    /**
+     * Typeahead over vaccine names, manufacturers and descriptions, served from memory.
+     *
+     * @param query the text typed so far; case and diacritics are ignored
+     * @param limit the maximum number of results, capped at {@link SearchConstants#MAX_LIMIT}
+     * @return matching vaccines, name matches first
+     */
+    @QueryBudget(selects = 0)
+    @GetMapping("/typeahead")
+    @ResponseBody
+    public ResponseEntity<List<VaccineResponse>> typeahead(
+            @RequestParam String query,
+            @RequestParam(name = SearchConstants.PARAM_LIMIT, defaultValue = SearchConstants.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(vaccineService.typeahead(query, limit));
+    }
+
     /**
      * Find vaccines by manufacturer.
      *
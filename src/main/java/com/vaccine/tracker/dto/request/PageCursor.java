@@ -0,0 +1,110 @@
+package com.vaccine.tracker.dto.request;
+
+import com.vaccine.tracker.constant.PaginationConstants;
+import com.vaccine.tracker.exception.BadRequestException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paged list: the sort key and id of the last row returned.
+ * Clients receive it as an opaque token and send it back unchanged to get the next page.
+ */
+public final class PageCursor {
+    
+    private static final String VERSION = "v1";
+    private static final char SEPARATOR = '|';
+    
+    private final String key;
+    private final Long id;
+    
+    private PageCursor(String key, Long id) {
+        this.key = key;
+        this.id = id;
+    }
+    
+    /**
+     * Creates a cursor pointing after the given row.
+     *
+     * @param key the row's sort key
+     * @param id the row's id
+     * @return the cursor
+     */
+    public static PageCursor of(Object key, Long id) {
+        return new PageCursor(String.valueOf(key), id);
+    }
+    
+    /**
+     * Decodes a cursor token.
+     *
+     * @param token the token from the request, may be null
+     * @return the cursor, or null for the first page
+     * @throws BadRequestException if the token is malformed
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int last = raw.lastIndexOf(SEPARATOR);
+            if (first < 0 || first == last || !VERSION.equals(raw.substring(0, first))) {
+                throw new BadRequestException("Invalid page cursor");
+            }
+            // The key may itself contain the separator, so the id is taken from the last one
+            return new PageCursor(raw.substring(first + 1, last), Long.valueOf(raw.substring(last + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid page cursor", e);
+        }
+    }
+    
+    /**
+     * Encodes this cursor as an opaque URL-safe token.
+     *
+     * @return the token
+     */
+    public String encode() {
+        String raw = VERSION + SEPARATOR + key + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Builds the page request for a keyset query; the offset is always zero.
+     *
+     * @param size the requested page size
+     * @return the page request, with the size capped
+     */
+    public static Pageable limit(int size) {
+        return PageRequest.of(0, Math.max(1, Math.min(size, PaginationConstants.MAX_PAGE_SIZE)));
+    }
+    
+    public String getKey() {
+        return key;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public LocalDate getKeyAsDate() {
+        try {
+            return LocalDate.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid page cursor", e);
+        }
+    }
+    
+    public LocalDateTime getKeyAsDateTime() {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid page cursor", e);
+        }
+    }
+}
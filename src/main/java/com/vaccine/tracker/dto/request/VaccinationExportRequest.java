@@ -0,0 +1,73 @@
+package com.vaccine.tracker.dto.request;
+
+import com.vaccine.tracker.enums.VaccinationExportColumn;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for vaccination registry export options.
+ */
+public class VaccinationExportRequest {
+    
+    // Inclusive bounds on the scheduled date; open-ended when omitted
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDate;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDate;
+    
+    // Columns to include, in order; all columns when omitted
+    private List<VaccinationExportColumn> columns;
+    
+    private boolean gzip;
+    
+    // Each partition is read with its own cursor and transaction
+    @Min(value = 1, message = "Partition must be at least one day")
+    @Max(value = 366, message = "Partition must be at most 366 days")
+    private int partitionDays = 31;
+    
+    // Getters and Setters
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+    
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+    
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+    
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+    
+    public List<VaccinationExportColumn> getColumns() {
+        return columns;
+    }
+    
+    public void setColumns(List<VaccinationExportColumn> columns) {
+        this.columns = columns;
+    }
+    
+    public boolean isGzip() {
+        return gzip;
+    }
+    
+    public void setGzip(boolean gzip) {
+        this.gzip = gzip;
+    }
+    
+    public int getPartitionDays() {
+        return partitionDays;
+    }
+    
+    public void setPartitionDays(int partitionDays) {
+        this.partitionDays = partitionDays;
+    }
+}
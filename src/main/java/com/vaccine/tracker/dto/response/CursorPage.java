@@ -0,0 +1,69 @@
+package com.vaccine.tracker.dto.response;
+
+import com.vaccine.tracker.dto.request.PageCursor;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * DTO for one page of a keyset-paged list.
+ *
+ * @param <T> the item type
+ */
+public class CursorPage<T> {
+    
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+    
+    // Constructors
+    public CursorPage(List<T> items, String nextCursor, boolean hasNext) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+    
+    /**
+     * Builds a page from a repository slice.
+     *
+     * @param slice the slice of entities
+     * @param items the mapped items, in slice order
+     * @param cursorOf extracts the cursor for an entity
+     * @param <E> the entity type
+     * @param <T> the item type
+     * @return the page, with a next cursor pointing after the slice's last row
+     */
+    public static <E, T> CursorPage<T> of(Slice<E> slice, List<T> items, Function<E, PageCursor> cursorOf) {
+        List<E> content = slice.getContent();
+        String nextCursor = slice.hasNext() && !content.isEmpty()
+                ? cursorOf.apply(content.get(content.size() - 1)).encode()
+                : null;
+        return new CursorPage<>(items, nextCursor, slice.hasNext());
+    }
+    
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public boolean isHasNext() {
+        return hasNext;
+    }
+    
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+}
@@ -0,0 +1,95 @@
+package com.vaccine.tracker.dto.response;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DTO for the vaccination report of one month. Also the stored form of a
+ * closed month's snapshot, so a report read back keeps its field types.
+ */
+public class MonthlyReportResponse {
+    
+    private int year;
+    private int month;
+    private long totalSchedules;
+    private Map<String, Long> schedulesByStatus = new LinkedHashMap<>();
+    private long totalAdministered;
+    private Map<String, Long> administeredByVaccine = new LinkedHashMap<>();
+    private long totalReactions;
+    private BigDecimal totalRevenue = BigDecimal.ZERO;
+    
+    // Constructors
+    public MonthlyReportResponse() {
+    }
+    
+    public MonthlyReportResponse(int year, int month) {
+        this.year = year;
+        this.month = month;
+    }
+    
+    // Getters and Setters
+    public int getYear() {
+        return year;
+    }
+    
+    public void setYear(int year) {
+        this.year = year;
+    }
+    
+    public int getMonth() {
+        return month;
+    }
+    
+    public void setMonth(int month) {
+        this.month = month;
+    }
+    
+    public long getTotalSchedules() {
+        return totalSchedules;
+    }
+    
+    public void setTotalSchedules(long totalSchedules) {
+        this.totalSchedules = totalSchedules;
+    }
+    
+    public Map<String, Long> getSchedulesByStatus() {
+        return schedulesByStatus;
+    }
+    
+    public void setSchedulesByStatus(Map<String, Long> schedulesByStatus) {
+        this.schedulesByStatus = schedulesByStatus;
+    }
+    
+    public long getTotalAdministered() {
+        return totalAdministered;
+    }
+    
+    public void setTotalAdministered(long totalAdministered) {
+        this.totalAdministered = totalAdministered;
+    }
+    
+    public Map<String, Long> getAdministeredByVaccine() {
+        return administeredByVaccine;
+    }
+    
+    public void setAdministeredByVaccine(Map<String, Long> administeredByVaccine) {
+        this.administeredByVaccine = administeredByVaccine;
+    }
+    
+    public long getTotalReactions() {
+        return totalReactions;
+    }
+    
+    public void setTotalReactions(long totalReactions) {
+        this.totalReactions = totalReactions;
+    }
+    
+    public BigDecimal getTotalRevenue() {
+        return totalRevenue;
+    }
+    
+    public void setTotalRevenue(BigDecimal totalRevenue) {
+        this.totalRevenue = totalRevenue;
+    }
+}
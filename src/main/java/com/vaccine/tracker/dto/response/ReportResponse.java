@@ -2,6 +2,7 @@ package com.vaccine.tracker.dto.response;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +49,9 @@ public class ReportResponse {
     private double averageRating;
     private List<FeedbackResponse> recentFeedback;
     
+    // Sections left empty because they failed or missed their deadline
+    private List<String> partialSections = new ArrayList<>();
+    
     // Constructors
     public ReportResponse() {
         this.reportGeneratedAt = LocalDateTime.now();
@@ -262,6 +266,23 @@ public class ReportResponse {
         this.recentFeedback = recentFeedback;
     }
     
+    public List<String> getPartialSections() {
+        return partialSections;
+    }
+    
+    public void setPartialSections(List<String> partialSections) {
+        this.partialSections = partialSections;
+    }
+    
+    /**
+     * Check if any section is missing from the report.
+     * 
+     * @return true if at least one section failed or missed its deadline
+     */
+    public boolean isPartial() {
+        return !partialSections.isEmpty();
+    }
+    
     /**
      * Get completion rate as percentage.
      * 
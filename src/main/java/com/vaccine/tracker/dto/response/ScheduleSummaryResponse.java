@@ -0,0 +1,103 @@
+package com.vaccine.tracker.dto.response;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for schedule rows in list and search views.
+ * Populated directly by a constructor-expression query that selects only these
+ * columns, so no child or vaccine entity is loaded; use ScheduleResponse for detail views.
+ */
+public class ScheduleSummaryResponse {
+    
+    private Long id;
+    private LocalDate scheduledDate;
+    private String status;
+    private Integer doseNumber;
+    private Long childId;
+    private String childName;
+    private Long vaccineId;
+    private String vaccineName;
+    
+    // Constructors
+    public ScheduleSummaryResponse() {
+    }
+    
+    // Used by JPQL constructor expressions
+    public ScheduleSummaryResponse(Long id, LocalDate scheduledDate, Enum<?> status, Integer doseNumber,
+                                   Long childId, String childFirstName, String childLastName,
+                                   Long vaccineId, String vaccineName) {
+        this.id = id;
+        this.scheduledDate = scheduledDate;
+        this.status = status != null ? status.name() : null;
+        this.doseNumber = doseNumber;
+        this.childId = childId;
+        this.childName = childFirstName + " " + childLastName;
+        this.vaccineId = vaccineId;
+        this.vaccineName = vaccineName;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public LocalDate getScheduledDate() {
+        return scheduledDate;
+    }
+    
+    public void setScheduledDate(LocalDate scheduledDate) {
+        this.scheduledDate = scheduledDate;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public Integer getDoseNumber() {
+        return doseNumber;
+    }
+    
+    public void setDoseNumber(Integer doseNumber) {
+        this.doseNumber = doseNumber;
+    }
+    
+    public Long getChildId() {
+        return childId;
+    }
+    
+    public void setChildId(Long childId) {
+        this.childId = childId;
+    }
+    
+    public String getChildName() {
+        return childName;
+    }
+    
+    public void setChildName(String childName) {
+        this.childName = childName;
+    }
+    
+    public Long getVaccineId() {
+        return vaccineId;
+    }
+    
+    public void setVaccineId(Long vaccineId) {
+        this.vaccineId = vaccineId;
+    }
+    
+    public String getVaccineName() {
+        return vaccineName;
+    }
+    
+    public void setVaccineName(String vaccineName) {
+        this.vaccineName = vaccineName;
+    }
+}
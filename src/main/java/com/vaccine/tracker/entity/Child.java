@@ -10,27 +10,43 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Past;
 
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
+
+import com.vaccine.tracker.constant.PersistenceConstants;
+import com.vaccine.tracker.constant.SecurityConstants;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "children")
+@Table(name = "children", indexes = {
+        @Index(name = "idx_children_parent_last_name", columnList = "parent_id, last_name, id")
+})
+@FilterDef(name = SecurityConstants.PARENT_SCOPE_FILTER,
+           parameters = @ParamDef(name = SecurityConstants.PARENT_SCOPE_PARAM, type = Long.class))
+@Filter(name = SecurityConstants.PARENT_SCOPE_FILTER, condition = "parent_id = :" + SecurityConstants.PARENT_SCOPE_PARAM)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Child {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "childIdGenerator")
+    @SequenceGenerator(name = "childIdGenerator", sequenceName = "children_seq",
+            allocationSize = PersistenceConstants.ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank
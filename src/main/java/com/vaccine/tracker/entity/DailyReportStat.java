@@ -0,0 +1,115 @@
+package com.vaccine.tracker.entity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+import com.vaccine.tracker.enums.ReportMetric;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One row of the daily report rollup: a count and an amount for one metric
+ * on one day for one vaccine, split by a metric-specific bucket (the schedule
+ * status for schedules, the severity for reactions). Range reports sum these
+ * rows instead of scanning the schedule, reaction and payment tables.
+ * Rows are maintained by the report rollup service, never edited directly.
+ */
+@Entity
+@Table(name = "daily_report_stats")
+@IdClass(DailyReportStat.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class DailyReportStat {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private ReportMetric metric;
+
+    @Id
+    @Column(name = "stat_date")
+    private LocalDate statDate;
+
+    @Id
+    @Column(name = "vaccine_id")
+    private Long vaccineId;
+
+    @Id
+    @Column(length = 20)
+    private String bucket;
+
+    @Column(name = "item_count", nullable = false)
+    private long itemCount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal amount = BigDecimal.ZERO;
+
+    public DailyReportStat(ReportMetric metric, LocalDate statDate, Long vaccineId, String bucket,
+                           long itemCount, BigDecimal amount) {
+        this.metric = metric;
+        this.statDate = statDate;
+        this.vaccineId = vaccineId;
+        this.bucket = bucket;
+        this.itemCount = itemCount;
+        this.amount = amount;
+    }
+
+    public Key getKey() {
+        return new Key(metric, statDate, vaccineId, bucket);
+    }
+
+    /**
+     * Composite primary key of a rollup row.
+     */
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private ReportMetric metric;
+        private LocalDate statDate;
+        private Long vaccineId;
+        private String bucket;
+
+        public Key() {
+        }
+
+        public Key(ReportMetric metric, LocalDate statDate, Long vaccineId, String bucket) {
+            this.metric = metric;
+            this.statDate = statDate;
+            this.vaccineId = vaccineId;
+            this.bucket = bucket;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (obj == null || getClass() != obj.getClass()) return false;
+            Key key = (Key) obj;
+            return metric == key.metric && Objects.equals(statDate, key.statDate)
+                    && Objects.equals(vaccineId, key.vaccineId) && Objects.equals(bucket, key.bucket);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(metric, statDate, vaccineId, bucket);
+        }
+
+        @Override
+        public String toString() {
+            return metric + "/" + statDate + "/vaccine " + vaccineId + "/" + bucket;
+        }
+    }
+}
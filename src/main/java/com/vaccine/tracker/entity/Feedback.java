@@ -1,18 +1,26 @@
 package com.vaccine.tracker.entity;
 
+import com.vaccine.tracker.constant.PersistenceConstants;
+import com.vaccine.tracker.constant.SecurityConstants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Filter;
 import java.time.LocalDateTime;
 
 /**
  * Entity representing feedback from a user in the system.
  */
 @Entity
-@Table(name = "feedbacks")
+@Table(name = "feedbacks", indexes = {
+        @Index(name = "idx_feedbacks_created_at", columnList = "created_at, id")
+})
+@Filter(name = SecurityConstants.PARENT_SCOPE_FILTER, condition = "user_id = :" + SecurityConstants.PARENT_SCOPE_PARAM)
 public class Feedback {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "feedbackIdGenerator")
+    @SequenceGenerator(name = "feedbackIdGenerator", sequenceName = "feedbacks_seq",
+            allocationSize = PersistenceConstants.ID_ALLOCATION_SIZE)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,42 @@
+package com.vaccine.tracker.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Frozen monthly vaccination report of a closed month, stored as the JSON
+ * the report service returns. A snapshot is deleted when a back-dated change
+ * lands in its month and written again the next time the month is requested.
+ */
+@Entity
+@Table(name = "monthly_report_snapshots")
+@Getter
+@Setter
+@NoArgsConstructor
+public class MonthlyReportSnapshot {
+
+    // The month as yyyy-MM, which sorts chronologically
+    @Id
+    @Column(length = 7)
+    private String period;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String content;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public MonthlyReportSnapshot(String period, String content, LocalDateTime createdAt) {
+        this.period = period;
+        this.content = content;
+        this.createdAt = createdAt;
+    }
+}
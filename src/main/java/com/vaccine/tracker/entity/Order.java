@@ -1,5 +1,6 @@
 package com.vaccine.tracker.entity;
 
+import com.vaccine.tracker.constant.PersistenceConstants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -16,7 +17,9 @@ import java.util.Set;
 public class Order {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orderIdGenerator")
+    @SequenceGenerator(name = "orderIdGenerator", sequenceName = "orders_seq",
+            allocationSize = PersistenceConstants.ID_ALLOCATION_SIZE)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -10,19 +10,30 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
+import org.hibernate.annotations.Filter;
+
+import com.vaccine.tracker.constant.PersistenceConstants;
+import com.vaccine.tracker.constant.SecurityConstants;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "reactions")
+@Table(name = "reactions", indexes = {
+        @Index(name = "idx_reactions_reaction_date", columnList = "reaction_date, id")
+})
+@Filter(name = SecurityConstants.PARENT_SCOPE_FILTER,
+        condition = "child_id IN (SELECT c.id FROM children c WHERE c.parent_id = :" + SecurityConstants.PARENT_SCOPE_PARAM + ")")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -30,7 +41,9 @@ import lombok.Setter;
 public class Reaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reactionIdGenerator")
+    @SequenceGenerator(name = "reactionIdGenerator", sequenceName = "reactions_seq",
+            allocationSize = PersistenceConstants.ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
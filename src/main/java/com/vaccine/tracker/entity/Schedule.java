@@ -10,18 +10,30 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 
+import org.hibernate.annotations.Filter;
+
+import com.vaccine.tracker.constant.PersistenceConstants;
+import com.vaccine.tracker.constant.SecurityConstants;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "schedules")
+@Table(name = "schedules", indexes = {
+        @Index(name = "idx_schedules_scheduled_date", columnList = "scheduled_date, id"),
+        @Index(name = "idx_schedules_status_scheduled_date", columnList = "status, scheduled_date, id")
+})
+@Filter(name = SecurityConstants.PARENT_SCOPE_FILTER,
+        condition = "child_id IN (SELECT c.id FROM children c WHERE c.parent_id = :" + SecurityConstants.PARENT_SCOPE_PARAM + ")")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -29,14 +41,16 @@ import lombok.Setter;
 public class Schedule {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "scheduleIdGenerator")
+    @SequenceGenerator(name = "scheduleIdGenerator", sequenceName = "schedules_seq",
+            allocationSize = PersistenceConstants.ID_ALLOCATION_SIZE)
     private Long id;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "child_id", nullable = false)
     private Child child;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "vaccine_id", nullable = false)
     private Vaccine vaccine;
 
@@ -70,8 +84,9 @@ public class Schedule {
     }
 
     public boolean isOverdue() {
-        return this.status == ScheduleStatus.SCHEDULED && 
-               this.scheduledDate.isBefore(LocalDate.now());
+        // Overdue schedules are moved to MISSED by the nightly job; until then the date tells
+        return this.status == ScheduleStatus.MISSED ||
+               (this.status == ScheduleStatus.SCHEDULED && this.scheduledDate.isBefore(LocalDate.now()));
     }
 
     public boolean isUpcoming() {
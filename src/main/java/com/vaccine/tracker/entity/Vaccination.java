@@ -10,24 +10,33 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 
+import com.vaccine.tracker.constant.PersistenceConstants;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "vaccinations")
+@Table(name = "vaccinations", indexes = {
+        @Index(name = "idx_vaccinations_scheduled_date", columnList = "scheduled_date, id"),
+        @Index(name = "idx_vaccinations_status_scheduled_date", columnList = "status, scheduled_date, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Vaccination {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vaccinationIdGenerator")
+    @SequenceGenerator(name = "vaccinationIdGenerator", sequenceName = "vaccinations_seq",
+            allocationSize = PersistenceConstants.ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
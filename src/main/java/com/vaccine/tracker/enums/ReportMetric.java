@@ -0,0 +1,22 @@
+package com.vaccine.tracker.enums;
+
+/**
+ * Enum representing the facts counted in the daily report rollup.
+ */
+public enum ReportMetric {
+    
+    // Schedules by scheduled day, vaccine and status
+    SCHEDULES,
+    
+    // Reactions by reaction day, vaccine and severity
+    REACTIONS,
+    
+    // Completed payment amounts by payment day and vaccine
+    REVENUE,
+    
+    // Completed schedules by child birth month (dated on its first day), vaccine and dose number
+    COVERAGE,
+    
+    // Children by birth month (dated on its first day)
+    CHILDREN
+}
@@ -0,0 +1,22 @@
+package com.vaccine.tracker.enums;
+
+/**
+ * Enum representing the sections of a comprehensive report.
+ */
+public enum ReportSection {
+    
+    // Schedule counts by status and vaccine
+    SCHEDULE,
+    
+    // Administered doses by vaccine and type
+    VACCINE,
+    
+    // Revenue by vaccine and month
+    REVENUE,
+    
+    // Customer counts, ratings and recent feedback
+    CUSTOMER,
+    
+    // Reactions by severity and vaccine
+    REACTION
+}
@@ -0,0 +1,49 @@
+package com.vaccine.tracker.enums;
+
+import com.vaccine.tracker.entity.Vaccination;
+
+import java.util.function.Function;
+
+/**
+ * Enum representing the columns available in the vaccination registry export.
+ */
+public enum VaccinationExportColumn {
+    
+    ID("id", Vaccination::getId),
+    CHILD_ID("child_id", v -> v.getChild() != null ? v.getChild().getId() : null),
+    CHILD_NAME("child_name", v -> v.getChild() != null
+            ? v.getChild().getFirstName() + " " + v.getChild().getLastName() : null),
+    VACCINE_ID("vaccine_id", v -> v.getVaccine() != null ? v.getVaccine().getId() : null),
+    VACCINE_NAME("vaccine_name", v -> v.getVaccine() != null ? v.getVaccine().getName() : null),
+    DOSE_NUMBER("dose_number", Vaccination::getDoseNumber),
+    SCHEDULED_DATE("scheduled_date", Vaccination::getScheduledDate),
+    ADMINISTERED_DATE("administered_date", Vaccination::getAdministeredDate),
+    STATUS("status", Vaccination::getStatus),
+    PROVIDER_ID("provider_id", v -> v.getProvider() != null ? v.getProvider().getId() : null),
+    NOTES("notes", Vaccination::getNotes);
+    
+    private final String header;
+    private final Function<Vaccination, Object> extractor;
+    
+    VaccinationExportColumn(String header, Function<Vaccination, Object> extractor) {
+        this.header = header;
+        this.extractor = extractor;
+    }
+    
+    public String getHeader() {
+        return header;
+    }
+    
+    public Object valueOf(Vaccination vaccination) {
+        return extractor.apply(vaccination);
+    }
+    
+    /**
+     * Checks if the column reads the child or vaccine association beyond its id.
+     * 
+     * @return true if the association has to be fetched
+     */
+    public boolean needsAssociation() {
+        return this == CHILD_NAME || this == VACCINE_NAME;
+    }
+}
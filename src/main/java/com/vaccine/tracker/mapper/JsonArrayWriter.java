@@ -0,0 +1,64 @@
+package com.vaccine.tracker.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaccine.tracker.constant.ExportConstants;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of entities as a JSON array, mapping and serializing one row at a time.
+ * Neither the entity list nor the DTO list is ever materialized, and the persistence
+ * context is cleared at a fixed interval, so memory use does not grow with the row count.
+ */
+@Component
+public class JsonArrayWriter {
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    /**
+     * Write all rows to the output as a JSON array and close the row stream.
+     * Must be called inside the transaction that opened the stream.
+     * 
+     * @param rows the entity stream
+     * @param mapper converts an entity to its response DTO
+     * @param out the output to write to
+     * @param <E> the entity type
+     * @return the number of rows written
+     * @throws IOException if writing fails
+     */
+    public <E> long write(Stream<E> rows, Function<E, ?> mapper, OutputStream out) throws IOException {
+        long count = 0;
+        
+        try (rows; JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            
+            Iterator<E> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(mapper.apply(iterator.next()));
+                
+                if (++count % ExportConstants.STREAM_CLEAR_INTERVAL == 0) {
+                    generator.flush();
+                    // Rows already written are no longer needed; drop them and their loaded associations
+                    entityManager.clear();
+                }
+            }
+            
+            generator.writeEndArray();
+        }
+        
+        return count;
+    }
+}
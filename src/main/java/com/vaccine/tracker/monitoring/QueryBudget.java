@@ -0,0 +1,36 @@
+package com.vaccine.tracker.monitoring;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares how many SQL statements a request handler may issue.
+ * Placed on a controller class it applies to every handler in it; placed on a
+ * method it overrides the class budget. Budgets are fixed numbers on purpose:
+ * a handler whose statement count grows with the number of rows returned has
+ * an N+1 problem and will exceed any fixed budget once the data grows.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryBudget {
+
+    /**
+     * Budget value for handlers whose statement count legitimately depends on input,
+     * such as exports that read in partitions.
+     */
+    int UNLIMITED = Integer.MAX_VALUE;
+
+    /**
+     * @return maximum number of SELECT statements
+     */
+    int selects();
+
+    /**
+     * @return maximum number of INSERT, UPDATE and DELETE statements
+     */
+    int writes() default 0;
+}
@@ -0,0 +1,89 @@
+package com.vaccine.tracker.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Checks each request to a handler annotated with {@link QueryBudget} against its budget.
+ * Counting runs until the request completes, so statements caused by lazy
+ * loading during view rendering or JSON serialization are included.
+ * The counts are left on the request under {@link #COUNTS_ATTRIBUTE} so that
+ * MockMvc tests can assert on them, and every overrun is logged and counted.
+ */
+@Component
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    public static final String COUNTS_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".COUNTS";
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+
+    private final Map<String, LongAdder> violations = new ConcurrentHashMap<>();
+
+    @Autowired
+    private SqlStatementCounter statementCounter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (budgetOf(handler) != null) {
+            statementCounter.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        QueryBudget budget = budgetOf(handler);
+        if (budget == null) {
+            return;
+        }
+
+        StatementCounts counts = statementCounter.end();
+        if (counts == null) {
+            return;
+        }
+        request.setAttribute(COUNTS_ATTRIBUTE, counts);
+
+        if (counts.getSelects() > budget.selects() || counts.getWrites() > budget.writes()) {
+            String endpoint = ((HandlerMethod) handler).getShortLogMessage();
+            violations.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+            logger.warn("SQL statement budget exceeded by {} {} ({}): {}, budget select={}, write={}",
+                    request.getMethod(), request.getRequestURI(), endpoint, counts,
+                    budget.selects(), budget.writes());
+        }
+    }
+
+    /**
+     * Gets the number of budget overruns per handler since startup.
+     *
+     * @return overruns keyed by handler
+     */
+    public Map<String, Long> getViolations() {
+        Map<String, Long> result = new TreeMap<>();
+        violations.forEach((endpoint, count) -> result.put(endpoint, count.sum()));
+        return result;
+    }
+
+    private static QueryBudget budgetOf(Object handler) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return null;
+        }
+        QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), QueryBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), QueryBudget.class);
+        }
+        return budget;
+    }
+}
@@ -0,0 +1,109 @@
+package com.vaccine.tracker.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ * Registered as the session factory's statement inspector, so it sees every
+ * statement Hibernate issues, including lazy loads triggered while a response
+ * is being serialized. Counting only happens between {@link #begin()} and
+ * {@link #end()}; other threads and statements outside that window are ignored,
+ * unless the work was handed to them through {@link #propagate(Callable)}.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final int SELECT = 0;
+    private static final int INSERT = 1;
+    private static final int UPDATE = 2;
+    private static final int DELETE = 3;
+    private static final int OTHER = 4;
+
+    private static final long serialVersionUID = 1L;
+
+    // Shared with the threads counting on behalf of the current one, hence atomic
+    private final transient ThreadLocal<AtomicIntegerArray> counts = new ThreadLocal<>();
+
+    /**
+     * Start counting statements on the current thread, discarding any previous counts.
+     */
+    public void begin() {
+        counts.set(new AtomicIntegerArray(5));
+    }
+
+    /**
+     * Stop counting on the current thread.
+     *
+     * @return the statements counted since {@link #begin()}, or null if counting was not started
+     */
+    public StatementCounts end() {
+        AtomicIntegerArray current = counts.get();
+        counts.remove();
+        if (current == null) {
+            return null;
+        }
+        return new StatementCounts(current.get(SELECT), current.get(INSERT), current.get(UPDATE),
+                current.get(DELETE), current.get(OTHER));
+    }
+
+    /**
+     * Wrap a task handed to another thread so the statements it issues are counted
+     * towards the current thread's counts, if counting was started here.
+     *
+     * @param task the task
+     * @param <T> the result type
+     * @return the task, counting on the current thread's behalf while it runs
+     */
+    public <T> Callable<T> propagate(Callable<T> task) {
+        AtomicIntegerArray current = counts.get();
+        if (current == null) {
+            return task;
+        }
+        return () -> {
+            AtomicIntegerArray previous = counts.get();
+            counts.set(current);
+            try {
+                return task.call();
+            } finally {
+                if (previous != null) {
+                    counts.set(previous);
+                } else {
+                    counts.remove();
+                }
+            }
+        };
+    }
+
+    @Override
+    public String inspect(String sql) {
+        AtomicIntegerArray current = counts.get();
+        if (current != null) {
+            current.incrementAndGet(classify(sql));
+        }
+        return sql;
+    }
+
+    private static int classify(String sql) {
+        int start = 0;
+        while (start < sql.length() && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+            start++;
+        }
+        if (sql.regionMatches(true, start, "select", 0, 6) || sql.regionMatches(true, start, "with", 0, 4)) {
+            return SELECT;
+        }
+        if (sql.regionMatches(true, start, "insert", 0, 6)) {
+            return INSERT;
+        }
+        if (sql.regionMatches(true, start, "update", 0, 6) || sql.regionMatches(true, start, "merge", 0, 5)) {
+            return UPDATE;
+        }
+        if (sql.regionMatches(true, start, "delete", 0, 6)) {
+            return DELETE;
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,67 @@
+package com.vaccine.tracker.monitoring;
+
+/**
+ * Number of SQL statements issued, by statement type.
+ */
+public class StatementCounts {
+
+    private final int selects;
+    private final int inserts;
+    private final int updates;
+    private final int deletes;
+    private final int others;
+
+    // Constructors
+    public StatementCounts(int selects, int inserts, int updates, int deletes, int others) {
+        this.selects = selects;
+        this.inserts = inserts;
+        this.updates = updates;
+        this.deletes = deletes;
+        this.others = others;
+    }
+
+    /**
+     * Gets the number of data-modifying statements.
+     *
+     * @return inserts, updates and deletes combined
+     */
+    public int getWrites() {
+        return inserts + updates + deletes;
+    }
+
+    /**
+     * Gets the total number of statements.
+     *
+     * @return the total
+     */
+    public int getTotal() {
+        return selects + getWrites() + others;
+    }
+
+    // Getters
+    public int getSelects() {
+        return selects;
+    }
+
+    public int getInserts() {
+        return inserts;
+    }
+
+    public int getUpdates() {
+        return updates;
+    }
+
+    public int getDeletes() {
+        return deletes;
+    }
+
+    public int getOthers() {
+        return others;
+    }
+
+    @Override
+    public String toString() {
+        return "select=" + selects + ", insert=" + inserts + ", update=" + updates
+                + ", delete=" + deletes + ", other=" + others;
+    }
+}
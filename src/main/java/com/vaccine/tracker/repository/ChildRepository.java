@@ -1,12 +1,23 @@
 package com.vaccine.tracker.repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.QueryHint;
+
+import com.vaccine.tracker.constant.ExportConstants;
 import com.vaccine.tracker.entity.Child;
 
 @Repository
@@ -14,7 +25,31 @@ public interface ChildRepository extends JpaRepository<Child, Long> {
     
     List<Child> findByParentId(Long parentId);
     
-    @Query("SELECT c FROM Child c WHERE LOWER(c.firstName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(c.lastName) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<Child> searchByName(@Param("keyword") String keyword);
-}
\ No newline at end of file
+    Optional<Child> findByIdAndParentId(Long id, Long parentId);
+    
+    boolean existsByIdAndParentId(Long id, Long parentId);
+    
+    @Query("SELECT c FROM Child c WHERE c.parent.id = :parentId ORDER BY c.lastName, c.id")
+    Slice<Child> findFirstPageByParentId(@Param("parentId") Long parentId, Pageable pageable);
+    
+    @Query("SELECT c FROM Child c WHERE c.parent.id = :parentId " +
+           "AND (c.lastName > :lastName OR (c.lastName = :lastName AND c.id > :id)) " +
+           "ORDER BY c.lastName, c.id")
+    Slice<Child> findPageByParentIdAfter(@Param("parentId") Long parentId, @Param("lastName") String lastName,
+                                         @Param("id") Long id, Pageable pageable);
+    
+    // Rows of [id, first name, last name, parent id], used to load the in-memory child name index
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportConstants.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c.id, c.firstName, c.lastName, p.id FROM Child c LEFT JOIN c.parent p ORDER BY c.id")
+    Stream<Object[]> streamNameRows();
+    
+    // Rows of [birth year, birth month, count] of children born in a date range,
+    // used to rebuild and check the coverage cohorts of the report rollup
+    @Query("SELECT YEAR(c.dateOfBirth), MONTH(c.dateOfBirth), COUNT(c) FROM Child c " +
+           "WHERE c.dateOfBirth BETWEEN :startDate AND :endDate " +
+           "GROUP BY YEAR(c.dateOfBirth), MONTH(c.dateOfBirth)")
+    List<Object[]> countByBirthMonth(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
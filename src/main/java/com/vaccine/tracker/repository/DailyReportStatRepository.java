@@ -0,0 +1,68 @@
+package com.vaccine.tracker.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.vaccine.tracker.entity.DailyReportStat;
+import com.vaccine.tracker.enums.ReportMetric;
+
+/**
+ * Repository for reading the daily report rollup.
+ * Every query reads at most one row per day, vaccine and bucket in the range.
+ * Grouped queries return rows of [group key, sum].
+ */
+@Repository
+public interface DailyReportStatRepository extends JpaRepository<DailyReportStat, DailyReportStat.Key> {
+    
+    @Query("SELECT s.bucket, SUM(s.itemCount) FROM DailyReportStat s " +
+           "WHERE s.metric = :metric AND s.statDate BETWEEN :startDate AND :endDate GROUP BY s.bucket")
+    List<Object[]> sumCountByBucket(@Param("metric") ReportMetric metric,
+                                    @Param("startDate") LocalDate startDate,
+                                    @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT s.vaccineId, SUM(s.itemCount) FROM DailyReportStat s " +
+           "WHERE s.metric = :metric AND s.statDate BETWEEN :startDate AND :endDate GROUP BY s.vaccineId")
+    List<Object[]> sumCountByVaccine(@Param("metric") ReportMetric metric,
+                                     @Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT s.vaccineId, SUM(s.itemCount) FROM DailyReportStat s " +
+           "WHERE s.metric = :metric AND s.bucket = :bucket AND s.statDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY s.vaccineId")
+    List<Object[]> sumCountByVaccineInBucket(@Param("metric") ReportMetric metric,
+                                             @Param("bucket") String bucket,
+                                             @Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT s.vaccineId, SUM(s.amount) FROM DailyReportStat s " +
+           "WHERE s.metric = :metric AND s.statDate BETWEEN :startDate AND :endDate GROUP BY s.vaccineId")
+    List<Object[]> sumAmountByVaccine(@Param("metric") ReportMetric metric,
+                                      @Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate);
+    
+    // Rows of [year, month, sum], oldest month first
+    @Query("SELECT YEAR(s.statDate), MONTH(s.statDate), SUM(s.amount) FROM DailyReportStat s " +
+           "WHERE s.metric = :metric AND s.statDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY YEAR(s.statDate), MONTH(s.statDate) ORDER BY YEAR(s.statDate), MONTH(s.statDate)")
+    List<Object[]> sumAmountByMonth(@Param("metric") ReportMetric metric,
+                                    @Param("startDate") LocalDate startDate,
+                                    @Param("endDate") LocalDate endDate);
+    
+    // Rows of [stat date, vaccine id, bucket, sum] over every row of a metric; used for the birth month
+    // cohorts, of which there are a few hundred
+    @Query("SELECT s.statDate, s.vaccineId, s.bucket, SUM(s.itemCount) FROM DailyReportStat s " +
+           "WHERE s.metric = :metric GROUP BY s.statDate, s.vaccineId, s.bucket")
+    List<Object[]> sumCountByDayVaccineAndBucket(@Param("metric") ReportMetric metric);
+    
+    List<DailyReportStat> findByStatDateBetween(LocalDate startDate, LocalDate endDate);
+    
+    @Modifying
+    @Query("DELETE FROM DailyReportStat s WHERE s.statDate BETWEEN :startDate AND :endDate")
+    int deleteByStatDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
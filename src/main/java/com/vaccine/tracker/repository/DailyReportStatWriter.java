@@ -0,0 +1,100 @@
+package com.vaccine.tracker.repository;
+
+import com.vaccine.tracker.entity.DailyReportStat;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Applies deltas to the daily report rollup.
+ * Each delta is added to its row by one upsert statement, so concurrent writers
+ * never overwrite each other and a missing row is created in the same statement.
+ * The statement never fails half-way into the caller's transaction, which on
+ * PostgreSQL would abort it. Rows are written in key order, so writers touching
+ * the same rows lock them in the same order.
+ */
+@Component
+public class DailyReportStatWriter {
+
+    private static final Comparator<DailyReportStat> KEY_ORDER = Comparator
+            .comparing(DailyReportStat::getMetric)
+            .thenComparing(DailyReportStat::getStatDate)
+            .thenComparing(DailyReportStat::getVaccineId)
+            .thenComparing(DailyReportStat::getBucket);
+
+    // Turns a conflicting insert into the update atomically
+    private static final String POSTGRES_UPSERT_SQL = "INSERT INTO daily_report_stats "
+            + "(metric, stat_date, vaccine_id, bucket, item_count, amount) VALUES (?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (metric, stat_date, vaccine_id, bucket) DO UPDATE "
+            + "SET item_count = daily_report_stats.item_count + EXCLUDED.item_count, "
+            + "amount = daily_report_stats.amount + EXCLUDED.amount";
+
+    private static final String MERGE_SQL = "MERGE INTO daily_report_stats t USING (SELECT "
+            + "CAST(? AS VARCHAR(20)) AS metric, CAST(? AS DATE) AS stat_date, CAST(? AS BIGINT) AS vaccine_id, "
+            + "CAST(? AS VARCHAR(20)) AS bucket, CAST(? AS BIGINT) AS item_count, "
+            + "CAST(? AS DECIMAL(14, 2)) AS amount) d "
+            + "ON t.metric = d.metric AND t.stat_date = d.stat_date AND t.vaccine_id = d.vaccine_id "
+            + "AND t.bucket = d.bucket "
+            + "WHEN MATCHED THEN UPDATE SET item_count = t.item_count + d.item_count, amount = t.amount + d.amount "
+            + "WHEN NOT MATCHED THEN INSERT (metric, stat_date, vaccine_id, bucket, item_count, amount) "
+            + "VALUES (d.metric, d.stat_date, d.vaccine_id, d.bucket, d.item_count, d.amount)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private boolean postgres;
+
+    @PostConstruct
+    public void init() {
+        postgres = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    /**
+     * Add each delta's count and amount to its rollup row.
+     *
+     * @param deltas the deltas; their count and amount are added, not assigned
+     */
+    public void apply(Collection<DailyReportStat> deltas) {
+        List<DailyReportStat> ordered = new ArrayList<>(deltas.size());
+        for (DailyReportStat delta : deltas) {
+            if (delta.getItemCount() != 0 || delta.getAmount().signum() != 0) {
+                ordered.add(delta);
+            }
+        }
+        ordered.sort(KEY_ORDER);
+
+        for (DailyReportStat delta : ordered) {
+            if (postgres) {
+                upsert(POSTGRES_UPSERT_SQL, delta);
+                continue;
+            }
+            try {
+                upsert(MERGE_SQL, delta);
+            } catch (DuplicateKeyException e) {
+                // Another writer inserted the row between the match and the insert; H2 rolls back
+                // only the failed statement, so the row can simply be matched again
+                upsert(MERGE_SQL, delta);
+            }
+        }
+    }
+
+    private void upsert(String sql, DailyReportStat delta) {
+        jdbcTemplate.update(sql, delta.getMetric().name(), Date.valueOf(delta.getStatDate()), delta.getVaccineId(),
+                delta.getBucket(), delta.getItemCount(), delta.getAmount());
+    }
+}
@@ -3,8 +3,12 @@ package com.vaccine.tracker.repository;
 import com.vaccine.tracker.entity.Feedback;
 import com.vaccine.tracker.entity.Schedule;
 import com.vaccine.tracker.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -23,6 +27,7 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
      * @param user the user
      * @return list of feedback from the user
      */
+    @EntityGraph(attributePaths = {"user", "schedule.vaccine"})
     List<Feedback> findByUser(User user);
     
     /**
@@ -31,6 +36,7 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
      * @param userId the user id
      * @return list of feedback from the user
      */
+    @EntityGraph(attributePaths = {"user", "schedule.vaccine"})
     List<Feedback> findByUserId(Long userId);
     
     /**
@@ -39,6 +45,7 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
      * @param schedule the schedule
      * @return list of feedback for the schedule
      */
+    @EntityGraph(attributePaths = {"user", "schedule.vaccine"})
     List<Feedback> findBySchedule(Schedule schedule);
     
     /**
@@ -47,6 +54,7 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
      * @param scheduleId the schedule id
      * @return list of feedback for the schedule
      */
+    @EntityGraph(attributePaths = {"user", "schedule.vaccine"})
     List<Feedback> findByScheduleId(Long scheduleId);
     
     /**
@@ -65,6 +73,7 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
      * @param endDate the end date
      * @return list of feedback in the date range
      */
+    @EntityGraph(attributePaths = {"user", "schedule.vaccine"})
     List<Feedback> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
     
     /**
@@ -73,6 +82,7 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
      * @param rating the rating value (1-5)
      * @return list of feedback with the rating
      */
+    @EntityGraph(attributePaths = {"user", "schedule.vaccine"})
     List<Feedback> findByRating(Integer rating);
     
     /**
@@ -83,11 +93,78 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     @Query("SELECT AVG(f.rating) FROM Feedback f")
     Double calculateAverageRating();
     
+    /**
+     * Calculate the average rating of feedback created within a date range.
+     * 
+     * @param startDate the start date
+     * @param endDate the end date
+     * @return the average rating, or null if there is no feedback in the range
+     */
+    @Query("SELECT AVG(f.rating) FROM Feedback f WHERE f.createdAt BETWEEN :startDate AND :endDate")
+    Double calculateAverageRatingBetween(@Param("startDate") LocalDateTime startDate,
+                                         @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * Find the most recent feedback created within a date range.
+     * 
+     * @param startDate the start date
+     * @param endDate the end date
+     * @param pageable the number of entries to return
+     * @return the feedback, newest first
+     */
+    @EntityGraph(attributePaths = {"user", "schedule.vaccine"})
+    List<Feedback> findByCreatedAtBetweenOrderByCreatedAtDesc(LocalDateTime startDate, LocalDateTime endDate,
+                                                              Pageable pageable);
+    
     /**
      * Find feedback that hasn't been responded to.
      * 
      * @return list of feedback without responses
      */
+    @EntityGraph(attributePaths = {"user", "schedule.vaccine"})
     @Query("SELECT f FROM Feedback f WHERE f.staffResponse IS NULL OR f.staffResponse = ''")
     List<Feedback> findFeedbackWithoutResponses();
+    
+    /**
+     * Find feedback by id if it was written by the given user.
+     * 
+     * @param id the feedback id
+     * @param userId the user id
+     * @return the feedback if found and owned by the user
+     */
+    Optional<Feedback> findByIdAndUserId(Long id, Long userId);
+    
+    /**
+     * Check if feedback with the given id was written by the given user.
+     * 
+     * @param id the feedback id
+     * @param userId the user id
+     * @return true if the feedback exists and belongs to the user
+     */
+    boolean existsByIdAndUserId(Long id, Long userId);
+    
+    /**
+     * Find the first page of feedback, newest first.
+     *
+     * @param pageable the page size
+     * @return the slice of feedback
+     */
+    @EntityGraph(attributePaths = {"user", "schedule.vaccine"})
+    @Query("SELECT f FROM Feedback f ORDER BY f.createdAt DESC, f.id DESC")
+    Slice<Feedback> findFirstPage(Pageable pageable);
+    
+    /**
+     * Find the page of feedback following the given position, newest first.
+     *
+     * @param createdAt the creation time of the last feedback already returned
+     * @param id the id of the last feedback already returned
+     * @param pageable the page size
+     * @return the slice of feedback
+     */
+    @EntityGraph(attributePaths = {"user", "schedule.vaccine"})
+    @Query("SELECT f FROM Feedback f " +
+           "WHERE f.createdAt < :createdAt OR (f.createdAt = :createdAt AND f.id < :id) " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    Slice<Feedback> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                  Pageable pageable);
 }
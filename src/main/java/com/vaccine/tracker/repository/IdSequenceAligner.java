@@ -0,0 +1,84 @@
+package com.vaccine.tracker.repository;
+
+import com.vaccine.tracker.constant.PersistenceConstants;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Moves each id sequence past the highest id already in its table.
+ * Tables created while ids came from identity columns hold rows the new
+ * sequences know nothing about; without this the first pooled block handed
+ * out could collide with them. Sequences are only ever moved forward, so
+ * running this on every startup is safe once the migration is done.
+ * Runs while the context starts, before the web server accepts requests.
+ */
+@Component
+public class IdSequenceAligner {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceAligner.class);
+
+    // Sequence name to the table whose ids it generates
+    private static final Map<String, String> SEQUENCES = new LinkedHashMap<>();
+
+    static {
+        SEQUENCES.put("users_seq", "users");
+        SEQUENCES.put("children_seq", "children");
+        SEQUENCES.put("vaccines_seq", "vaccines");
+        SEQUENCES.put("schedules_seq", "schedules");
+        SEQUENCES.put("vaccinations_seq", "vaccinations");
+        SEQUENCES.put("orders_seq", "orders");
+        SEQUENCES.put("payments_seq", "payments");
+        SEQUENCES.put("reactions_seq", "reactions");
+        SEQUENCES.put("feedbacks_seq", "feedbacks");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Injected so that the schema exists before the sequences are read
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${app.id-sequences.align-on-startup:true}")
+    private boolean enabled;
+
+    @PostConstruct
+    public void alignSequences() {
+        if (!enabled) {
+            return;
+        }
+
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+        int allocationSize = PersistenceConstants.ID_ALLOCATION_SIZE;
+
+        SEQUENCES.forEach((sequence, table) -> {
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+            if (maxId == null) {
+                return;
+            }
+
+            // The pooled optimizer treats each sequence value as the top of a block of allocationSize ids
+            String nextValueSql = dialect.getSequenceSupport().getSequenceNextValString(sequence);
+            Long next = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+            if (next != null && next - allocationSize >= maxId) {
+                return;
+            }
+
+            long restartWith = maxId + allocationSize + 1;
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + restartWith);
+            logger.info("Moved sequence {} to {} past existing ids in {}", sequence, restartWith, table);
+        });
+    }
+}
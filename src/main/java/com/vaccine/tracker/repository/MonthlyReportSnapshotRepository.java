@@ -0,0 +1,22 @@
+package com.vaccine.tracker.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.vaccine.tracker.entity.MonthlyReportSnapshot;
+
+@Repository
+public interface MonthlyReportSnapshotRepository extends JpaRepository<MonthlyReportSnapshot, String> {
+    
+    List<MonthlyReportSnapshot> findByPeriodBetweenOrderByPeriod(String fromPeriod, String toPeriod);
+    
+    @Modifying
+    @Query("DELETE FROM MonthlyReportSnapshot s WHERE s.period IN :periods")
+    int deleteByPeriods(@Param("periods") Collection<String> periods);
+}
@@ -4,6 +4,7 @@ import com.vaccine.tracker.entity.Order;
 import com.vaccine.tracker.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -63,7 +64,10 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      * @param startDate the start date
      * @param endDate the end date
      * @return list of paid orders in the date range
+     * @deprecated loads every order entity in the range; revenue figures come from the
+     *             daily report rollup and the grouped payment queries in PaymentRepository
      */
+    @Deprecated
     @Query("SELECT o FROM Order o WHERE o.paid = true AND o.createdAt BETWEEN :startDate AND :endDate")
     List<Order> findPaidOrdersInDateRange(LocalDateTime startDate, LocalDateTime endDate);
     
@@ -84,4 +88,15 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      */
     @Query(value = "SELECT * FROM orders WHERE user_id = ?1 ORDER BY created_at DESC LIMIT ?2", nativeQuery = true)
     List<Order> findRecentOrdersByUser(Long userId, int limit);
+    
+    /**
+     * Count customers whose first order was placed within a date range.
+     * 
+     * @param startDate the start date
+     * @param endDate the end date
+     * @return number of first-time customers in the date range
+     */
+    @Query("SELECT COUNT(DISTINCT o.user.id) FROM Order o WHERE o.createdAt BETWEEN :startDate AND :endDate " +
+           "AND NOT EXISTS (SELECT 1 FROM Order earlier WHERE earlier.user = o.user AND earlier.createdAt < :startDate)")
+    long countNewCustomersBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 }
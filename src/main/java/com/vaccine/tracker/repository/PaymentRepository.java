@@ -1,28 +1,86 @@
 package com.vaccine.tracker.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.QueryHint;
+
+import com.vaccine.tracker.constant.ExportConstants;
 import com.vaccine.tracker.entity.Payment;
 import com.vaccine.tracker.entity.Payment.PaymentStatus;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     
+    @EntityGraph(attributePaths = {"parent", "child"})
     List<Payment> findByParentId(Long parentId);
     
+    @EntityGraph(attributePaths = {"parent", "child"})
     List<Payment> findByChildId(Long childId);
     
+    @EntityGraph(attributePaths = {"parent", "child"})
     List<Payment> findByVaccinationId(Long vaccinationId);
     
+    @EntityGraph(attributePaths = {"parent", "child"})
     List<Payment> findByStatus(PaymentStatus status);
     
+    @EntityGraph(attributePaths = {"parent", "child"})
     List<Payment> findByTransactionId(String transactionId);
     
+    @EntityGraph(attributePaths = {"parent", "child"})
     @Query("SELECT p FROM Payment p WHERE p.parent.id = :parentId AND p.status = 'PENDING'")
     List<Payment> findUnpaidPaymentsByParentId(@Param("parentId") Long parentId);
-}
\ No newline at end of file
+    
+    @Query("SELECT p FROM Payment p WHERE p.id = :id AND p.parent.id = :userId")
+    Optional<Payment> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+    
+    @Query("SELECT COUNT(p) > 0 FROM Payment p WHERE p.id = :id AND p.parent.id = :userId")
+    boolean existsByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+    
+    @EntityGraph(attributePaths = {"parent", "child"})
+    @Query("SELECT p FROM Payment p ORDER BY p.paymentDate DESC, p.id DESC")
+    Slice<Payment> findFirstPage(Pageable pageable);
+    
+    @EntityGraph(attributePaths = {"parent", "child"})
+    @Query("SELECT p FROM Payment p " +
+           "WHERE p.paymentDate < :date OR (p.paymentDate = :date AND p.id < :id) " +
+           "ORDER BY p.paymentDate DESC, p.id DESC")
+    Slice<Payment> findPageAfter(@Param("date") LocalDateTime date, @Param("id") Long id, Pageable pageable);
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportConstants.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Payment p " +
+           "WHERE p.paymentDate BETWEEN :startDate AND :endDate ORDER BY p.paymentDate, p.id")
+    Stream<Payment> streamByPaymentDateBetween(@Param("startDate") LocalDateTime startDate,
+                                               @Param("endDate") LocalDateTime endDate);
+    
+    // Rows of [payment day, vaccine id, count, summed amount] of completed payments, attributed to the
+    // vaccine of the vaccination paid for; the vaccine is null for a payment without a vaccination.
+    // Used to rebuild and check the report rollup without loading any entity.
+    @Query("SELECT CAST(p.paymentDate AS LocalDate), v.id, COUNT(p), SUM(p.amount) " +
+           "FROM Payment p LEFT JOIN p.vaccination pv LEFT JOIN pv.vaccine v " +
+           "WHERE p.status = 'COMPLETED' AND p.paymentDate >= :startDate AND p.paymentDate < :endDate " +
+           "GROUP BY CAST(p.paymentDate AS LocalDate), v.id")
+    List<Object[]> sumCompletedRevenueByDayAndVaccine(@Param("startDate") LocalDateTime startDate,
+                                                      @Param("endDate") LocalDateTime endDate);
+    
+    @Query("SELECT COUNT(p) FROM Payment p " +
+           "WHERE p.status = 'COMPLETED' AND p.paymentDate >= :startDate AND p.paymentDate < :endDate")
+    long countCompletedByPaymentDateRange(@Param("startDate") LocalDateTime startDate,
+                                          @Param("endDate") LocalDateTime endDate);
+}
@@ -1,28 +1,88 @@
 package com.vaccine.tracker.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.QueryHint;
+
+import com.vaccine.tracker.constant.ExportConstants;
 import com.vaccine.tracker.entity.Reaction;
 
 @Repository
 public interface ReactionRepository extends JpaRepository<Reaction, Long> {
     
+    @EntityGraph(attributePaths = {"child", "vaccination.vaccine"})
     List<Reaction> findByChildId(Long childId);
     
+    @EntityGraph(attributePaths = {"child", "vaccination.vaccine"})
     List<Reaction> findByVaccinationId(Long vaccinationId);
     
+    @EntityGraph(attributePaths = {"child", "vaccination.vaccine"})
     @Query("SELECT r FROM Reaction r JOIN r.vaccination v WHERE v.vaccine.id = :vaccineId")
     List<Reaction> findByVaccineId(@Param("vaccineId") Long vaccineId);
     
+    @EntityGraph(attributePaths = {"child", "vaccination.vaccine"})
     @Query("SELECT r FROM Reaction r JOIN r.child c JOIN c.parent p WHERE p.id = :parentId")
     List<Reaction> findByParentId(@Param("parentId") Long parentId);
     
+    @EntityGraph(attributePaths = {"child", "vaccination.vaccine"})
     @Query("SELECT r FROM Reaction r WHERE LOWER(r.symptom) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(r.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<Reaction> searchReactions(@Param("keyword") String keyword);
-}
\ No newline at end of file
+    
+    @Query("SELECT r FROM Reaction r JOIN FETCH r.child c WHERE r.id = :id AND c.parent.id = :parentId")
+    Optional<Reaction> findByIdAndParentId(@Param("id") Long id, @Param("parentId") Long parentId);
+    
+    @Query("SELECT COUNT(r) > 0 FROM Reaction r WHERE r.id = :id AND r.child.parent.id = :parentId")
+    boolean existsByIdAndParentId(@Param("id") Long id, @Param("parentId") Long parentId);
+    
+    @EntityGraph(attributePaths = {"child", "vaccination.vaccine"})
+    @Query("SELECT r FROM Reaction r ORDER BY r.reactionDate DESC, r.id DESC")
+    Slice<Reaction> findFirstPage(Pageable pageable);
+    
+    @EntityGraph(attributePaths = {"child", "vaccination.vaccine"})
+    @Query("SELECT r FROM Reaction r " +
+           "WHERE r.reactionDate < :date OR (r.reactionDate = :date AND r.id < :id) " +
+           "ORDER BY r.reactionDate DESC, r.id DESC")
+    Slice<Reaction> findPageAfter(@Param("date") LocalDateTime date, @Param("id") Long id, Pageable pageable);
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportConstants.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Reaction r LEFT JOIN FETCH r.child ORDER BY r.reactionDate, r.id")
+    Stream<Reaction> streamAll();
+    
+    // Rows of [provider id, count] of reactions before a time to vaccinations each provider administered,
+    // used by the provider performance report
+    @Query("SELECT v.provider.id, COUNT(r) FROM Reaction r JOIN r.vaccination v " +
+           "WHERE v.provider IS NOT NULL AND r.reactionDate < :before GROUP BY v.provider.id")
+    List<Object[]> countByProvider(@Param("before") LocalDateTime before);
+    
+    // Rows as above for one provider
+    @Query("SELECT v.provider.id, COUNT(r) FROM Reaction r JOIN r.vaccination v " +
+           "WHERE v.provider.id = :providerId AND r.reactionDate < :before GROUP BY v.provider.id")
+    List<Object[]> countByProviderForProvider(@Param("providerId") Long providerId,
+                                              @Param("before") LocalDateTime before);
+    
+    // Rows of [reaction date, vaccine id, severity, count], used to rebuild and check the report rollup
+    @Query("SELECT CAST(r.reactionDate AS LocalDate), v.vaccine.id, r.severity, COUNT(r) " +
+           "FROM Reaction r JOIN r.vaccination v " +
+           "WHERE r.reactionDate >= :startDate AND r.reactionDate < :endDate " +
+           "GROUP BY CAST(r.reactionDate AS LocalDate), v.vaccine.id, r.severity")
+    List<Object[]> countByDayVaccineAndSeverity(@Param("startDate") LocalDateTime startDate,
+                                                @Param("endDate") LocalDateTime endDate);
+}
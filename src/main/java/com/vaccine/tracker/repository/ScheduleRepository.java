@@ -1,41 +1,161 @@
 package com.vaccine.tracker.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import com.vaccine.tracker.constant.ExportConstants;
+import com.vaccine.tracker.dto.response.ScheduleSummaryResponse;
 import com.vaccine.tracker.entity.Schedule;
 import com.vaccine.tracker.entity.Schedule.ScheduleStatus;
 
 @Repository
 public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
     
+    // Selects only the columns shown in list views; the child and vaccine entities are never loaded
+    String SUMMARY_SELECT = "SELECT new com.vaccine.tracker.dto.response.ScheduleSummaryResponse(" +
+            "s.id, s.scheduledDate, s.status, s.doseNumber, c.id, c.firstName, c.lastName, v.id, v.name) " +
+            "FROM Schedule s JOIN s.child c JOIN s.vaccine v ";
+    
+    @Override
+    @EntityGraph(attributePaths = {"child", "vaccine"})
+    Optional<Schedule> findById(Long id);
+    
+    @EntityGraph(attributePaths = {"child", "vaccine"})
     List<Schedule> findByChildId(Long childId);
     
+    @EntityGraph(attributePaths = {"child", "vaccine"})
     List<Schedule> findByVaccineId(Long vaccineId);
     
+    @EntityGraph(attributePaths = {"child", "vaccine"})
     List<Schedule> findByProviderId(Long providerId);
     
+    @EntityGraph(attributePaths = {"child", "vaccine"})
     List<Schedule> findByStatus(ScheduleStatus status);
     
+    @EntityGraph(attributePaths = {"child", "vaccine"})
     @Query("SELECT s FROM Schedule s WHERE s.scheduledDate BETWEEN :startDate AND :endDate")
     List<Schedule> findByScheduledDateBetween(@Param("startDate") LocalDate startDate, 
                                             @Param("endDate") LocalDate endDate);
     
+    @EntityGraph(attributePaths = {"child", "vaccine"})
     @Query("SELECT s FROM Schedule s JOIN s.child c JOIN c.parent p WHERE p.id = :parentId")
     List<Schedule> findSchedulesByParentId(@Param("parentId") Long parentId);
     
+    @EntityGraph(attributePaths = {"child", "vaccine"})
     @Query("SELECT s FROM Schedule s JOIN s.child c JOIN c.parent p WHERE p.id = :parentId " +
            "AND s.status = 'SCHEDULED' AND s.scheduledDate >= :currentDate")
     List<Schedule> findUpcomingSchedulesByParentId(@Param("parentId") Long parentId, 
                                                 @Param("currentDate") LocalDate currentDate);
     
+    // Missed schedules plus those the missed schedule job has not reached yet
+    @EntityGraph(attributePaths = {"child", "vaccine"})
     @Query("SELECT s FROM Schedule s JOIN s.child c JOIN c.parent p WHERE p.id = :parentId " +
-           "AND s.status = 'SCHEDULED' AND s.scheduledDate < :currentDate")
+           "AND (s.status = 'MISSED' OR (s.status = 'SCHEDULED' AND s.scheduledDate < :currentDate))")
     List<Schedule> findOverdueSchedulesByParentId(@Param("parentId") Long parentId, 
                                                @Param("currentDate") LocalDate currentDate);
-}
\ No newline at end of file
+    
+    @Query("SELECT s FROM Schedule s JOIN FETCH s.child c JOIN FETCH s.vaccine " +
+           "WHERE s.id = :id AND c.parent.id = :parentId")
+    Optional<Schedule> findByIdAndParentId(@Param("id") Long id, @Param("parentId") Long parentId);
+    
+    @Query("SELECT COUNT(s) > 0 FROM Schedule s WHERE s.id = :id AND s.child.parent.id = :parentId")
+    boolean existsByIdAndParentId(@Param("id") Long id, @Param("parentId") Long parentId);
+    
+    @Query(SUMMARY_SELECT + "WHERE c.parent.id = :parentId ORDER BY s.scheduledDate, s.id")
+    Slice<ScheduleSummaryResponse> findFirstPageByParentId(@Param("parentId") Long parentId, Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE c.parent.id = :parentId " +
+           "AND (s.scheduledDate > :date OR (s.scheduledDate = :date AND s.id > :id)) " +
+           "ORDER BY s.scheduledDate, s.id")
+    Slice<ScheduleSummaryResponse> findPageByParentIdAfter(@Param("parentId") Long parentId,
+                                                           @Param("date") LocalDate date,
+                                                           @Param("id") Long id, Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE c.id = :childId ORDER BY s.scheduledDate, s.id")
+    List<ScheduleSummaryResponse> findSummariesByChildId(@Param("childId") Long childId);
+    
+    @Query(SUMMARY_SELECT + "WHERE c.id = :childId AND s.status = 'SCHEDULED' " +
+           "AND s.scheduledDate >= :currentDate ORDER BY s.scheduledDate, s.id")
+    List<ScheduleSummaryResponse> findUpcomingSummariesByChildId(@Param("childId") Long childId,
+                                                                 @Param("currentDate") LocalDate currentDate);
+    
+    @Query(SUMMARY_SELECT + "WHERE s.status = :status ORDER BY s.scheduledDate, s.id")
+    List<ScheduleSummaryResponse> findSummariesByStatus(@Param("status") ScheduleStatus status);
+    
+    @Query(SUMMARY_SELECT + "WHERE s.scheduledDate BETWEEN :startDate AND :endDate ORDER BY s.scheduledDate, s.id")
+    List<ScheduleSummaryResponse> findSummariesByScheduledDateBetween(@Param("startDate") LocalDate startDate,
+                                                                      @Param("endDate") LocalDate endDate);
+    
+    // Schedules still scheduled before a day, oldest first, read by the missed schedule job through
+    // idx_schedules_status_scheduled_date; locked so the chunk's bulk update changes exactly these rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Schedule s WHERE s.status = 'SCHEDULED' AND s.scheduledDate < :currentDate " +
+           "ORDER BY s.scheduledDate, s.id")
+    List<Schedule> findOverdueForUpdate(@Param("currentDate") LocalDate currentDate, Pageable pageable);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Schedule s SET s.status = :status WHERE s.id IN :ids")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids, @Param("status") ScheduleStatus status);
+    
+    // Rows of [scheduled date, vaccine id, status, count], used to rebuild and check the report rollup
+    @Query("SELECT s.scheduledDate, s.vaccine.id, s.status, COUNT(s) FROM Schedule s " +
+           "WHERE s.scheduledDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY s.scheduledDate, s.vaccine.id, s.status")
+    List<Object[]> countByDayVaccineAndStatus(@Param("startDate") LocalDate startDate,
+                                              @Param("endDate") LocalDate endDate);
+    
+    // Rows of [provider id, status, count] of schedules scheduled before a day,
+    // used by the provider performance report
+    @Query("SELECT s.provider.id, s.status, COUNT(s) FROM Schedule s " +
+           "WHERE s.provider IS NOT NULL AND s.scheduledDate < :before GROUP BY s.provider.id, s.status")
+    List<Object[]> countByProviderAndStatus(@Param("before") LocalDate before);
+    
+    // Rows as above for one provider
+    @Query("SELECT s.provider.id, s.status, COUNT(s) FROM Schedule s " +
+           "WHERE s.provider.id = :providerId AND s.scheduledDate < :before GROUP BY s.provider.id, s.status")
+    List<Object[]> countByProviderAndStatusForProvider(@Param("providerId") Long providerId,
+                                                       @Param("before") LocalDate before);
+    
+    // Rows of [birth year, birth month, vaccine id, dose number, count] of completed schedules of children
+    // born in a date range, used to rebuild and check the coverage cohorts of the report rollup
+    @Query("SELECT YEAR(c.dateOfBirth), MONTH(c.dateOfBirth), s.vaccine.id, s.doseNumber, COUNT(s) " +
+           "FROM Schedule s JOIN s.child c " +
+           "WHERE s.status = 'COMPLETED' AND c.dateOfBirth BETWEEN :startDate AND :endDate " +
+           "GROUP BY YEAR(c.dateOfBirth), MONTH(c.dateOfBirth), s.vaccine.id, s.doseNumber")
+    List<Object[]> countCompletedByBirthMonthVaccineAndDose(@Param("startDate") LocalDate startDate,
+                                                            @Param("endDate") LocalDate endDate);
+    
+    // Rows of [vaccine id, dose number, count] of one child's completed schedules
+    @Query("SELECT s.vaccine.id, s.doseNumber, COUNT(s) FROM Schedule s " +
+           "WHERE s.child.id = :childId AND s.status = 'COMPLETED' GROUP BY s.vaccine.id, s.doseNumber")
+    List<Object[]> countCompletedByVaccineAndDoseForChild(@Param("childId") Long childId);
+    
+    // Rows of [id, vaccine id, child birth date, scheduled date, status, provider id] in date order,
+    // used to load the in-memory schedule column store
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportConstants.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s.id, s.vaccine.id, c.dateOfBirth, s.scheduledDate, s.status, p.id " +
+           "FROM Schedule s JOIN s.child c LEFT JOIN s.provider p ORDER BY s.scheduledDate, s.id")
+    Stream<Object[]> streamColumnRows();
+}
@@ -0,0 +1,100 @@
+package com.vaccine.tracker.repository;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces writes to a "touch" timestamp column (last login, last seen and the like).
+ * Callers record a timestamp in memory; a background flush writes the latest
+ * timestamp per key as one batched UPDATE. Repeated touches between flushes
+ * cost one row write, and callers never wait on the database. Touches not yet
+ * flushed are lost on a crash, bounded by the flush interval.
+ */
+public class TouchColumnWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TouchColumnWriter.class);
+
+    private final Map<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String updateSql;
+
+    /**
+     * @param jdbcTemplate the JDBC template
+     * @param table the table name
+     * @param keyColumn the column identifying the row
+     * @param touchColumn the timestamp column to update
+     */
+    public TouchColumnWriter(JdbcTemplate jdbcTemplate, String table, String keyColumn, String touchColumn) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Never move the column backwards if an older value is flushed after a newer one
+        this.updateSql = "UPDATE " + table + " SET " + touchColumn + " = ? WHERE " + keyColumn + " = ?"
+                + " AND (" + touchColumn + " IS NULL OR " + touchColumn + " < ?)";
+    }
+
+    /**
+     * Record a touch; only the latest timestamp per key is kept until the next flush.
+     *
+     * @param key the row key
+     * @param time the timestamp
+     */
+    public void touch(String key, LocalDateTime time) {
+        pending.merge(key, time, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    /**
+     * Write all pending touches in one batch.
+     * An entry is only drained if it was not touched again while being read,
+     * so a newer timestamp is never dropped; it simply waits for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${app.touch.flush-interval-millis:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<String, LocalDateTime> entry : pending.entrySet()) {
+            String key = entry.getKey();
+            LocalDateTime time = entry.getValue();
+            if (pending.remove(key, time)) {
+                Timestamp timestamp = Timestamp.valueOf(time);
+                batch.add(new Object[] {timestamp, key, timestamp});
+            }
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(updateSql, batch);
+        } catch (RuntimeException e) {
+            // Put the values back so the next flush retries them
+            for (Object[] row : batch) {
+                touch((String) row[1], ((Timestamp) row[0]).toLocalDateTime());
+            }
+            logger.warn("Failed to flush {} touch updates: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+}
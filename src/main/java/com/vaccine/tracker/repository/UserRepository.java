@@ -3,7 +3,12 @@ package com.vaccine.tracker.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.vaccine.tracker.entity.User;
@@ -20,4 +25,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+    
+    long countByRole(String role);
+    
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.username = :username")
+    int updatePasswordByUsername(@Param("username") String username, @Param("password") String password);
+    
+    @Query("SELECT u FROM User u ORDER BY u.username, u.id")
+    Slice<User> findFirstPage(Pageable pageable);
+    
+    @Query("SELECT u FROM User u " +
+           "WHERE u.username > :username OR (u.username = :username AND u.id > :id) " +
+           "ORDER BY u.username, u.id")
+    Slice<User> findPageAfter(@Param("username") String username, @Param("id") Long id, Pageable pageable);
+}
@@ -2,12 +2,19 @@ package com.vaccine.tracker.repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.QueryHint;
+
+import com.vaccine.tracker.constant.ExportConstants;
 import com.vaccine.tracker.entity.Vaccination;
 import com.vaccine.tracker.entity.Vaccination.VaccinationStatus;
 
@@ -31,4 +38,42 @@ public interface VaccinationRepository extends JpaRepository<Vaccination, Long>
     
     @Query("SELECT v FROM Vaccination v WHERE v.status = 'SCHEDULED' AND v.scheduledDate < :currentDate")
     List<Vaccination> findOverdueVaccinations(@Param("currentDate") LocalDate currentDate);
-}
\ No newline at end of file
+    
+    // Rows of [provider id, administered count, total days from scheduled to administered date] of
+    // vaccinations scheduled before a day, used by the provider performance report
+    @Query("SELECT v.provider.id, COUNT(v.administeredDate), " +
+           "SUM((v.administeredDate - v.scheduledDate) BY DAY) FROM Vaccination v " +
+           "WHERE v.provider IS NOT NULL AND v.scheduledDate < :before GROUP BY v.provider.id")
+    List<Object[]> sumAdministeredByProvider(@Param("before") LocalDate before);
+    
+    // Rows as above for one provider
+    @Query("SELECT v.provider.id, COUNT(v.administeredDate), " +
+           "SUM((v.administeredDate - v.scheduledDate) BY DAY) FROM Vaccination v " +
+           "WHERE v.provider.id = :providerId AND v.scheduledDate < :before GROUP BY v.provider.id")
+    List<Object[]> sumAdministeredByProviderForProvider(@Param("providerId") Long providerId,
+                                                        @Param("before") LocalDate before);
+    
+    @Query("SELECT MIN(v.scheduledDate) FROM Vaccination v")
+    LocalDate findMinScheduledDate();
+    
+    @Query("SELECT MAX(v.scheduledDate) FROM Vaccination v")
+    LocalDate findMaxScheduledDate();
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportConstants.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT v FROM Vaccination v WHERE v.scheduledDate >= :startDate AND v.scheduledDate < :endDate " +
+           "ORDER BY v.scheduledDate, v.id")
+    Stream<Vaccination> streamByScheduledDateRange(@Param("startDate") LocalDate startDate,
+                                                   @Param("endDate") LocalDate endDate);
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportConstants.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT v FROM Vaccination v LEFT JOIN FETCH v.child LEFT JOIN FETCH v.vaccine " +
+           "WHERE v.scheduledDate >= :startDate AND v.scheduledDate < :endDate ORDER BY v.scheduledDate, v.id")
+    Stream<Vaccination> streamWithDetailsByScheduledDateRange(@Param("startDate") LocalDate startDate,
+                                                              @Param("endDate") LocalDate endDate);
+}
@@ -0,0 +1,201 @@
+package com.vaccine.tracker.security;
+
+import com.vaccine.tracker.entity.Child;
+import com.vaccine.tracker.entity.Feedback;
+import com.vaccine.tracker.entity.Payment;
+import com.vaccine.tracker.entity.Reaction;
+import com.vaccine.tracker.entity.Schedule;
+import com.vaccine.tracker.exception.ResourceNotFoundException;
+import com.vaccine.tracker.exception.UnauthorizedException;
+import com.vaccine.tracker.repository.ChildRepository;
+import com.vaccine.tracker.repository.FeedbackRepository;
+import com.vaccine.tracker.repository.PaymentRepository;
+import com.vaccine.tracker.repository.ReactionRepository;
+import com.vaccine.tracker.repository.ScheduleRepository;
+import com.vaccine.tracker.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+
+/**
+ * Central ownership checks for parent-owned resources.
+ * Staff and admin load by id; customers load through a query that also
+ * matches the owning parent, so the entity and the permission decision
+ * come back in a single round trip.
+ */
+@Component
+public class AccessPolicy {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private ChildRepository childRepository;
+
+    @Autowired
+    private ReactionRepository reactionRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    /**
+     * Load a schedule the current user is allowed to access.
+     *
+     * @param id the schedule id
+     * @return the schedule
+     */
+    public Schedule loadSchedule(Long id) {
+        return load("Schedule", "schedule", id, scheduleRepository, scheduleRepository::findByIdAndParentId);
+    }
+
+    /**
+     * Check if the current user can access a schedule.
+     *
+     * @param id the schedule id
+     * @return true if access is allowed
+     */
+    public boolean canAccessSchedule(Long id) {
+        return canAccess("Schedule", id, scheduleRepository, scheduleRepository::existsByIdAndParentId);
+    }
+
+    /**
+     * Check if a schedule belongs to one of the current user's own children,
+     * regardless of role.
+     *
+     * @param id the schedule id
+     * @return true if the current user is the schedule's parent
+     */
+    public boolean ownsSchedule(Long id) {
+        return scheduleRepository.existsByIdAndParentId(id, userService.getCurrentPrincipal().getId());
+    }
+
+    /**
+     * Load a child the current user is allowed to access.
+     *
+     * @param id the child id
+     * @return the child
+     */
+    public Child loadChild(Long id) {
+        return load("Child", "child's data", id, childRepository, childRepository::findByIdAndParentId);
+    }
+
+    /**
+     * Check if the current user can access a child.
+     *
+     * @param id the child id
+     * @return true if access is allowed
+     */
+    public boolean canAccessChild(Long id) {
+        return canAccess("Child", id, childRepository, childRepository::existsByIdAndParentId);
+    }
+
+    /**
+     * Load a reaction the current user is allowed to access.
+     *
+     * @param id the reaction id
+     * @return the reaction
+     */
+    public Reaction loadReaction(Long id) {
+        return load("Reaction", "reaction", id, reactionRepository, reactionRepository::findByIdAndParentId);
+    }
+
+    /**
+     * Check if the current user can access a reaction.
+     *
+     * @param id the reaction id
+     * @return true if access is allowed
+     */
+    public boolean canAccessReaction(Long id) {
+        return canAccess("Reaction", id, reactionRepository, reactionRepository::existsByIdAndParentId);
+    }
+
+    /**
+     * Load a payment the current user is allowed to access.
+     *
+     * @param id the payment id
+     * @return the payment
+     */
+    public Payment loadPayment(Long id) {
+        return load("Payment", "payment", id, paymentRepository, paymentRepository::findByIdAndUserId);
+    }
+
+    /**
+     * Check if the current user can access a payment.
+     *
+     * @param id the payment id
+     * @return true if access is allowed
+     */
+    public boolean canAccessPayment(Long id) {
+        return canAccess("Payment", id, paymentRepository, paymentRepository::existsByIdAndUserId);
+    }
+
+    /**
+     * Load feedback the current user is allowed to access.
+     *
+     * @param id the feedback id
+     * @return the feedback
+     */
+    public Feedback loadFeedback(Long id) {
+        return load("Feedback", "feedback", id, feedbackRepository, feedbackRepository::findByIdAndUserId);
+    }
+
+    /**
+     * Check if the current user can access feedback.
+     *
+     * @param id the feedback id
+     * @return true if access is allowed
+     */
+    public boolean canAccessFeedback(Long id) {
+        return canAccess("Feedback", id, feedbackRepository, feedbackRepository::existsByIdAndUserId);
+    }
+
+    /**
+     * Load an entity by id, scoping the query to the current user unless they are staff.
+     * The existence check only runs when the scoped lookup misses, to tell
+     * "not found" apart from "not yours". While the parent scope filter is
+     * enabled, other parents' rows are invisible to that check as well and
+     * are reported as not found.
+     */
+    private <T> T load(String resourceName, String description, Long id, JpaRepository<T, Long> repository,
+                       BiFunction<Long, Long, Optional<T>> scopedFinder) {
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
+
+        if (currentUser.isStaff()) {
+            return repository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException(resourceName, "id", id));
+        }
+
+        return scopedFinder.apply(id, currentUser.getId())
+                .orElseThrow(() -> repository.existsById(id)
+                        ? new UnauthorizedException("You don't have permission to access this " + description)
+                        : new ResourceNotFoundException(resourceName, "id", id));
+    }
+
+    /**
+     * Check access to an entity by id with a single exists query for the common case.
+     */
+    private <T> boolean canAccess(String resourceName, Long id, JpaRepository<T, Long> repository,
+                                  BiPredicate<Long, Long> scopedExists) {
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
+
+        if (!currentUser.isStaff() && scopedExists.test(id, currentUser.getId())) {
+            return true;
+        }
+
+        if (!repository.existsById(id)) {
+            throw new ResourceNotFoundException(resourceName, "id", id);
+        }
+
+        return currentUser.isStaff();
+    }
+}
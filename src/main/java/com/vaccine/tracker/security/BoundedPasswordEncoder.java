@@ -0,0 +1,35 @@
+package com.vaccine.tracker.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Password encoder that runs the expensive encode and match operations of its
+ * delegate on the bounded {@link PasswordHashingExecutor} instead of the request thread.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    private final PasswordHashingExecutor executor;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executor.execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executor.execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Only inspects the hash prefix, so no need to go through the pool
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
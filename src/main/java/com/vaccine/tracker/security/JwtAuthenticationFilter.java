@@ -0,0 +1,54 @@
+package com.vaccine.tracker.security;
+
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authenticates API requests from a bearer token.
+ * The token is verified locally and its version checked against the in-memory
+ * revocation state, so no request touches the database. A user's tokens are
+ * revoked on every role, status or password change, which makes a disabled,
+ * deleted or re-roled user's old tokens fail at once. Requests without a valid
+ * token continue unauthenticated and are rejected by the authorization rules.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private final JwtTokenProvider tokenProvider;
+
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider) {
+        this.tokenProvider = tokenProvider;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String token = tokenProvider.resolveToken(request.getHeader(tokenProvider.getHeader()));
+
+        if (token != null) {
+            try {
+                UserPrincipal principal = tokenProvider.parseToken(token);
+                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                        principal, null, principal.getAuthorities());
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(authentication);
+                SecurityContextHolder.setContext(context);
+            } catch (JwtException | IllegalArgumentException e) {
+                logger.debug("Rejected JWT: " + e.getMessage());
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,114 @@
+package com.vaccine.tracker.security;
+
+import com.vaccine.tracker.config.JwtConfig;
+import com.vaccine.tracker.enums.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+
+/**
+ * Issues and verifies signed JWT access tokens.
+ * Tokens carry the user id, email, role and token version as claims. Every
+ * role, status or password change revokes the user's tokens by bumping the
+ * version, so a token that still verifies describes the user's current state
+ * and requests are authenticated without loading the user.
+ */
+@Component
+public class JwtTokenProvider {
+
+    private static final String CLAIM_ID = "id";
+    private static final String CLAIM_EMAIL = "email";
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_VERSION = "ver";
+
+    @Autowired
+    private JwtConfig jwtConfig;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    private Key signingKey;
+
+    private JwtParser parser;
+
+    @PostConstruct
+    public void init() {
+        // Key and parser are immutable and thread-safe, so build them once
+        this.signingKey = Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
+
+    /**
+     * Generate a token for an authenticated user.
+     *
+     * @param principal the authenticated principal
+     * @return the signed token
+     */
+    public String generateToken(UserPrincipal principal) {
+        Date now = new Date();
+        Date expiry = new Date(now.getTime() + jwtConfig.getExpiration());
+
+        return Jwts.builder()
+                .setSubject(principal.getUsername())
+                .claim(CLAIM_ID, principal.getId())
+                .claim(CLAIM_EMAIL, principal.getEmail())
+                .claim(CLAIM_ROLE, principal.getRole().name())
+                .claim(CLAIM_VERSION, userDetailsCache.tokenVersion(principal.getUsername()))
+                .setIssuedAt(now)
+                .setExpiration(expiry)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * Verify a token and build the principal it describes.
+     *
+     * @param token the raw token
+     * @return the principal
+     * @throws JwtException if the token is malformed, expired, revoked or has a bad signature
+     */
+    public UserPrincipal parseToken(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+
+        Long version = claims.get(CLAIM_VERSION, Long.class);
+        if (version == null || version != userDetailsCache.tokenVersion(claims.getSubject())) {
+            throw new JwtException("Token was revoked");
+        }
+
+        return new UserPrincipal(
+                claims.get(CLAIM_ID, Long.class),
+                claims.getSubject(),
+                claims.get(CLAIM_EMAIL, String.class),
+                null,
+                Role.valueOf(claims.get(CLAIM_ROLE, String.class)),
+                true);
+    }
+
+    /**
+     * Extract the raw token from an authorization header value.
+     *
+     * @param headerValue the header value
+     * @return the token, or null if the header does not carry one
+     */
+    public String resolveToken(String headerValue) {
+        if (headerValue == null || !headerValue.startsWith(jwtConfig.getPrefix())) {
+            return null;
+        }
+        String token = headerValue.substring(jwtConfig.getPrefix().length()).trim();
+        return token.isEmpty() ? null : token;
+    }
+
+    public String getHeader() {
+        return jwtConfig.getHeader();
+    }
+}
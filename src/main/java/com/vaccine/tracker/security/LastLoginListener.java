@@ -0,0 +1,23 @@
+package com.vaccine.tracker.security;
+
+import com.vaccine.tracker.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records the last login time whenever a username/password login succeeds.
+ * Token-authenticated requests do not publish this event, so only real logins count.
+ */
+@Component
+public class LastLoginListener {
+
+    @Autowired
+    private UserService userService;
+
+    @EventListener
+    public void onAuthenticationSuccess(AuthenticationSuccessEvent event) {
+        userService.updateLastLogin(event.getAuthentication().getName());
+    }
+}
@@ -0,0 +1,168 @@
+package com.vaccine.tracker.security;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Sliding-window counter of failed logins per username and per client address.
+ * Keys are spread over a fixed number of independently locked stripes, each a
+ * size-capped LRU map, so memory stays bounded under credential stuffing with
+ * random usernames and contention stays low under concurrent logins.
+ */
+@Component
+public class LoginAttemptThrottle {
+
+    private static final int STRIPE_COUNT = 64;
+    private static final int BUCKET_COUNT = 10;
+
+    @Value("${app.security.login-throttle.window-seconds:300}")
+    private long windowSeconds;
+
+    @Value("${app.security.login-throttle.max-failures-per-username:5}")
+    private int maxFailuresPerUsername;
+
+    @Value("${app.security.login-throttle.max-failures-per-address:20}")
+    private int maxFailuresPerAddress;
+
+    @Value("${app.security.login-throttle.keys-per-stripe:1024}")
+    private int keysPerStripe;
+
+    private Stripe[] stripes;
+
+    private long bucketMillis;
+
+    @PostConstruct
+    public void init() {
+        this.bucketMillis = Math.max(1L, windowSeconds * 1000L / BUCKET_COUNT);
+        this.stripes = new Stripe[STRIPE_COUNT];
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new Stripe(keysPerStripe);
+        }
+    }
+
+    /**
+     * Check whether a login attempt should be refused without verifying the password.
+     *
+     * @param username the submitted username
+     * @param address the client address, may be null
+     * @return true if either the username or the address is over its failure limit
+     */
+    public boolean isBlocked(String username, String address) {
+        long bucket = currentBucket();
+        if (username != null && count(usernameKey(username), bucket) >= maxFailuresPerUsername) {
+            return true;
+        }
+        return address != null && count(addressKey(address), bucket) >= maxFailuresPerAddress;
+    }
+
+    /**
+     * Record a failed login.
+     *
+     * @param username the submitted username
+     * @param address the client address, may be null
+     */
+    public void recordFailure(String username, String address) {
+        long bucket = currentBucket();
+        if (username != null) {
+            increment(usernameKey(username), bucket);
+        }
+        if (address != null) {
+            increment(addressKey(address), bucket);
+        }
+    }
+
+    /**
+     * Clear a username's failures after a successful login.
+     *
+     * @param username the username
+     */
+    public void reset(String username) {
+        if (username == null) {
+            return;
+        }
+        String key = usernameKey(username);
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            stripe.windows.remove(key);
+        }
+    }
+
+    private int count(String key, long bucket) {
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Window window = stripe.windows.get(key);
+            return window == null ? 0 : window.sum(bucket);
+        }
+    }
+
+    private void increment(String key, long bucket) {
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            stripe.windows.computeIfAbsent(key, k -> new Window()).increment(bucket);
+        }
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPE_COUNT - 1)];
+    }
+
+    private long currentBucket() {
+        return System.currentTimeMillis() / bucketMillis;
+    }
+
+    private static String usernameKey(String username) {
+        return "u:" + username.toLowerCase(Locale.ROOT);
+    }
+
+    private static String addressKey(String address) {
+        return "a:" + address;
+    }
+
+    private static final class Stripe {
+
+        private final Map<String, Window> windows;
+
+        private Stripe(int capacity) {
+            this.windows = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+    }
+
+    /**
+     * Ring of per-bucket counts; a slot is reused once its bucket leaves the window.
+     */
+    private static final class Window {
+
+        private final int[] counts = new int[BUCKET_COUNT];
+        private final long[] buckets = new long[BUCKET_COUNT];
+
+        private void increment(long bucket) {
+            int slot = (int) (bucket % BUCKET_COUNT);
+            if (buckets[slot] != bucket) {
+                buckets[slot] = bucket;
+                counts[slot] = 0;
+            }
+            counts[slot]++;
+        }
+
+        private int sum(long bucket) {
+            int total = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                if (bucket - buckets[i] < BUCKET_COUNT) {
+                    total += counts[i];
+                }
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.vaccine.tracker.security;
+
+import org.springframework.security.authentication.LockedException;
+
+/**
+ * Thrown when a login is refused because too many recent attempts failed.
+ */
+public class LoginThrottledException extends LockedException {
+
+    private static final long serialVersionUID = 1L;
+
+    public LoginThrottledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,55 @@
+package com.vaccine.tracker.security;
+
+import com.vaccine.tracker.constant.SecurityConstants;
+import org.hibernate.annotations.Filter;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PreLoadEvent;
+import org.hibernate.event.spi.PreLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.security.access.AccessDeniedException;
+
+/**
+ * Fails closed when a customer loads parent scoped entities through a session
+ * that does not have the parent scope filter enabled, for example a query run
+ * outside any transaction. Such a query may have returned other families'
+ * rows, so the load is rejected instead of handing them out.
+ */
+public class ParentScopeGuard implements Integrator, PreLoadEventListener {
+
+    private static final ClassValue<Boolean> SCOPED = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            Filter filter = type.getAnnotation(Filter.class);
+            return filter != null && SecurityConstants.PARENT_SCOPE_FILTER.equals(filter.name());
+        }
+    };
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        sessionFactory.getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.PRE_LOAD, this);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        // Nothing to release
+    }
+
+    @Override
+    public void onPreLoad(PreLoadEvent event) {
+        if (!SCOPED.get(event.getEntity().getClass())) {
+            return;
+        }
+
+        if (ParentScopeJpaDialect.currentParentScope() != null
+                && event.getSession().getEnabledFilter(SecurityConstants.PARENT_SCOPE_FILTER) == null) {
+            throw new AccessDeniedException("Parent scope filter is not enabled for this customer query");
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.vaccine.tracker.security;
+
+import com.vaccine.tracker.constant.SecurityConstants;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+import java.sql.SQLException;
+
+/**
+ * Enables the parent scope Hibernate filter at the start of every transaction
+ * run on behalf of a customer, whatever started it: an API call, an MVC page,
+ * or async work carrying the caller's security context. The filter stays on
+ * the session afterwards, so lazy loads made while rendering the response are
+ * scoped too. Work without a customer principal, such as scheduled jobs, is
+ * left unscoped.
+ */
+public class ParentScopeJpaDialect extends HibernateJpaDialect {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException, TransactionException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+
+        Long parentScope = currentParentScope();
+        if (parentScope != null) {
+            entityManager.unwrap(Session.class)
+                    .enableFilter(SecurityConstants.PARENT_SCOPE_FILTER)
+                    .setParameter(SecurityConstants.PARENT_SCOPE_PARAM, parentScope);
+        }
+
+        return transactionData;
+    }
+
+    /**
+     * Gets the parent id the current thread's data access is limited to.
+     *
+     * @return the customer's own id, or null for staff and unauthenticated work
+     */
+    static Long currentParentScope() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getParentScope();
+        }
+        return null;
+    }
+}
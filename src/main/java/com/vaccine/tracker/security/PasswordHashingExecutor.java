@@ -0,0 +1,115 @@
+package com.vaccine.tracker.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Small, bounded pool that runs password hashing and verification.
+ * BCrypt is deliberately CPU-heavy; confining it to a few threads keeps a burst
+ * of logins from taking every core away from the rest of the application.
+ * Work that cannot start within the queue-time limit fails fast instead of
+ * piling up behind the burst, and callers never wait longer than the queue
+ * time plus the hashing budget.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    @Value("${app.security.password-pool.threads:0}")
+    private int threads;
+
+    @Value("${app.security.password-pool.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${app.security.password-pool.max-queue-millis:2000}")
+    private long maxQueueMillis;
+
+    @Value("${app.security.password-pool.max-hash-millis:3000}")
+    private long maxHashMillis;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        // Default to half the cores so hashing can never saturate the machine
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Run a hashing task on the pool and wait for its result.
+     *
+     * @param task the hashing or verification work
+     * @param <T> the result type
+     * @return the task result
+     * @throws AuthenticationServiceException if the pool is saturated, the task waited too long to start
+     *         or it did not finish within the hashing budget
+     */
+    public <T> T execute(Supplier<T> task) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+
+        try {
+            future = executor.submit(() -> {
+                // Reject work that sat in the queue past the limit rather than start hashing late
+                if (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - enqueuedAt) > maxQueueMillis) {
+                    throw new TimeoutException("Password hashing queue time exceeded");
+                }
+                return task.get();
+            });
+        } catch (RejectedExecutionException e) {
+            throw new AuthenticationServiceException("Authentication service is busy, please try again");
+        }
+
+        try {
+            return future.get(maxQueueMillis + maxHashMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new AuthenticationServiceException("Authentication service is busy, please try again", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new AuthenticationServiceException("Authentication was interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new AuthenticationServiceException("Authentication service is busy, please try again", cause);
+        }
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+}
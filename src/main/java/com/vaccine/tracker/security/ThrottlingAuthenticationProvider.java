@@ -0,0 +1,46 @@
+package com.vaccine.tracker.security;
+
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+/**
+ * Username/password provider that refuses attempts from usernames or addresses
+ * with too many recent failures before any password hashing is done.
+ */
+public class ThrottlingAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private final LoginAttemptThrottle throttle;
+
+    public ThrottlingAuthenticationProvider(LoginAttemptThrottle throttle) {
+        this.throttle = throttle;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String username = authentication.getName();
+        String address = remoteAddress(authentication);
+
+        if (throttle.isBlocked(username, address)) {
+            throw new LoginThrottledException("Too many failed login attempts, please try again later");
+        }
+
+        try {
+            Authentication result = super.authenticate(authentication);
+            throttle.reset(username);
+            return result;
+        } catch (BadCredentialsException e) {
+            throttle.recordFailure(username, address);
+            throw e;
+        }
+    }
+
+    private static String remoteAddress(Authentication authentication) {
+        if (authentication.getDetails() instanceof WebAuthenticationDetails details) {
+            return details.getRemoteAddress();
+        }
+        return null;
+    }
+}
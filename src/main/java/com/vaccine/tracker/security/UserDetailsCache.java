@@ -0,0 +1,204 @@
+package com.vaccine.tracker.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, time-limited cache of user details snapshots keyed by username.
+ * Entries are evicted explicitly whenever a user's role, status or password
+ * changes, so revoked accounts stop authenticating without waiting for the TTL.
+ * Every eviction bumps a version; a load that started before it cannot cache
+ * what it read, so an eviction is never undone by a slower concurrent load.
+ * Also keeps each user's token version, which access tokens carry and which
+ * changes whenever tokens issued so far must stop working. The versions are
+ * held in memory only, so revocations do not survive a restart.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong version = new AtomicLong();
+
+    private final Map<String, Long> tokenVersions = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Value("${app.security.user-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${app.security.user-cache.max-size:1000}")
+    private int maxSize;
+
+    /**
+     * Get a cached snapshot.
+     *
+     * @param username the username
+     * @return a fresh copy of the cached principal, or null if absent or expired
+     */
+    public UserPrincipal get(String username) {
+        Entry entry = entries.get(username);
+
+        if (entry == null || entry.isExpired()) {
+            if (entry != null) {
+                entries.remove(username, entry);
+            }
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        // Authentication erases credentials on the principal it returns, so never hand out the cached instance
+        return entry.principal.copy();
+    }
+
+    /**
+     * Take the version to pass to {@link #put}; read it before loading the user.
+     *
+     * @return the current version
+     */
+    public long stamp() {
+        return version.get();
+    }
+
+    /**
+     * Cache a snapshot of the given principal, unless a user was evicted since the load started.
+     *
+     * @param principal the principal loaded from the database
+     * @param stamp the version taken before the principal was loaded
+     */
+    public void put(UserPrincipal principal, long stamp) {
+        if (entries.size() >= maxSize) {
+            purge();
+        }
+        long expiresAt = System.nanoTime() + ttlSeconds * 1_000_000_000L;
+        Entry loaded = new Entry(principal.copy(), expiresAt);
+        // Checked under the key's lock: an eviction bumps the version before removing the key,
+        // so either this sees the new version or the eviction removes what this stored
+        entries.compute(principal.getUsername(), (username, current) -> version.get() == stamp ? loaded : current);
+    }
+
+    /**
+     * Evict a user now and again once the current transaction commits,
+     * so a concurrent load cannot re-cache the pre-commit state.
+     *
+     * @param username the username
+     */
+    public void evict(String username) {
+        if (username == null) {
+            return;
+        }
+        remove(username);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(username);
+                }
+            });
+        }
+    }
+
+    /**
+     * Revoke every token issued to a user so far, now and again once the current
+     * transaction commits, so a login racing the change cannot keep a valid token.
+     * Also evicts the user's cached details.
+     *
+     * @param username the username
+     */
+    public void revokeTokens(String username) {
+        if (username == null) {
+            return;
+        }
+        tokenVersions.merge(username, 1L, Long::sum);
+        evict(username);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    tokenVersions.merge(username, 1L, Long::sum);
+                }
+            });
+        }
+    }
+
+    /**
+     * Get the token version to issue to a user, and that their tokens must carry to be accepted.
+     *
+     * @param username the username
+     * @return the user's current token version
+     */
+    public long tokenVersion(String username) {
+        return tokenVersions.getOrDefault(username, 0L);
+    }
+
+    /**
+     * Get cache statistics.
+     *
+     * @return map of counter name to value
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("size", (long) entries.size());
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    private void remove(String username) {
+        version.incrementAndGet();
+        if (entries.remove(username) != null) {
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Drop expired entries, then arbitrary ones until the cache is back under its bound.
+     */
+    private void purge() {
+        entries.values().removeIf(Entry::isExpired);
+
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() >= maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static final class Entry {
+
+        private final UserPrincipal principal;
+        private final long expiresAt;
+
+        private Entry(UserPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.vaccine.tracker.security;
+
+import com.vaccine.tracker.entity.User;
+import com.vaccine.tracker.enums.Role;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Authenticated principal stored in the security context.
+ * Built once when the user authenticates so that services can read the
+ * caller's id and role without loading the user entity again.
+ */
+public class UserPrincipal implements UserDetails, CredentialsContainer {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String username;
+    private final String email;
+    private String password;
+    private final Role role;
+    private final boolean enabled;
+    private final List<SimpleGrantedAuthority> authorities;
+
+    // Constructors
+    public UserPrincipal(Long id, String username, String email, String password, Role role, boolean enabled) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.password = password;
+        this.role = role;
+        this.enabled = enabled;
+        this.authorities = Collections.singletonList(new SimpleGrantedAuthority(role.name()));
+    }
+
+    /**
+     * Creates a principal from a user entity.
+     *
+     * @param user the user entity
+     * @return the principal
+     */
+    public static UserPrincipal create(User user) {
+        return new UserPrincipal(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getPassword(),
+                Role.valueOf(user.getRole()),
+                user.isEnabled());
+    }
+
+    /**
+     * Creates an independent copy, so erasing its credentials leaves this one intact.
+     *
+     * @return the copy
+     */
+    public UserPrincipal copy() {
+        return new UserPrincipal(id, username, email, password, role, enabled);
+    }
+
+    /**
+     * Creates a copy carrying a new password hash.
+     *
+     * @param password the new password hash
+     * @return the copy
+     */
+    public UserPrincipal withPassword(String password) {
+        return new UserPrincipal(id, username, email, password, role, enabled);
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return enabled;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        this.password = null;
+    }
+
+    /**
+     * Checks if the principal is an administrator.
+     *
+     * @return true if admin
+     */
+    public boolean isAdmin() {
+        return role == Role.ROLE_ADMIN;
+    }
+
+    /**
+     * Checks if the principal can see every parent's data (admin or staff).
+     *
+     * @return true if admin or staff
+     */
+    public boolean isStaff() {
+        return role == Role.ROLE_ADMIN || role == Role.ROLE_STAFF;
+    }
+
+    /**
+     * Gets the parent id that this principal's data access is limited to.
+     *
+     * @return the principal's own id for customers, or null when unrestricted
+     */
+    public Long getParentScope() {
+        return isStaff() ? null : id;
+    }
+
+    /**
+     * Checks if the principal may access data belonging to the given parent.
+     *
+     * @param parentId the parent user id
+     * @return true if access is allowed
+     */
+    public boolean canAccessParent(Long parentId) {
+        return isStaff() || Objects.equals(id, parentId);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        return Objects.equals(id, ((UserPrincipal) obj).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "UserPrincipal{" +
+                "id=" + id +
+                ", username='" + username + '\'' +
+                ", role=" + role +
+                '}';
+    }
+}
@@ -0,0 +1,418 @@
+package com.vaccine.tracker.service;
+
+import com.vaccine.tracker.constant.SearchConstants;
+import com.vaccine.tracker.entity.Child;
+import com.vaccine.tracker.repository.ChildRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram index over children's full names, for the staff lookup box.
+ * Names are folded with {@link SearchText#fold} before indexing, so "nguyen van duc"
+ * finds "Nguyễn Văn Đức". Each word is indexed padded with two leading spaces and
+ * one trailing space: a query word must start a name word, every query word but
+ * the last must match a whole word, and the last may be a prefix, the way a
+ * typeahead expects.
+ *
+ * <p>A lookup walks the posting list of the query's rarest trigram and gallops
+ * forwards through the others, so its cost follows the rarest trigram rather than
+ * the number of children. Candidates are confirmed against the folded name and ranked:
+ * more whole-word matches first, then shorter names, then lower ids.
+ *
+ * <p>Written children are indexed once their transaction commits. A renamed child's
+ * row is marked dead and the child appended again; dead rows are dropped by
+ * rebuilding the postings once they pass a quarter of the rows. Loaded from the
+ * database while the context starts.
+ */
+@Component
+public class ChildNameIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChildNameIndex.class);
+
+    // Parent column value of a child without a parent
+    private static final long NO_PARENT = 0;
+
+    private static final Comparator<Match> BEST_FIRST = Comparator
+            .comparingInt((Match match) -> -match.wholeWords)
+            .thenComparingInt(match -> match.length)
+            .thenComparingLong(match -> match.id);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    private ChildRepository childRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.children.name-index.load-on-startup:true}")
+    private boolean loadOnStartup;
+
+    // Rows in the order they were indexed; a dead row has a null name
+    private long[] ids = new long[0];
+    private long[] parentIds = new long[0];
+    private String[] names = new String[0];
+
+    private int size;
+    private int deadCount;
+
+    private final Map<Long, Integer> rowById = new HashMap<>();
+
+    // Trigram to the rows holding it, in ascending row order
+    private final Map<Long, Posting> postings = new HashMap<>();
+
+    @PostConstruct
+    public void load() {
+        if (!loadOnStartup) {
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        lock.writeLock().lock();
+        try {
+            clear();
+            transaction.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = childRepository.streamNameRows()) {
+                    rows.forEach(row -> append(
+                            ((Number) row[0]).longValue(),
+                            row[3] != null ? ((Number) row[3]).longValue() : NO_PARENT,
+                            fullName((String) row[1], (String) row[2])));
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        logger.info("Loaded {} children into the child name index with {} trigrams in {} ms",
+                size, postings.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * Index the current name of a created or updated child once the current transaction commits.
+     *
+     * @param child the saved child
+     */
+    public void record(Child child) {
+        if (child == null || child.getId() == null) {
+            return;
+        }
+
+        // Read the values now; the entity may be changed or detached by the time the transaction commits
+        long id = child.getId();
+        long parentId = child.getParent() != null ? child.getParent().getId() : NO_PARENT;
+        String name = fullName(child.getFirstName(), child.getLastName());
+
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                Integer row = rowById.get(id);
+                if (row != null && parentIds[row] == parentId && name.equals(names[row])) {
+                    return;
+                }
+                if (row != null) {
+                    markDead(row);
+                }
+                append(id, parentId, name);
+                compactIfNeeded();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Remove a deleted child once the current transaction commits.
+     *
+     * @param id the child id
+     */
+    public void remove(long id) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                Integer row = rowById.remove(id);
+                if (row != null) {
+                    markDead(row);
+                    compactIfNeeded();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Find the children whose folded name matches a query, best matches first.
+     *
+     * @param query the text typed so far
+     * @param parentId only return this parent's children, or null for all
+     * @param limit the maximum number of results
+     * @return the matching child ids, best first
+     */
+    public List<Long> search(String query, Long parentId, int limit) {
+        String[] words = SearchText.fold(query).split(" ");
+        if (words[0].isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Set<Long> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i < words.length; i++) {
+            // The last word is still being typed, so it is matched as a prefix
+            addTrigrams(trigrams, words[i], i < words.length - 1);
+        }
+
+        lock.readLock().lock();
+        try {
+            Posting[] lists = new Posting[trigrams.size()];
+            int count = 0;
+            for (Long trigram : trigrams) {
+                Posting posting = postings.get(trigram);
+                if (posting == null) {
+                    return List.of();
+                }
+                lists[count++] = posting;
+            }
+            Arrays.sort(lists, Comparator.comparingInt(posting -> posting.size));
+
+            PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+            Posting rarest = lists[0];
+            // Candidates come in ascending row order, so each other list is only ever read forwards
+            int[] positions = new int[lists.length];
+            for (int i = 0; i < rarest.size; i++) {
+                int row = rarest.rows[i];
+                String name = names[row];
+                if (name == null || (parentId != null && parentIds[row] != parentId)
+                        || !containsAll(lists, positions, row)) {
+                    continue;
+                }
+
+                int wholeWords = matchWords(name, words);
+                if (wholeWords < 0) {
+                    continue;
+                }
+                best.add(new Match(ids[row], wholeWords, name.length()));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            List<Match> ranked = new ArrayList<>(best);
+            ranked.sort(BEST_FIRST);
+            List<Long> result = new ArrayList<>(ranked.size());
+            for (Match match : ranked) {
+                result.add(match.id);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getSize() {
+        lock.readLock().lock();
+        try {
+            return size - deadCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void append(long id, long parentId, String name) {
+        if (size == ids.length) {
+            int capacity = Math.max(16, size + (size >> 1));
+            ids = Arrays.copyOf(ids, capacity);
+            parentIds = Arrays.copyOf(parentIds, capacity);
+            names = Arrays.copyOf(names, capacity);
+        }
+        int row = size++;
+        ids[row] = id;
+        parentIds[row] = parentId;
+        names[row] = name;
+        rowById.put(id, row);
+
+        Set<Long> trigrams = new LinkedHashSet<>();
+        for (String word : name.split(" ")) {
+            if (!word.isEmpty()) {
+                addTrigrams(trigrams, word, true);
+            }
+        }
+        for (Long trigram : trigrams) {
+            postings.computeIfAbsent(trigram, key -> new Posting()).add(row);
+        }
+    }
+
+    private void markDead(int row) {
+        if (names[row] != null) {
+            names[row] = null;
+            deadCount++;
+        }
+    }
+
+    /**
+     * Rebuild the postings from the live rows once dead rows pass a quarter of all rows.
+     */
+    private void compactIfNeeded() {
+        if (deadCount <= Math.max(SearchConstants.MIN_DEAD_ROWS, size >> 2)) {
+            return;
+        }
+
+        long[] liveIds = ids;
+        long[] liveParentIds = parentIds;
+        String[] liveNames = names;
+        int liveSize = size;
+        clear();
+        for (int row = 0; row < liveSize; row++) {
+            if (liveNames[row] != null) {
+                append(liveIds[row], liveParentIds[row], liveNames[row]);
+            }
+        }
+    }
+
+    private void clear() {
+        ids = new long[0];
+        parentIds = new long[0];
+        names = new String[0];
+        size = 0;
+        deadCount = 0;
+        rowById.clear();
+        postings.clear();
+    }
+
+    private static boolean containsAll(Posting[] lists, int[] positions, int row) {
+        for (int i = 1; i < lists.length; i++) {
+            positions[i] = lists[i].seek(positions[i], row);
+            if (positions[i] == lists[i].size || lists[i].rows[positions[i]] != row) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Confirm a candidate the trigrams let through: every query word but the last must
+     * equal a word of the name, and the last must start one.
+     *
+     * @return the number of query words equal to a name word, or -1 if the name does not match
+     */
+    private static int matchWords(String name, String[] words) {
+        String[] nameWords = name.split(" ");
+        int wholeWords = 0;
+        for (int i = 0; i < words.length; i++) {
+            boolean prefix = i == words.length - 1;
+            int match = 0;
+            for (String nameWord : nameWords) {
+                if (nameWord.equals(words[i])) {
+                    match = 2;
+                    break;
+                }
+                if (prefix && nameWord.startsWith(words[i])) {
+                    match = 1;
+                }
+            }
+            if (match == 0) {
+                return -1;
+            }
+            if (match == 2) {
+                wholeWords++;
+            }
+        }
+        return wholeWords;
+    }
+
+    /**
+     * Add the trigrams of a word padded with two leading spaces, and a trailing
+     * space when the word is complete, each packed into a long of three chars.
+     */
+    private static void addTrigrams(Set<Long> trigrams, String word, boolean complete) {
+        String padded = "  " + word + (complete ? " " : "");
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+        }
+    }
+
+    private static String fullName(String firstName, String lastName) {
+        return SearchText.fold(Objects.toString(firstName, "") + " " + Objects.toString(lastName, ""));
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    /**
+     * Rows holding one trigram, appended in ascending row order.
+     */
+    private static final class Posting {
+
+        private int[] rows = new int[4];
+        private int size;
+
+        private void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size << 1);
+            }
+            rows[size++] = row;
+        }
+
+        /**
+         * Find the first position at or after {@code from} holding a row no smaller than
+         * {@code row}: gallop forwards, then binary search the last step.
+         */
+        private int seek(int from, int row) {
+            int step = 1;
+            int low = from;
+            int high = from;
+            while (high < size && rows[high] < row) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            int position = Arrays.binarySearch(rows, low, Math.min(high + 1, size), row);
+            return position >= 0 ? position : -position - 1;
+        }
+    }
+
+    private static final class Match {
+
+        private final long id;
+        private final int wholeWords;
+        private final int length;
+
+        private Match(long id, int wholeWords, int length) {
+            this.id = id;
+            this.wholeWords = wholeWords;
+            this.length = length;
+        }
+    }
+}
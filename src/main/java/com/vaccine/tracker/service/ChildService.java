@@ -2,7 +2,10 @@ package com.vaccine.tracker.service;
 
 import java.util.List;
 
+import org.springframework.data.domain.Slice;
+
 import com.vaccine.tracker.dto.ChildDto;
+import com.vaccine.tracker.dto.request.PageCursor;
 import com.vaccine.tracker.entity.Child;
 
 public interface ChildService {
@@ -20,4 +23,9 @@ public interface ChildService {
     void deleteChild(Long id);
     
     List<Child> searchChildren(String keyword);
-}
\ No newline at end of file
+    
+    // Typeahead search over diacritic-folded full names, best matches first
+    List<Child> searchByName(String keyword, int limit);
+    
+    Slice<Child> findPageByParentId(Long parentId, PageCursor cursor, int size);
+}
@@ -2,34 +2,54 @@ package com.vaccine.tracker.service;
 
 import com.vaccine.tracker.entity.User;
 import com.vaccine.tracker.repository.UserRepository;
+import com.vaccine.tracker.security.UserDetailsCache;
+import com.vaccine.tracker.security.UserPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-
-import java.util.Collections;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
+    private final UserDetailsCache userDetailsCache;
+
     @Autowired
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, UserDetailsCache userDetailsCache) {
         this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserPrincipal cached = userDetailsCache.get(username);
+        if (cached != null) {
+            return cached;
+        }
+
+        long stamp = userDetailsCache.stamp();
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                Collections.singletonList(new SimpleGrantedAuthority(user.getRole().name()))
-        );
+        UserPrincipal principal = UserPrincipal.create(user);
+        userDetailsCache.put(principal, stamp);
+        return principal;
+    }
+
+    /**
+     * Store a rehashed password after a successful login whose stored hash
+     * used an outdated format or cost.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByUsername(user.getUsername(), newPassword);
+        userDetailsCache.evict(user.getUsername());
+        return ((UserPrincipal) user).withPassword(newPassword);
     }
-}
\ No newline at end of file
+}
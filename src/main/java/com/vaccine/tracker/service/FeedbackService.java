@@ -1,7 +1,9 @@
 package com.vaccine.tracker.service;
 
 import com.vaccine.tracker.dto.request.FeedbackRequest;
+import com.vaccine.tracker.dto.request.PageCursor;
 import com.vaccine.tracker.entity.Feedback;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -112,4 +114,13 @@ public interface FeedbackService {
      * @return true if user can create feedback
      */
     boolean canCreateFeedbackForSchedule(Long scheduleId);
+    
+    /**
+     * Find one page of feedback, newest first.
+     * 
+     * @param cursor the position after which to start, or null for the first page
+     * @param size the page size
+     * @return the slice of feedback
+     */
+    Slice<Feedback> findAllPage(PageCursor cursor, int size);
 }
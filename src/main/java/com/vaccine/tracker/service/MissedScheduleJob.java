@@ -0,0 +1,142 @@
+package com.vaccine.tracker.service;
+
+import com.vaccine.tracker.entity.DailyReportStat;
+import com.vaccine.tracker.entity.Schedule;
+import com.vaccine.tracker.repository.ScheduleRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves schedules whose day has passed while still scheduled to MISSED, so
+ * reads and the missed appointments report no longer derive "overdue" from
+ * the date of every scheduled row. Runs shortly after midnight and once at
+ * startup to catch up on a run the application was down for.
+ *
+ * <p>Works in chunks, each read through the (status, scheduled date) index,
+ * locked, changed with one bulk UPDATE and committed on its own, so no long
+ * transaction holds locks on the schedules table. Bulk updates bypass the
+ * schedule write paths, so the report rollup and the schedule column store
+ * are told about each chunk here.
+ */
+@Component
+public class MissedScheduleJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(MissedScheduleJob.class);
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private ReportRollupService reportRollupService;
+
+    @Autowired
+    private ScheduleColumnStore scheduleColumnStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.schedules.missed-job.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.schedules.missed-job.run-on-startup:true}")
+    private boolean runOnStartup;
+
+    // The startup run and a scheduled run must not work on the same rows at once
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private TransactionTemplate chunkTransaction;
+
+    private volatile LocalDateTime lastRunAt;
+
+    @PostConstruct
+    public void init() {
+        chunkTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        if (runOnStartup) {
+            run();
+        }
+    }
+
+    /**
+     * Mark every schedule still scheduled before today as missed.
+     */
+    @Scheduled(cron = "${app.schedules.missed-job.cron:0 5 0 * * *}")
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        int total = 0;
+        try {
+            int changed;
+            do {
+                changed = chunkTransaction.execute(status -> markChunk(today));
+                total += changed;
+            } while (changed == chunkSize);
+            lastRunAt = LocalDateTime.now();
+        } catch (RuntimeException e) {
+            logger.warn("Missed schedule job stopped after {} schedules, the rest wait for the next run: {}",
+                    total, e.getMessage());
+            return;
+        } finally {
+            running.set(false);
+        }
+
+        logger.info("Marked {} overdue schedules as missed in {} ms",
+                total, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * @return when the job last ran to completion, or null if it has not yet
+     */
+    public LocalDateTime getLastRunAt() {
+        return lastRunAt;
+    }
+
+    private int markChunk(LocalDate today) {
+        List<Schedule> overdue = scheduleRepository.findOverdueForUpdate(today, PageRequest.of(0, chunkSize));
+        if (overdue.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = new ArrayList<>(overdue.size());
+        List<DailyReportStat> before = new ArrayList<>(overdue.size());
+        for (Schedule schedule : overdue) {
+            ids.add(schedule.getId());
+            before.addAll(reportRollupService.scheduleFacts(schedule));
+        }
+
+        // Detaches the loaded schedules, so the status set below is never written back
+        scheduleRepository.updateStatusByIds(ids, Schedule.ScheduleStatus.MISSED);
+
+        List<DailyReportStat> after = new ArrayList<>(overdue.size());
+        for (Schedule schedule : overdue) {
+            schedule.setStatus(Schedule.ScheduleStatus.MISSED);
+            after.addAll(reportRollupService.scheduleFacts(schedule));
+        }
+        reportRollupService.recordChanges(before, after);
+        scheduleColumnStore.recordStatus(ids, Schedule.ScheduleStatus.MISSED);
+        return ids.size();
+    }
+}
@@ -0,0 +1,149 @@
+package com.vaccine.tracker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaccine.tracker.dto.response.MonthlyReportResponse;
+import com.vaccine.tracker.entity.MonthlyReportSnapshot;
+import com.vaccine.tracker.repository.MonthlyReportSnapshotRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Persisted snapshots of the monthly vaccination report for closed months.
+ * A closed month is computed once, stored as JSON and served from the
+ * snapshot afterwards; the current month is always computed. Back-dated
+ * changes delete the snapshots of the months they land in, and the month
+ * is computed and stored again on its next request. Snapshots are read back
+ * into the typed report, so amounts stay exact decimals.
+ */
+@Component
+public class MonthlyReportSnapshots {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonthlyReportSnapshots.class);
+
+    // Bumped by every invalidation, so a report computed across one is never stored
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    private MonthlyReportSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate writeTransaction;
+
+    @PostConstruct
+    public void init() {
+        // Snapshots are written from read-only report transactions and after other transactions commit
+        writeTransaction = new TransactionTemplate(transactionManager);
+        writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Get the reports for a range of months, oldest first, reading all stored snapshots in one query.
+     *
+     * @param from the first month
+     * @param to the last month
+     * @param compute computes the report of a month that has no snapshot
+     * @return one report per month
+     */
+    public List<MonthlyReportResponse> get(YearMonth from, YearMonth to,
+                                           Function<YearMonth, MonthlyReportResponse> compute) {
+        YearMonth current = YearMonth.now();
+
+        Map<String, MonthlyReportSnapshot> stored = new HashMap<>();
+        if (from.isBefore(current)) {
+            for (MonthlyReportSnapshot snapshot : snapshotRepository.findByPeriodBetweenOrderByPeriod(
+                    from.toString(), to.toString())) {
+                stored.put(snapshot.getPeriod(), snapshot);
+            }
+        }
+
+        List<MonthlyReportResponse> reports = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            MonthlyReportResponse report = read(stored.get(month.toString()));
+            reports.add(report != null ? report : computeAndStore(month, current, compute));
+        }
+        return reports;
+    }
+
+    /**
+     * Delete the snapshots of the given months. Called once the change touching them has committed.
+     *
+     * @param months the months changed
+     */
+    public void invalidate(Collection<YearMonth> months) {
+        YearMonth current = YearMonth.now();
+        Set<String> periods = months.stream()
+                .filter(month -> month.isBefore(current))
+                .map(YearMonth::toString)
+                .collect(Collectors.toSet());
+        if (periods.isEmpty()) {
+            return;
+        }
+
+        invalidations.incrementAndGet();
+        try {
+            writeTransaction.executeWithoutResult(status -> snapshotRepository.deleteByPeriods(periods));
+        } catch (RuntimeException e) {
+            logger.warn("Failed to delete monthly report snapshots for {}, they are out of date: {}",
+                    periods, e.getMessage());
+        }
+    }
+
+    private MonthlyReportResponse computeAndStore(YearMonth month, YearMonth current,
+                                                  Function<YearMonth, MonthlyReportResponse> compute) {
+        long version = invalidations.get();
+        MonthlyReportResponse report = compute.apply(month);
+        if (!month.isBefore(current)) {
+            return report;
+        }
+
+        try {
+            MonthlyReportSnapshot snapshot = new MonthlyReportSnapshot(
+                    month.toString(), objectMapper.writeValueAsString(report), LocalDateTime.now());
+            writeTransaction.executeWithoutResult(status -> snapshotRepository.save(snapshot));
+
+            // A back-dated change committed while the report was computed, so it may already be out of date
+            if (invalidations.get() != version) {
+                writeTransaction.executeWithoutResult(status -> snapshotRepository.deleteById(snapshot.getPeriod()));
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            logger.warn("Failed to store the monthly report snapshot for {}: {}", month, e.getMessage());
+        }
+        return report;
+    }
+
+    private MonthlyReportResponse read(MonthlyReportSnapshot snapshot) {
+        if (snapshot == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(snapshot.getContent(), MonthlyReportResponse.class);
+        } catch (JsonProcessingException e) {
+            logger.warn("Ignoring unreadable monthly report snapshot for {}: {}", snapshot.getPeriod(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -112,7 +112,10 @@ public interface OrderService {
      * @param startDate the start date
      * @param endDate the end date
      * @return list of paid orders in the date range
+     * @deprecated loads every order entity in the range; revenue figures come from the
+     *             daily report rollup and the grouped payment queries in PaymentRepository
      */
+    @Deprecated
     List<Order> findPaidOrdersInDateRange(LocalDateTime startDate, LocalDateTime endDate);
     
     /**
@@ -1,7 +1,13 @@
 package com.vaccine.tracker.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Slice;
+
+import com.vaccine.tracker.dto.request.PageCursor;
 import com.vaccine.tracker.entity.Payment;
 
 public interface PaymentService {
@@ -25,4 +31,8 @@ public interface PaymentService {
     void deletePayment(Long id);
     
     List<Payment> getUnpaidPayments(Long parentId);
-}
\ No newline at end of file
+    
+    Slice<Payment> findAllPage(PageCursor cursor, int size);
+    
+    long writeByPaymentDateBetween(LocalDateTime startDate, LocalDateTime endDate, OutputStream out) throws IOException;
+}
@@ -0,0 +1,132 @@
+package com.vaccine.tracker.service;
+
+import com.vaccine.tracker.exception.AppException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Per-day cache of provider performance reports. The reports cover schedules
+ * up to the end of the previous day, so each provider's report and the
+ * leaderboard are computed at most once a day. The leaderboard aggregates every
+ * provider in one pass and seeds the per-provider entries along the way.
+ * Entries of earlier days are dropped on the first request of a new day.
+ * Concurrent requests for the same entry wait on a single computation, for at
+ * most the report cache's wait timeout.
+ * Cached reports are shared between callers and must not be modified.
+ */
+@Component
+public class ProviderReportCache {
+
+    private final Map<Long, CompletableFuture<Map<String, Object>>> providers = new ConcurrentHashMap<>();
+
+    private CompletableFuture<List<Map<String, Object>>> leaderboard;
+
+    private LocalDate day = LocalDate.now();
+
+    @Value("${app.reports.cache.wait-timeout-millis:30000}")
+    private long waitTimeoutMillis;
+
+    /**
+     * Get a provider's report for today, computing it if absent.
+     *
+     * @param providerId the provider id
+     * @param loader computes the report of a provider
+     * @return the report
+     */
+    public Map<String, Object> get(Long providerId, Function<Long, Map<String, Object>> loader) {
+        rollOver();
+        CompletableFuture<Map<String, Object>> created = new CompletableFuture<>();
+        CompletableFuture<Map<String, Object>> existing = providers.putIfAbsent(providerId, created);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            Map<String, Object> report = loader.apply(providerId);
+            created.complete(report);
+            return report;
+        } catch (Throwable e) {
+            // Do not cache failures; waiting callers see the same error and the next request retries.
+            // Errors are caught too, or the waiting callers would never be released
+            providers.remove(providerId, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Get today's leaderboard, computing it if absent.
+     *
+     * @param loader computes the reports of every provider
+     * @param providerId reads the provider id of a report, to seed the per-provider entries
+     * @return the reports of all providers
+     */
+    public List<Map<String, Object>> getLeaderboard(Supplier<List<Map<String, Object>>> loader,
+                                                    Function<Map<String, Object>, Long> providerId) {
+        rollOver();
+        CompletableFuture<List<Map<String, Object>>> created = new CompletableFuture<>();
+        CompletableFuture<List<Map<String, Object>>> existing;
+        synchronized (this) {
+            existing = leaderboard;
+            if (existing == null) {
+                leaderboard = created;
+            }
+        }
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            List<Map<String, Object>> reports = loader.get();
+            for (Map<String, Object> report : reports) {
+                providers.putIfAbsent(providerId.apply(report), CompletableFuture.completedFuture(report));
+            }
+            created.complete(reports);
+            return reports;
+        } catch (Throwable e) {
+            synchronized (this) {
+                if (leaderboard == created) {
+                    leaderboard = null;
+                }
+            }
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private synchronized void rollOver() {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(day)) {
+            providers.clear();
+            leaderboard = null;
+            day = today;
+        }
+    }
+
+    private <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new AppException("Failed to generate the provider report", e.getCause());
+        } catch (TimeoutException e) {
+            throw new AppException("Timed out after " + waitTimeoutMillis + " ms waiting for the provider report");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AppException("Interrupted while waiting for the provider report", e);
+        }
+    }
+}
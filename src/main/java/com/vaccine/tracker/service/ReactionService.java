@@ -1,7 +1,12 @@
 package com.vaccine.tracker.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
+import org.springframework.data.domain.Slice;
+
+import com.vaccine.tracker.dto.request.PageCursor;
 import com.vaccine.tracker.entity.Reaction;
 
 public interface ReactionService {
@@ -25,4 +30,8 @@ public interface ReactionService {
     void deleteReaction(Long id);
     
     List<Reaction> searchReactions(String keyword);
-}
\ No newline at end of file
+    
+    Slice<Reaction> findAllPage(PageCursor cursor, int size);
+    
+    long writeAll(OutputStream out) throws IOException;
+}
@@ -0,0 +1,249 @@
+package com.vaccine.tracker.service;
+
+import com.vaccine.tracker.dto.response.ReportResponse;
+import com.vaccine.tracker.exception.AppException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * Cache of generated reports keyed by report type and time bucket.
+ * Request times are floored to the bucket, so the dashboard's "last month up
+ * to now" maps to one entry for the whole bucket instead of one per request.
+ * Concurrent requests for the same key wait on a single computation rather
+ * than each running the report queries. Entries are dropped when rollup
+ * writes land on a day they cover, and otherwise live for the configured
+ * maximum age. A waiting caller gives up after the configured wait timeout.
+ * Cached reports are shared between callers and must not be modified.
+ */
+@Component
+public class ReportCache {
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @Value("${app.reports.cache.max-age-seconds:60}")
+    private long maxAgeSeconds;
+
+    @Value("${app.reports.cache.bucket-minutes:5}")
+    private long bucketMinutes;
+
+    @Value("${app.reports.cache.max-size:256}")
+    private int maxSize;
+
+    @Value("${app.reports.cache.wait-timeout-millis:30000}")
+    private long waitTimeoutMillis;
+
+    /**
+     * Get a report from the cache, computing it if absent or stale.
+     * The loader is called with the bucketed range and runs on the caller's thread;
+     * other callers asking for the same key meanwhile wait for its result.
+     *
+     * @param type the report type
+     * @param startDate the requested start time
+     * @param endDate the requested end time
+     * @param loader computes the report for a bucketed start and end time
+     * @return the report
+     */
+    public ReportResponse get(String type, LocalDateTime startDate, LocalDateTime endDate,
+                              BiFunction<LocalDateTime, LocalDateTime, ReportResponse> loader) {
+        Key key = new Key(type, toBucket(startDate), toBucket(endDate));
+        Entry created = new Entry(key);
+        Entry entry = entries.compute(key, (k, existing) ->
+                existing != null && !existing.isExpired(maxAgeNanos()) ? existing : created);
+
+        if (entry != created) {
+            if (entry.result.isDone()) {
+                hits.increment();
+            } else {
+                coalesced.increment();
+            }
+            return await(entry);
+        }
+
+        misses.increment();
+        if (entries.size() > maxSize) {
+            purge();
+        }
+
+        try {
+            ReportResponse report = loader.apply(key.startDate, key.endDate);
+            if (report.isPartial()) {
+                // Hand it to the callers already waiting, but let the next request try for a full report
+                entries.remove(key, created);
+            }
+            created.result.complete(report);
+            return report;
+        } catch (Throwable e) {
+            // Do not cache failures; waiting callers see the same error and the next request retries.
+            // Errors are caught too, or the waiting callers would never be released
+            entries.remove(key, created);
+            created.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Drop every cached report whose range overlaps the given days, now and again
+     * once the current transaction commits, so a report computed from the
+     * pre-commit state is not left behind.
+     *
+     * @param startDate the first changed day
+     * @param endDate the last changed day
+     */
+    public void invalidate(LocalDate startDate, LocalDate endDate) {
+        remove(startDate, endDate);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(startDate, endDate);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drop all cached reports.
+     */
+    public void clear() {
+        int size = entries.size();
+        entries.clear();
+        invalidations.add(size);
+    }
+
+    /**
+     * Get cache statistics.
+     *
+     * @return map of counter name to value
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("size", (long) entries.size());
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("coalesced", coalesced.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+
+    private void remove(LocalDate startDate, LocalDate endDate) {
+        Iterator<Entry> values = entries.values().iterator();
+        while (values.hasNext()) {
+            Key key = values.next().key;
+            if (!key.startDate.toLocalDate().isAfter(endDate) && !key.endDate.toLocalDate().isBefore(startDate)) {
+                values.remove();
+                invalidations.increment();
+            }
+        }
+    }
+
+    /**
+     * Drop expired entries, then arbitrary finished ones until the cache is back under its bound.
+     * Entries still being computed are kept so their waiters are not joined by a duplicate computation.
+     */
+    private void purge() {
+        long maxAgeNanos = maxAgeNanos();
+        entries.values().removeIf(entry -> entry.isExpired(maxAgeNanos));
+
+        Iterator<Entry> values = entries.values().iterator();
+        while (entries.size() > maxSize && values.hasNext()) {
+            if (values.next().result.isDone()) {
+                values.remove();
+            }
+        }
+    }
+
+    private LocalDateTime toBucket(LocalDateTime time) {
+        LocalDateTime minutes = time.truncatedTo(ChronoUnit.MINUTES);
+        if (bucketMinutes <= 1) {
+            return minutes;
+        }
+        long minuteOfDay = minutes.getHour() * 60L + minutes.getMinute();
+        return minutes.minusMinutes(minuteOfDay % bucketMinutes);
+    }
+
+    private long maxAgeNanos() {
+        return maxAgeSeconds * 1_000_000_000L;
+    }
+
+    private ReportResponse await(Entry entry) {
+        try {
+            return entry.result.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new AppException("Failed to generate the report", e.getCause());
+        } catch (TimeoutException e) {
+            throw new AppException("Timed out after " + waitTimeoutMillis + " ms waiting for the report");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AppException("Interrupted while waiting for the report", e);
+        }
+    }
+
+    private static final class Key {
+
+        private final String type;
+        private final LocalDateTime startDate;
+        private final LocalDateTime endDate;
+
+        private Key(String type, LocalDateTime startDate, LocalDateTime endDate) {
+            this.type = type;
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key other)) return false;
+            return type.equals(other.type) && startDate.equals(other.startDate) && endDate.equals(other.endDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, startDate, endDate);
+        }
+    }
+
+    private static final class Entry {
+
+        private final Key key;
+        private final CompletableFuture<ReportResponse> result = new CompletableFuture<>();
+        private final long createdAt = System.nanoTime();
+
+        private Entry(Key key) {
+            this.key = key;
+        }
+
+        /**
+         * An entry only expires once computed, so callers keep joining an in-flight computation.
+         */
+        private boolean isExpired(long maxAgeNanos) {
+            return result.isDone() && System.nanoTime() - createdAt > maxAgeNanos;
+        }
+    }
+}
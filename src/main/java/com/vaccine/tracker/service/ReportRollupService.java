@@ -0,0 +1,94 @@
+package com.vaccine.tracker.service;
+
+import com.vaccine.tracker.entity.Child;
+import com.vaccine.tracker.entity.DailyReportStat;
+import com.vaccine.tracker.entity.Payment;
+import com.vaccine.tracker.entity.Reaction;
+import com.vaccine.tracker.entity.Schedule;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service maintaining the daily report rollup.
+ * Write paths record each change to a schedule, child, reaction or payment here;
+ * the resulting deltas are written as part of the surrounding transaction when
+ * it commits, so the rollup and the change commit or roll back together.
+ */
+public interface ReportRollupService {
+    
+    /**
+     * Capture the rollup rows a schedule currently counts towards: its day, vaccine and status,
+     * and once completed its child's coverage cohort.
+     * Take these before modifying the schedule and pass them to {@link #recordChanges}.
+     * 
+     * @param schedule the schedule
+     * @return the schedule's rollup facts, empty if it has no date or vaccine yet
+     */
+    List<DailyReportStat> scheduleFacts(Schedule schedule);
+    
+    /**
+     * Capture the rollup rows a child currently counts towards: its birth month cohort,
+     * and the coverage cohort of each of its completed schedules.
+     * Take these before changing the child's birth date and pass them to {@link #recordChanges}.
+     * 
+     * @param child the child
+     * @return the child's rollup facts, empty if it has no birth date
+     */
+    List<DailyReportStat> childFacts(Child child);
+    
+    /**
+     * Capture the rollup row a reaction currently counts towards.
+     * 
+     * @param reaction the reaction
+     * @return the reaction's rollup fact, or null if it has no date or vaccination yet
+     */
+    DailyReportStat reactionFact(Reaction reaction);
+    
+    /**
+     * Record that an entity moved from one rollup fact to another.
+     * 
+     * @param before the fact before the change, or null for a newly created entity
+     * @param after the fact after the change, or null for a deleted entity
+     */
+    void recordChange(DailyReportStat before, DailyReportStat after);
+    
+    /**
+     * Record that an entity moved from one set of rollup facts to another.
+     * Facts present both before and after cancel out.
+     * 
+     * @param before the facts before the change, empty for a newly created entity
+     * @param after the facts after the change, empty for a deleted entity
+     */
+    void recordChanges(List<DailyReportStat> before, List<DailyReportStat> after);
+    
+    /**
+     * Record a payment status change. Revenue is counted while a payment is completed.
+     * 
+     * @param payment the payment after the change
+     * @param previousStatus the status before the change, or null for a new payment
+     */
+    void recordPaymentStatusChange(Payment payment, Payment.PaymentStatus previousStatus);
+    
+    /**
+     * Recompute the rollup for a date range from the schedule, child, reaction and payment tables.
+     * Birth month cohorts are rebuilt for the months whose first day falls in the range.
+     * Changes committed while the rebuild runs may be counted twice or not at all,
+     * so run it when writes are quiet and confirm with {@link #checkConsistency}.
+     * 
+     * @param startDate the first day to rebuild
+     * @param endDate the last day to rebuild
+     * @return the number of rollup rows written
+     */
+    int rebuild(LocalDate startDate, LocalDate endDate);
+    
+    /**
+     * Compare the rollup for a date range with the schedule, child, reaction and payment tables.
+     * 
+     * @param startDate the first day to check
+     * @param endDate the last day to check
+     * @return whether the rollup is consistent, the number of rows compared and the mismatches found
+     */
+    Map<String, Object> checkConsistency(LocalDate startDate, LocalDate endDate);
+}
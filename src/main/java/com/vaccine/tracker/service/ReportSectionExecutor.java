@@ -0,0 +1,127 @@
+package com.vaccine.tracker.service;
+
+import com.vaccine.tracker.enums.ReportSection;
+import com.vaccine.tracker.monitoring.SqlStatementCounter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs report sections concurrently, each on a virtual thread inside its own
+ * read-only transaction and therefore on its own connection. A section that
+ * fails or misses its deadline is cancelled and reported as missing, so the
+ * caller can return the remaining sections instead of failing the request.
+ * The number of sections holding a connection at once is bounded, so a burst
+ * of reports cannot drain the connection pool used by the rest of the application.
+ * Statements issued by a section count towards the submitting request's query budget.
+ */
+@Component
+public class ReportSectionExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportSectionExecutor.class);
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private SqlStatementCounter statementCounter;
+
+    @Value("${app.reports.sections.timeout-millis:3000}")
+    private long defaultTimeoutMillis;
+
+    @Value("${app.reports.sections.max-concurrent:4}")
+    private int maxConcurrent;
+
+    private ExecutorService executor;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private Semaphore connections;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("report-section-", 0).factory());
+        connections = new Semaphore(maxConcurrent);
+
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Start computing a section.
+     *
+     * @param section the section
+     * @param task computes the section; runs in a read-only transaction of its own
+     * @param <T> the result type
+     * @return the pending result
+     */
+    public <T> Future<T> submit(ReportSection section, Supplier<T> task) {
+        return executor.submit(statementCounter.propagate(() -> {
+            connections.acquire();
+            try {
+                return readOnlyTransaction.execute(status -> task.get());
+            } finally {
+                connections.release();
+            }
+        }));
+    }
+
+    /**
+     * Wait for a section until its deadline, measured from when the report started.
+     * The deadline is app.reports.sections.&lt;section&gt;.timeout-millis, falling back to
+     * app.reports.sections.timeout-millis.
+     *
+     * @param section the section
+     * @param result the pending result from {@link #submit}
+     * @param startedAt the {@link System#nanoTime()} at which the report started
+     * @param <T> the result type
+     * @return the section result, or null if it failed or missed its deadline
+     */
+    public <T> T await(ReportSection section, Future<T> result, long startedAt) {
+        long deadline = startedAt + TimeUnit.MILLISECONDS.toNanos(timeoutMillis(section));
+
+        try {
+            return result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            logger.warn("Report section {} missed its {} ms deadline", section, timeoutMillis(section));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+        } catch (ExecutionException e) {
+            logger.warn("Report section {} failed: {}", section, e.getCause().getMessage());
+        }
+        return null;
+    }
+
+    private long timeoutMillis(ReportSection section) {
+        return environment.getProperty("app.reports.sections." + section.name().toLowerCase() + ".timeout-millis",
+                Long.class, defaultTimeoutMillis);
+    }
+}
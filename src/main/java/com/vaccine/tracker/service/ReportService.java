@@ -1,8 +1,17 @@
 package com.vaccine.tracker.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
 import java.util.Map;
 
+import com.vaccine.tracker.dto.request.VaccinationExportRequest;
+import com.vaccine.tracker.dto.response.MonthlyReportResponse;
+import com.vaccine.tracker.dto.response.ReportResponse;
+
 public interface ReportService {
     
     // Get vaccination coverage statistics
@@ -15,17 +24,41 @@ public interface ReportService {
     Map<String, Object> getChildVaccinationStatusReport(Long childId);
     
     // Get monthly vaccination reports
-    Map<String, Object> getMonthlyVaccinationReport(int year, int month);
+    MonthlyReportResponse getMonthlyVaccinationReport(int year, int month);
+    
+    // Get monthly vaccination reports for a range of months, oldest first
+    List<MonthlyReportResponse> getMonthlyVaccinationReports(YearMonth from, YearMonth to);
     
     // Get provider performance report
     Map<String, Object> getProviderPerformanceReport(Long providerId);
     
+    // Get the performance reports of all providers, most completed schedules first
+    List<Map<String, Object>> getProviderLeaderboard();
+    
     // Get vaccine inventory report
     Map<String, Object> getVaccineInventoryReport();
     
     // Get missed appointments report
     Map<String, Object> getMissedAppointmentsReport();
     
-    // Export vaccination data to CSV
-    String exportVaccinationDataToCsv();
+    // Generate the schedule section: counts by status and by vaccine
+    ReportResponse generateScheduleReport(LocalDateTime startDate, LocalDateTime endDate);
+    
+    // Generate the vaccine section: administered doses by vaccine and type
+    ReportResponse generateVaccineReport(LocalDateTime startDate, LocalDateTime endDate);
+    
+    // Generate the revenue section: completed payments by month and vaccine
+    ReportResponse generateRevenueReport(LocalDateTime startDate, LocalDateTime endDate);
+    
+    // Generate the customer section: customer counts, ratings and recent feedback
+    ReportResponse generateCustomerReport(LocalDateTime startDate, LocalDateTime endDate);
+    
+    // Generate the reaction section: reactions by severity and vaccine
+    ReportResponse generateReactionReport(LocalDateTime startDate, LocalDateTime endDate);
+    
+    // Generate a report with every section
+    ReportResponse generateComprehensiveReport(LocalDateTime startDate, LocalDateTime endDate);
+    
+    // Stream vaccination data as CSV to the output; returns the number of rows written
+    long exportVaccinationDataToCsv(VaccinationExportRequest request, OutputStream out) throws IOException;
 }
\ No newline at end of file
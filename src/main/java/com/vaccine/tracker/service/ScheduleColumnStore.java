@@ -0,0 +1,578 @@
+package com.vaccine.tracker.service;
+
+import com.vaccine.tracker.entity.Schedule;
+import com.vaccine.tracker.entity.Schedule.ScheduleStatus;
+import com.vaccine.tracker.repository.ScheduleRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory, column-oriented copy of the schedule facts that reports group by:
+ * vaccine, child birth day, scheduled day, status and provider, one primitive
+ * array per column. Rows are kept sorted by scheduled day, so a date range is
+ * found by binary search and counted with plain loops over the arrays, without
+ * touching the database.
+ *
+ * <p>Written schedules are appended to an unsorted tail once their transaction
+ * commits; a schedule whose day changes is marked deleted in the sorted part and
+ * appended again. The tail and deleted rows are folded back into the sorted part
+ * once they grow past a fraction of it. Loaded from the database while the
+ * context starts; a child's corrected birth date is picked up on the next start.
+ */
+@Component
+public class ScheduleColumnStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleColumnStore.class);
+
+    // Status column value of a deleted row
+    private static final byte DELETED = -1;
+
+    // Status filter that matches every live row
+    private static final int ANY_STATUS = -2;
+
+    // Status of each status column value; see statusCode
+    private static final ScheduleStatus[] STATUS_BY_CODE = {
+            ScheduleStatus.SCHEDULED, ScheduleStatus.COMPLETED, ScheduleStatus.MISSED, ScheduleStatus.POSTPONED
+    };
+
+    // Column value for a missing provider or birth date
+    private static final int NONE = 0;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    // Ids up to this value are counted in an array indexed by id rather than a map
+    private static final int DENSE_KEY_LIMIT = 1 << 16;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.reports.schedule-columns.load-on-startup:true}")
+    private boolean loadOnStartup;
+
+    @Value("${app.reports.schedule-columns.min-tail-rows:1024}")
+    private int minTailRows;
+
+    // Columns; rows [0, sortedSize) are sorted by schedule day, rows [sortedSize, size) are the unsorted tail
+    private long[] ids = new long[0];
+    private int[] vaccineIds = new int[0];
+    private int[] birthDays = new int[0];
+    private int[] scheduleDays = new int[0];
+    private byte[] statuses = new byte[0];
+    private int[] providerIds = new int[0];
+
+    private int size;
+    private int sortedSize;
+    private int deletedCount;
+    private int maxVaccineId;
+    private int maxProviderId;
+
+    // (id << 32 | row) for every row of the sorted part, in ascending order
+    private long[] idIndex = new long[0];
+
+    @PostConstruct
+    public void load() {
+        if (!loadOnStartup) {
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        lock.writeLock().lock();
+        try {
+            clear();
+            transaction.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = scheduleRepository.streamColumnRows()) {
+                    rows.forEach(row -> append(
+                            ((Number) row[0]).longValue(),
+                            toId(row[1]),
+                            row[2] != null ? toEpochDay(row[2]) : NO_DATE,
+                            toEpochDay(row[3]),
+                            statusCode((ScheduleStatus) row[4]),
+                            row[5] != null ? toId(row[5]) : NONE));
+                }
+            });
+            // Rows arrive in date order, so the whole load is already sorted
+            sortedSize = size;
+            rebuildIdIndex();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        logger.info("Loaded {} schedules into the schedule column store in {} ms",
+                size, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * Record the current state of a created or updated schedule once the current transaction commits.
+     *
+     * @param schedule the saved schedule
+     */
+    public void record(Schedule schedule) {
+        if (schedule == null || schedule.getId() == null || schedule.getScheduledDate() == null
+                || schedule.getVaccine() == null || schedule.getStatus() == null) {
+            return;
+        }
+
+        // Read the values now; the entity may be changed or detached by the time the transaction commits
+        long id = schedule.getId();
+        int vaccineId = Math.toIntExact(schedule.getVaccine().getId());
+        int birthDay = schedule.getChild() != null && schedule.getChild().getDateOfBirth() != null
+                ? (int) schedule.getChild().getDateOfBirth().toEpochDay() : NO_DATE;
+        int scheduleDay = (int) schedule.getScheduledDate().toEpochDay();
+        byte status = statusCode(schedule.getStatus());
+        int providerId = schedule.getProvider() != null ? Math.toIntExact(schedule.getProvider().getId()) : NONE;
+
+        afterCommit(() -> upsert(id, vaccineId, birthDay, scheduleDay, status, providerId));
+    }
+
+    /**
+     * Record a status change made by a bulk update once the current transaction commits.
+     * Only the status column changes, so the rows keep their place in the sort order.
+     *
+     * @param ids the changed schedule ids
+     * @param status the new status
+     */
+    public void recordStatus(Collection<Long> ids, ScheduleStatus status) {
+        long[] changed = ids.stream().mapToLong(Long::longValue).toArray();
+        byte value = statusCode(status);
+
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                for (long id : changed) {
+                    int row = find(id);
+                    if (row >= 0) {
+                        statuses[row] = value;
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Remove a deleted schedule once the current transaction commits.
+     *
+     * @param id the schedule id
+     */
+    public void remove(long id) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                int row = find(id);
+                if (row >= 0) {
+                    markDeleted(row);
+                    compactIfNeeded();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Count schedules per status.
+     *
+     * @param from the first scheduled day
+     * @param to the last scheduled day
+     * @return map of status to count; statuses without schedules are left out
+     */
+    public Map<ScheduleStatus, Long> countByStatus(LocalDate from, LocalDate to) {
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        long[] counts = new long[STATUS_BY_CODE.length];
+
+        lock.readLock().lock();
+        try {
+            for (int row = lowerBound(fromDay), end = lowerBound(toDay + 1); row < end; row++) {
+                byte status = statuses[row];
+                if (status != DELETED) {
+                    counts[status]++;
+                }
+            }
+            for (int row = sortedSize; row < size; row++) {
+                byte status = statuses[row];
+                if (status != DELETED && scheduleDays[row] >= fromDay && scheduleDays[row] <= toDay) {
+                    counts[status]++;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<ScheduleStatus, Long> result = new EnumMap<>(ScheduleStatus.class);
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] != 0) {
+                result.put(STATUS_BY_CODE[code], counts[code]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Count schedules per vaccine.
+     *
+     * @param from the first scheduled day
+     * @param to the last scheduled day
+     * @param status only count schedules in this status, or null for all
+     * @return map of vaccine id to count
+     */
+    public Map<Long, Long> countByVaccine(LocalDate from, LocalDate to, ScheduleStatus status) {
+        lock.readLock().lock();
+        try {
+            return countByKey(vaccineIds, maxVaccineId, from, to, status);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count schedules per provider; schedules without a provider are left out.
+     *
+     * @param from the first scheduled day
+     * @param to the last scheduled day
+     * @param status only count schedules in this status, or null for all
+     * @return map of provider user id to count
+     */
+    public Map<Long, Long> countByProvider(LocalDate from, LocalDate to, ScheduleStatus status) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Long> counts = countByKey(providerIds, maxProviderId, from, to, status);
+            counts.remove((long) NONE);
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count schedules per age group of the child on the scheduled day.
+     * Schedules of children without a birth date are left out.
+     *
+     * @param from the first scheduled day
+     * @param to the last scheduled day
+     * @param upperBoundsDays exclusive upper bound of each age group in days, ascending;
+     *                        ages past the last bound fall into one more, open-ended group
+     * @return counts per group, one longer than the bounds
+     */
+    public long[] countByAgeGroup(LocalDate from, LocalDate to, int[] upperBoundsDays) {
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        long[] counts = new long[upperBoundsDays.length + 1];
+
+        lock.readLock().lock();
+        try {
+            for (int row = lowerBound(fromDay), end = lowerBound(toDay + 1); row < end; row++) {
+                if (statuses[row] != DELETED && birthDays[row] != NO_DATE) {
+                    counts[ageGroup(scheduleDays[row] - birthDays[row], upperBoundsDays)]++;
+                }
+            }
+            for (int row = sortedSize; row < size; row++) {
+                if (statuses[row] != DELETED && birthDays[row] != NO_DATE
+                        && scheduleDays[row] >= fromDay && scheduleDays[row] <= toDay) {
+                    counts[ageGroup(scheduleDays[row] - birthDays[row], upperBoundsDays)]++;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return counts;
+    }
+
+    /**
+     * Get the number of live schedules held.
+     *
+     * @return the row count, excluding deleted rows
+     */
+    public int getSize() {
+        lock.readLock().lock();
+        try {
+            return size - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Long> countByKey(int[] keys, int maxKey, LocalDate from, LocalDate to, ScheduleStatus status) {
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        int wanted = status != null ? statusCode(status) : ANY_STATUS;
+        int start = lowerBound(fromDay);
+        int end = lowerBound(toDay + 1);
+
+        if (maxKey < DENSE_KEY_LIMIT) {
+            long[] counts = new long[maxKey + 1];
+            for (int row = start; row < end; row++) {
+                if (statuses[row] != DELETED && (wanted == ANY_STATUS || statuses[row] == wanted)) {
+                    counts[keys[row]]++;
+                }
+            }
+            for (int row = sortedSize; row < size; row++) {
+                if (statuses[row] != DELETED && (wanted == ANY_STATUS || statuses[row] == wanted)
+                        && scheduleDays[row] >= fromDay && scheduleDays[row] <= toDay) {
+                    counts[keys[row]]++;
+                }
+            }
+
+            Map<Long, Long> result = new LinkedHashMap<>();
+            for (int key = 0; key < counts.length; key++) {
+                if (counts[key] != 0) {
+                    result.put((long) key, counts[key]);
+                }
+            }
+            return result;
+        }
+
+        Map<Long, Long> result = new HashMap<>();
+        for (int row = start; row < end; row++) {
+            if (statuses[row] != DELETED && (wanted == ANY_STATUS || statuses[row] == wanted)) {
+                result.merge((long) keys[row], 1L, Long::sum);
+            }
+        }
+        for (int row = sortedSize; row < size; row++) {
+            if (statuses[row] != DELETED && (wanted == ANY_STATUS || statuses[row] == wanted)
+                    && scheduleDays[row] >= fromDay && scheduleDays[row] <= toDay) {
+                result.merge((long) keys[row], 1L, Long::sum);
+            }
+        }
+        return result;
+    }
+
+    private void upsert(long id, int vaccineId, int birthDay, int scheduleDay, byte status, int providerId) {
+        lock.writeLock().lock();
+        try {
+            int row = find(id);
+            if (row >= 0 && (row >= sortedSize || scheduleDays[row] == scheduleDay)) {
+                // Same place in the sort order, or in the unsorted tail: overwrite in place
+                vaccineIds[row] = vaccineId;
+                birthDays[row] = birthDay;
+                scheduleDays[row] = scheduleDay;
+                statuses[row] = status;
+                providerIds[row] = providerId;
+                maxVaccineId = Math.max(maxVaccineId, vaccineId);
+                maxProviderId = Math.max(maxProviderId, providerId);
+                return;
+            }
+            if (row >= 0) {
+                markDeleted(row);
+            }
+            append(id, vaccineId, birthDay, scheduleDay, status, providerId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void append(long id, int vaccineId, int birthDay, int scheduleDay, byte status, int providerId) {
+        if (size == ids.length) {
+            grow(Math.max(16, size + (size >> 1)));
+        }
+        ids[size] = id;
+        vaccineIds[size] = vaccineId;
+        birthDays[size] = birthDay;
+        scheduleDays[size] = scheduleDay;
+        statuses[size] = status;
+        providerIds[size] = providerId;
+        maxVaccineId = Math.max(maxVaccineId, vaccineId);
+        maxProviderId = Math.max(maxProviderId, providerId);
+        size++;
+    }
+
+    private void markDeleted(int row) {
+        if (statuses[row] != DELETED) {
+            statuses[row] = DELETED;
+            deletedCount++;
+        }
+    }
+
+    /**
+     * Fold the tail into the sorted part and drop deleted rows once either
+     * grows past 1/16 of the sorted part, so range scans stay mostly binary-searched.
+     */
+    private void compactIfNeeded() {
+        int threshold = Math.max(minTailRows, sortedSize >> 4);
+        if (size - sortedSize <= threshold && deletedCount <= threshold) {
+            return;
+        }
+
+        // Sort live rows by (schedule day, row); the row number fits in the low 32 bits
+        long[] order = new long[size - deletedCount];
+        int live = 0;
+        for (int row = 0; row < size; row++) {
+            if (statuses[row] != DELETED) {
+                order[live++] = ((long) scheduleDays[row] << 32) | row;
+            }
+        }
+        Arrays.sort(order);
+
+        long[] newIds = new long[live];
+        int[] newVaccineIds = new int[live];
+        int[] newBirthDays = new int[live];
+        int[] newScheduleDays = new int[live];
+        byte[] newStatuses = new byte[live];
+        int[] newProviderIds = new int[live];
+        for (int i = 0; i < live; i++) {
+            int row = (int) order[i];
+            newIds[i] = ids[row];
+            newVaccineIds[i] = vaccineIds[row];
+            newBirthDays[i] = birthDays[row];
+            newScheduleDays[i] = scheduleDays[row];
+            newStatuses[i] = statuses[row];
+            newProviderIds[i] = providerIds[row];
+        }
+
+        ids = newIds;
+        vaccineIds = newVaccineIds;
+        birthDays = newBirthDays;
+        scheduleDays = newScheduleDays;
+        statuses = newStatuses;
+        providerIds = newProviderIds;
+        size = live;
+        sortedSize = live;
+        deletedCount = 0;
+        rebuildIdIndex();
+    }
+
+    private void rebuildIdIndex() {
+        long[] index = new long[sortedSize];
+        for (int row = 0; row < sortedSize; row++) {
+            // Schedule ids come from a sequence and stay far below 2^31
+            index[row] = (ids[row] << 32) | row;
+        }
+        Arrays.sort(index);
+        idIndex = index;
+    }
+
+    /**
+     * Find the row holding a schedule: binary search in the sorted part, linear scan of the tail.
+     */
+    private int find(long id) {
+        int position = Arrays.binarySearch(idIndex, id << 32);
+        if (position < 0) {
+            position = -position - 1;
+        }
+        for (; position < idIndex.length && (idIndex[position] >>> 32) == id; position++) {
+            int row = (int) idIndex[position];
+            if (statuses[row] != DELETED) {
+                return row;
+            }
+        }
+        for (int row = size - 1; row >= sortedSize; row--) {
+            if (ids[row] == id && statuses[row] != DELETED) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * First row of the sorted part scheduled on or after the given day.
+     */
+    private int lowerBound(int day) {
+        int low = 0;
+        int high = sortedSize;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (scheduleDays[mid] < day) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        vaccineIds = Arrays.copyOf(vaccineIds, capacity);
+        birthDays = Arrays.copyOf(birthDays, capacity);
+        scheduleDays = Arrays.copyOf(scheduleDays, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        providerIds = Arrays.copyOf(providerIds, capacity);
+    }
+
+    private void clear() {
+        ids = new long[0];
+        vaccineIds = new int[0];
+        birthDays = new int[0];
+        scheduleDays = new int[0];
+        statuses = new byte[0];
+        providerIds = new int[0];
+        idIndex = new long[0];
+        size = 0;
+        sortedSize = 0;
+        deletedCount = 0;
+        maxVaccineId = 0;
+        maxProviderId = 0;
+    }
+
+    /**
+     * Status column value of a status, mapped explicitly so the column never depends on declaration order.
+     */
+    private static byte statusCode(ScheduleStatus status) {
+        return switch (status) {
+            case SCHEDULED -> 0;
+            case COMPLETED -> 1;
+            case MISSED -> 2;
+            case POSTPONED -> 3;
+        };
+    }
+
+    private static int ageGroup(int ageDays, int[] upperBoundsDays) {
+        int group = 0;
+        while (group < upperBoundsDays.length && ageDays >= upperBoundsDays[group]) {
+            group++;
+        }
+        return group;
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private static int toId(Object value) {
+        return Math.toIntExact(((Number) value).longValue());
+    }
+
+    private static int toEpochDay(Object value) {
+        if (value instanceof LocalDate date) {
+            return (int) date.toEpochDay();
+        }
+        return (int) ((LocalDateTime) value).toLocalDate().toEpochDay();
+    }
+}
@@ -1,9 +1,15 @@
 package com.vaccine.tracker.service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Slice;
+
+import com.vaccine.tracker.dto.request.PageCursor;
+import com.vaccine.tracker.dto.response.ScheduleSummaryResponse;
 import com.vaccine.tracker.entity.Schedule;
+import com.vaccine.tracker.enums.ScheduleStatus;
 
 public interface ScheduleService {
     
@@ -30,4 +36,14 @@ public interface ScheduleService {
     List<Schedule> getUpcomingSchedules(Long parentId);
     
     List<Schedule> getOverdueSchedules(Long parentId);
-}
\ No newline at end of file
+    
+    Slice<ScheduleSummaryResponse> findPageByParentId(Long parentId, PageCursor cursor, int size);
+    
+    List<ScheduleSummaryResponse> findSummariesByChildId(Long childId);
+    
+    List<ScheduleSummaryResponse> findUpcomingSummariesForChild(Long childId);
+    
+    List<ScheduleSummaryResponse> findSummariesByStatus(ScheduleStatus status);
+    
+    List<ScheduleSummaryResponse> findSummariesByDateRange(LocalDateTime startDate, LocalDateTime endDate);
+}
@@ -0,0 +1,56 @@
+package com.vaccine.tracker.service;
+
+import java.text.Normalizer;
+
+/**
+ * Text folding shared by the in-memory search indexes.
+ */
+public final class SearchText {
+
+    // Vietnamese d with stroke has no canonical decomposition, so it is mapped by hand
+    private static final char SMALL_D_WITH_STROKE = '\u0111';
+    private static final char CAPITAL_D_WITH_STROKE = '\u0110';
+
+    private SearchText() {
+    }
+
+    /**
+     * Fold text for matching: strip diacritics, lower-case, and reduce every run of
+     * characters that are not letters or digits to a single space.
+     * "Nguyễn Văn Đức" folds to "nguyen van duc".
+     *
+     * @param text the text, may be null
+     * @return the folded text, empty if it has no letters or digits
+     */
+    public static String fold(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        boolean separated = true;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (c == SMALL_D_WITH_STROKE || c == CAPITAL_D_WITH_STROKE) {
+                c = 'd';
+            }
+            if (Character.isLetterOrDigit(c)) {
+                folded.append(Character.toLowerCase(c));
+                separated = false;
+            } else if (!separated) {
+                folded.append(' ');
+                separated = true;
+            }
+        }
+
+        int length = folded.length();
+        if (length > 0 && folded.charAt(length - 1) == ' ') {
+            folded.setLength(length - 1);
+        }
+        return folded.toString();
+    }
+}
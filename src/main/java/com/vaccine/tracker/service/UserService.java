@@ -4,7 +4,10 @@ import java.util.List;
 import java.util.Optional;
 
 import com.vaccine.tracker.dto.RegisterRequest;
+import com.vaccine.tracker.dto.request.PageCursor;
 import com.vaccine.tracker.entity.User;
+import com.vaccine.tracker.security.UserPrincipal;
+import org.springframework.data.domain.Slice;
 
 public interface UserService {
     
@@ -12,6 +15,8 @@ public interface UserService {
     
     User getCurrentUser();
     
+    UserPrincipal getCurrentPrincipal();
+    
     User getUserById(Long id);
     
     List<User> getAllUsers();
@@ -29,4 +34,8 @@ public interface UserService {
     Optional<User> findByUsername(String username);
     
     Optional<User> findByEmail(String email);
-}
\ No newline at end of file
+    
+    void updateLastLogin(String username);
+    
+    Slice<User> findAllPage(PageCursor cursor, int size);
+}
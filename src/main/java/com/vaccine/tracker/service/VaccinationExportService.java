@@ -0,0 +1,23 @@
+package com.vaccine.tracker.service;
+
+import com.vaccine.tracker.dto.request.VaccinationExportRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service for exporting the vaccination registry.
+ */
+public interface VaccinationExportService {
+    
+    /**
+     * Write vaccinations as CSV to the output, streaming rows from the database.
+     * Memory use does not depend on the number of rows exported.
+     * 
+     * @param request the columns, date range, partitioning and compression to use
+     * @param out the output to write to; flushed but not closed
+     * @return the number of rows written
+     * @throws IOException if writing fails
+     */
+    long exportCsv(VaccinationExportRequest request, OutputStream out) throws IOException;
+}
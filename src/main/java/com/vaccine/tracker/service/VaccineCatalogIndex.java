@@ -0,0 +1,250 @@
+package com.vaccine.tracker.service;
+
+import com.vaccine.tracker.dto.response.VaccineResponse;
+import com.vaccine.tracker.entity.Vaccine;
+import com.vaccine.tracker.mapper.VaccineMapper;
+import com.vaccine.tracker.repository.VaccineRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * In-memory search structure over the vaccine catalog for typeahead lookups,
+ * which never touch the database. Names and manufacturers go into prefix tries,
+ * one entry per word start, so "biont" finds "Pfizer-BioNTech". Descriptions go
+ * into a sorted token index, where every query word must match a token and the
+ * last word may be a prefix. All text is folded with {@link SearchText#fold}.
+ *
+ * <p>The catalog is small and changes rarely, so every committed create, update
+ * or delete rebuilds the whole structure from the database and swaps it in
+ * atomically; lookups always see one complete catalog. Built while the context
+ * starts. Returned responses are shared between callers and must not be modified.
+ */
+@Component
+public class VaccineCatalogIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(VaccineCatalogIndex.class);
+
+    // Match ranks, best first
+    private static final int NAME_START = 0;
+    private static final int NAME_WORD = 1;
+    private static final int MANUFACTURER = 2;
+    private static final int DESCRIPTION = 3;
+
+    @Autowired
+    private VaccineRepository vaccineRepository;
+
+    @Autowired
+    private VaccineMapper vaccineMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readTransaction;
+
+    private volatile Catalog catalog = new Catalog(List.of());
+
+    @PostConstruct
+    public void init() {
+        // Rebuilds run after the writing transaction has committed, so they need one of their own
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        rebuild();
+    }
+
+    /**
+     * Rebuild the catalog once the current transaction commits, so the change it made is included.
+     */
+    public void rebuildAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuild();
+                }
+            });
+        } else {
+            rebuild();
+        }
+    }
+
+    /**
+     * Find the vaccines matching a query: name matches first, then manufacturer, then description.
+     *
+     * @param query the text typed so far
+     * @param limit the maximum number of results
+     * @return the matching vaccines, best first
+     */
+    public List<VaccineResponse> search(String query, int limit) {
+        String folded = SearchText.fold(query);
+        if (folded.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        return catalog.search(folded, limit);
+    }
+
+    public int getSize() {
+        return catalog.vaccines.size();
+    }
+
+    /**
+     * Serialized so that the last rebuild to finish always read the latest committed catalog.
+     */
+    private synchronized void rebuild() {
+        long startedAt = System.nanoTime();
+        try {
+            List<VaccineResponse> vaccines = readTransaction.execute(status -> {
+                List<VaccineResponse> responses = new ArrayList<>();
+                for (Vaccine vaccine : vaccineRepository.findAll()) {
+                    responses.add(vaccineMapper.toVaccineResponse(vaccine));
+                }
+                return responses;
+            });
+            catalog = new Catalog(vaccines);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to rebuild the vaccine catalog index, keeping the previous one: {}", e.getMessage());
+            return;
+        }
+
+        logger.info("Rebuilt the vaccine catalog index with {} vaccines in {} ms",
+                catalog.vaccines.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * One immutable build of the catalog.
+     */
+    private static final class Catalog {
+
+        private final Map<Long, VaccineResponse> vaccines = new HashMap<>();
+        private final Map<Long, String> foldedNames = new HashMap<>();
+        private final TrieNode names = new TrieNode();
+        private final TrieNode manufacturers = new TrieNode();
+        private final NavigableMap<String, Set<Long>> descriptionTokens = new TreeMap<>();
+
+        private Catalog(List<VaccineResponse> responses) {
+            for (VaccineResponse vaccine : responses) {
+                Long id = vaccine.getId();
+                vaccines.put(id, vaccine);
+
+                String name = SearchText.fold(vaccine.getName());
+                foldedNames.put(id, name);
+                insertWordStarts(names, name, id);
+                insertWordStarts(manufacturers, SearchText.fold(vaccine.getManufacturer()), id);
+
+                String description = SearchText.fold(vaccine.getDescription());
+                if (!description.isEmpty()) {
+                    for (String token : description.split(" ")) {
+                        descriptionTokens.computeIfAbsent(token, key -> new HashSet<>()).add(id);
+                    }
+                }
+            }
+        }
+
+        private List<VaccineResponse> search(String query, int limit) {
+            Map<Long, Integer> ranks = new HashMap<>();
+            for (Long id : names.find(query)) {
+                ranks.put(id, foldedNames.get(id).startsWith(query) ? NAME_START : NAME_WORD);
+            }
+            for (Long id : manufacturers.find(query)) {
+                ranks.putIfAbsent(id, MANUFACTURER);
+            }
+            for (Long id : findInDescriptions(query)) {
+                ranks.putIfAbsent(id, DESCRIPTION);
+            }
+
+            List<Long> ranked = new ArrayList<>(ranks.keySet());
+            ranked.sort(Comparator.comparingInt((Long id) -> ranks.get(id))
+                    .thenComparing(id -> foldedNames.get(id))
+                    .thenComparing(id -> id));
+
+            List<VaccineResponse> result = new ArrayList<>(Math.min(limit, ranked.size()));
+            for (Long id : ranked.subList(0, Math.min(limit, ranked.size()))) {
+                result.add(vaccines.get(id));
+            }
+            return result;
+        }
+
+        private Set<Long> findInDescriptions(String query) {
+            String[] words = query.split(" ");
+            Set<Long> matches = null;
+            for (int i = 0; i < words.length; i++) {
+                Set<Long> wordMatches = new HashSet<>();
+                if (i < words.length - 1) {
+                    wordMatches.addAll(descriptionTokens.getOrDefault(words[i], Set.of()));
+                } else {
+                    // The last word is still being typed, so it matches every token it starts
+                    for (Set<Long> ids : descriptionTokens.subMap(words[i], true, words[i] + Character.MAX_VALUE, false)
+                            .values()) {
+                        wordMatches.addAll(ids);
+                    }
+                }
+                if (matches == null) {
+                    matches = wordMatches;
+                } else {
+                    matches.retainAll(wordMatches);
+                }
+                if (matches.isEmpty()) {
+                    break;
+                }
+            }
+            return matches;
+        }
+
+        /**
+         * Insert the text from each word start, so a prefix of any word, continued across
+         * the following words, leads to the vaccine.
+         */
+        private static void insertWordStarts(TrieNode root, String text, Long id) {
+            for (int start = 0; start < text.length(); start++) {
+                if (start == 0 || text.charAt(start - 1) == ' ') {
+                    root.insert(text, start, id);
+                }
+            }
+        }
+    }
+
+    /**
+     * Prefix trie node; every node holds the ids of all vaccines below it, so a lookup
+     * costs the length of the prefix.
+     */
+    private static final class TrieNode {
+
+        private final Map<Character, TrieNode> children = new HashMap<>();
+        private final Set<Long> ids = new TreeSet<>();
+
+        private void insert(String text, int start, Long id) {
+            TrieNode node = this;
+            for (int i = start; i < text.length(); i++) {
+                node = node.children.computeIfAbsent(text.charAt(i), key -> new TrieNode());
+                node.ids.add(id);
+            }
+        }
+
+        private Set<Long> find(String prefix) {
+            TrieNode node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            return node != null ? node.ids : Set.of();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.vaccine.tracker.service;
 
 import java.util.List;
 
+import com.vaccine.tracker.dto.response.VaccineResponse;
 import com.vaccine.tracker.entity.Vaccine;
 
 public interface VaccineService {
@@ -18,5 +19,8 @@ public interface VaccineService {
     
     List<Vaccine> searchVaccines(String keyword);
     
+    // Typeahead over the in-memory catalog index; never reads the database
+    List<VaccineResponse> typeahead(String query, int limit);
+    
     List<Vaccine> getRecommendedVaccinesForAge(int ageInMonths);
 }
\ No newline at end of file
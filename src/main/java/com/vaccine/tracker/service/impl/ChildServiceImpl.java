@@ -1,23 +1,34 @@
 package com.vaccine.tracker.service.impl;
 
+import com.vaccine.tracker.constant.SearchConstants;
 import com.vaccine.tracker.dto.request.ChildRequest;
+import com.vaccine.tracker.dto.request.PageCursor;
 import com.vaccine.tracker.entity.Child;
+import com.vaccine.tracker.entity.DailyReportStat;
 import com.vaccine.tracker.entity.User;
 import com.vaccine.tracker.enums.Role;
 import com.vaccine.tracker.exception.BadRequestException;
-import com.vaccine.tracker.exception.ResourceNotFoundException;
 import com.vaccine.tracker.exception.UnauthorizedException;
 import com.vaccine.tracker.mapper.ChildMapper;
 import com.vaccine.tracker.repository.ChildRepository;
+import com.vaccine.tracker.security.AccessPolicy;
+import com.vaccine.tracker.security.UserPrincipal;
+import com.vaccine.tracker.service.ChildNameIndex;
 import com.vaccine.tracker.service.ChildService;
+import com.vaccine.tracker.service.ReportRollupService;
 import com.vaccine.tracker.service.UserService;
 import com.vaccine.tracker.validator.ChildValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Implementation of ChildService interface.
@@ -28,6 +39,9 @@ public class ChildServiceImpl implements ChildService {
     @Autowired
     private ChildRepository childRepository;
     
+    @Autowired
+    private AccessPolicy accessPolicy;
+    
     @Autowired
     private UserService userService;
     
@@ -37,17 +51,15 @@ public class ChildServiceImpl implements ChildService {
     @Autowired
     private ChildValidator childValidator;
     
+    @Autowired
+    private ReportRollupService reportRollupService;
+    
+    @Autowired
+    private ChildNameIndex childNameIndex;
+    
     @Override
     public Child findById(Long id) {
-        Child child = childRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Child not found with id: " + id));
-        
-        // Check permission
-        if (!hasPermission(id)) {
-            throw new UnauthorizedException("You don't have permission to access this child's data");
-        }
-        
-        return child;
+        return accessPolicy.loadChild(id);
     }
     
     @Override
@@ -57,7 +69,7 @@ public class ChildServiceImpl implements ChildService {
     
     @Override
     public List<Child> findByParentId(Long parentId) {
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         
         // If the current user is staff or admin, or is accessing their own children, allow access
         if (currentUser.getRole() == Role.ROLE_ADMIN || 
@@ -69,6 +81,19 @@ public class ChildServiceImpl implements ChildService {
         }
     }
     
+    @Override
+    public Slice<Child> findPageByParentId(Long parentId, PageCursor cursor, int size) {
+        if (!userService.getCurrentPrincipal().canAccessParent(parentId)) {
+            throw new UnauthorizedException("You don't have permission to access these children");
+        }
+        
+        if (cursor == null) {
+            return childRepository.findFirstPageByParentId(parentId, PageCursor.limit(size));
+        }
+        return childRepository.findPageByParentIdAfter(
+                parentId, cursor.getKey(), cursor.getId(), PageCursor.limit(size));
+    }
+    
     @Override
     @Transactional
     public Child create(ChildRequest childRequest, Long parentId) {
@@ -78,7 +103,7 @@ public class ChildServiceImpl implements ChildService {
         User parent = userService.findById(parentId);
         
         // Check if current user is authorized to create a child for this parent
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         if (!currentUser.getRole().equals(Role.ROLE_ADMIN) && !currentUser.getId().equals(parentId)) {
             throw new UnauthorizedException("You are not authorized to create a child for this parent");
         }
@@ -95,7 +120,10 @@ public class ChildServiceImpl implements ChildService {
         Child child = childMapper.toChild(childRequest);
         child.setParent(parent);
         
-        return childRepository.save(child);
+        Child saved = childRepository.save(child);
+        reportRollupService.recordChanges(List.of(), reportRollupService.childFacts(saved));
+        childNameIndex.record(saved);
+        return saved;
     }
     
     @Override
@@ -104,104 +132,91 @@ public class ChildServiceImpl implements ChildService {
         // Validate the request
         childValidator.validate(childRequest);
         
+        // Loading through findById already enforces the permission check
         Child child = findById(id);
         
-        // Check if current user has permission to update this child
-        if (!hasPermission(id)) {
-            throw new UnauthorizedException("You don't have permission to update this child's data");
-        }
+        // A new birth date moves the child and its completed doses to another coverage cohort
+        boolean birthDateChanged = !Objects.equals(child.getDateOfBirth(), childRequest.getDateOfBirth());
+        List<DailyReportStat> before = birthDateChanged ? reportRollupService.childFacts(child) : List.of();
         
         // Update child properties
         childMapper.updateChildFromRequest(child, childRequest);
         
-        return childRepository.save(child);
+        Child saved = childRepository.save(child);
+        if (birthDateChanged) {
+            reportRollupService.recordChanges(before, reportRollupService.childFacts(saved));
+        }
+        childNameIndex.record(saved);
+        return saved;
     }
     
     @Override
     @Transactional
     public void delete(Long id) {
+        // Loading through findById already enforces the permission check
         Child child = findById(id);
         
-        // Check if current user has permission to delete this child
-        if (!hasPermission(id)) {
-            throw new UnauthorizedException("You don't have permission to delete this child");
-        }
-        
+        reportRollupService.recordChanges(reportRollupService.childFacts(child), List.of());
+        childNameIndex.remove(id);
         childRepository.delete(child);
     }
     
     @Override
     public List<Child> findAll() {
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         
         // Only staff and admin can see all children
         if (currentUser.getRole() == Role.ROLE_ADMIN || currentUser.getRole() == Role.ROLE_STAFF) {
             return childRepository.findAll();
         } else {
-            return findByParent(currentUser);
+            return childRepository.findByParentId(currentUser.getId());
         }
     }
     
     @Override
     public List<Child> findByFullNameContaining(String keyword) {
-        User currentUser = userService.getCurrentUser();
+        return searchByName(keyword, SearchConstants.MAX_LIMIT);
+    }
+    
+    @Override
+    public List<Child> searchByName(String keyword, int limit) {
+        // The index is not covered by the parent scope filter, so customers are limited to their own children here
+        Long parentScope = userService.getCurrentPrincipal().getParentScope();
+        List<Long> ids = childNameIndex.search(keyword, parentScope,
+                Math.max(1, Math.min(limit, SearchConstants.MAX_LIMIT)));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
         
-        // Only staff and admin can search all children
-        if (currentUser.getRole() == Role.ROLE_ADMIN || currentUser.getRole() == Role.ROLE_STAFF) {
-            return childRepository.findByFullNameContainingIgnoreCase(keyword);
-        } else {
-            // For customers, only search their own children
-            List<Child> allMatches = childRepository.findByFullNameContainingIgnoreCase(keyword);
-            return allMatches.stream()
-                    .filter(child -> child.getParent().getId().equals(currentUser.getId()))
-                    .toList();
+        // One query for the page of matches, returned in rank order
+        Map<Long, Child> children = new HashMap<>();
+        for (Child child : childRepository.findAllById(ids)) {
+            children.put(child.getId(), child);
+        }
+        List<Child> ranked = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Child child = children.get(id);
+            if (child != null) {
+                ranked.add(child);
+            }
         }
+        return ranked;
     }
     
     @Override
     public List<Child> findByDateOfBirthBetween(LocalDate startDate, LocalDate endDate) {
-        User currentUser = userService.getCurrentUser();
-        
-        // Only staff and admin can search all children
-        if (currentUser.getRole() == Role.ROLE_ADMIN || currentUser.getRole() == Role.ROLE_STAFF) {
-            return childRepository.findByDateOfBirthBetween(startDate, endDate);
-        } else {
-            // For customers, only search their own children
-            List<Child> allMatches = childRepository.findByDateOfBirthBetween(startDate, endDate);
-            return allMatches.stream()
-                    .filter(child -> child.getParent().getId().equals(currentUser.getId()))
-                    .toList();
-        }
+        // Customers only see their own children through the parent scope filter
+        return childRepository.findByDateOfBirthBetween(startDate, endDate);
     }
     
     @Override
     public List<Child> findChildrenNeedingVaccination(int maxAgeMonths) {
-        User currentUser = userService.getCurrentUser();
-        
-        // Only staff and admin can search all children
-        if (currentUser.getRole() == Role.ROLE_ADMIN || currentUser.getRole() == Role.ROLE_STAFF) {
-            return childRepository.findChildrenNeedingVaccination(maxAgeMonths);
-        } else {
-            // For customers, only search their own children
-            List<Child> allMatches = childRepository.findChildrenNeedingVaccination(maxAgeMonths);
-            return allMatches.stream()
-                    .filter(child -> child.getParent().getId().equals(currentUser.getId()))
-                    .toList();
-        }
+        // Customers only see their own children through the parent scope filter
+        return childRepository.findChildrenNeedingVaccination(maxAgeMonths);
     }
     
     @Override
     public boolean hasPermission(Long childId) {
-        User currentUser = userService.getCurrentUser();
-        Child child = childRepository.findById(childId)
-                .orElseThrow(() -> new ResourceNotFoundException("Child not found with id: " + childId));
-        
-        // Admin and staff can access any child
-        if (currentUser.getRole() == Role.ROLE_ADMIN || currentUser.getRole() == Role.ROLE_STAFF) {
-            return true;
-        }
-        
-        // Customers can only access their own children
-        return child.getParent().getId().equals(currentUser.getId());
+        return accessPolicy.canAccessChild(childId);
     }
 }
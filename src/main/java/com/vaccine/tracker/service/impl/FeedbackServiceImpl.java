@@ -1,20 +1,23 @@
 package com.vaccine.tracker.service.impl;
 
 import com.vaccine.tracker.dto.request.FeedbackRequest;
+import com.vaccine.tracker.dto.request.PageCursor;
 import com.vaccine.tracker.entity.Feedback;
 import com.vaccine.tracker.entity.Schedule;
 import com.vaccine.tracker.entity.User;
 import com.vaccine.tracker.enums.Role;
 import com.vaccine.tracker.enums.ScheduleStatus;
 import com.vaccine.tracker.exception.BadRequestException;
-import com.vaccine.tracker.exception.ResourceNotFoundException;
 import com.vaccine.tracker.exception.UnauthorizedException;
 import com.vaccine.tracker.mapper.FeedbackMapper;
 import com.vaccine.tracker.repository.FeedbackRepository;
+import com.vaccine.tracker.security.AccessPolicy;
+import com.vaccine.tracker.security.UserPrincipal;
 import com.vaccine.tracker.service.FeedbackService;
 import com.vaccine.tracker.service.ScheduleService;
 import com.vaccine.tracker.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,6 +34,9 @@ public class FeedbackServiceImpl implements FeedbackService {
     @Autowired
     private FeedbackRepository feedbackRepository;
     
+    @Autowired
+    private AccessPolicy accessPolicy;
+    
     @Autowired
     private UserService userService;
     
@@ -42,15 +48,7 @@ public class FeedbackServiceImpl implements FeedbackService {
     
     @Override
     public Feedback findById(Long id) {
-        Feedback feedback = feedbackRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Feedback not found with id: " + id));
-        
-        // Check permission
-        if (!hasPermission(id)) {
-            throw new UnauthorizedException("You don't have permission to access this feedback");
-        }
-        
-        return feedback;
+        return accessPolicy.loadFeedback(id);
     }
     
     @Override
@@ -91,7 +89,7 @@ public class FeedbackServiceImpl implements FeedbackService {
         Feedback feedback = findById(id);
         
         // Only admin or the feedback author can delete
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         if (!currentUser.getRole().equals(Role.ROLE_ADMIN) && !feedback.getUser().getId().equals(currentUser.getId())) {
             throw new UnauthorizedException("You don't have permission to delete this feedback");
         }
@@ -105,7 +103,7 @@ public class FeedbackServiceImpl implements FeedbackService {
         Feedback feedback = findById(id);
         
         // Only staff and admin can respond to feedback
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         if (currentUser.getRole() != Role.ROLE_ADMIN && currentUser.getRole() != Role.ROLE_STAFF) {
             throw new UnauthorizedException("Only staff can respond to feedback");
         }
@@ -119,20 +117,29 @@ public class FeedbackServiceImpl implements FeedbackService {
     
     @Override
     public List<Feedback> findAll() {
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         
         // Only staff and admin can see all feedback
         if (currentUser.getRole() == Role.ROLE_ADMIN || currentUser.getRole() == Role.ROLE_STAFF) {
             return feedbackRepository.findAll();
         } else {
             // Customers can only see their own feedback
-            return feedbackRepository.findByUser(currentUser);
+            return feedbackRepository.findByUserId(currentUser.getId());
         }
     }
     
+    @Override
+    public Slice<Feedback> findAllPage(PageCursor cursor, int size) {
+        // Customers only see their own feedback through the parent scope filter
+        if (cursor == null) {
+            return feedbackRepository.findFirstPage(PageCursor.limit(size));
+        }
+        return feedbackRepository.findPageAfter(cursor.getKeyAsDateTime(), cursor.getId(), PageCursor.limit(size));
+    }
+    
     @Override
     public List<Feedback> findByUserId(Long userId) {
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         
         // Users can only see their own feedback, but admin/staff can see any user's feedback
         if (currentUser.getRole() == Role.ROLE_ADMIN || 
@@ -156,32 +163,14 @@ public class FeedbackServiceImpl implements FeedbackService {
     
     @Override
     public List<Feedback> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate) {
-        User currentUser = userService.getCurrentUser();
-        
-        // Only staff and admin can search all feedback
-        if (currentUser.getRole() == Role.ROLE_ADMIN || currentUser.getRole() == Role.ROLE_STAFF) {
-            return feedbackRepository.findByCreatedAtBetween(startDate, endDate);
-        } else {
-            // For customers, only show their own feedback
-            return feedbackRepository.findByCreatedAtBetween(startDate, endDate).stream()
-                    .filter(feedback -> feedback.getUser().getId().equals(currentUser.getId()))
-                    .toList();
-        }
+        // Customers only see their own feedback through the parent scope filter
+        return feedbackRepository.findByCreatedAtBetween(startDate, endDate);
     }
     
     @Override
     public List<Feedback> findByRating(Integer rating) {
-        User currentUser = userService.getCurrentUser();
-        
-        // Only staff and admin can search all feedback
-        if (currentUser.getRole() == Role.ROLE_ADMIN || currentUser.getRole() == Role.ROLE_STAFF) {
-            return feedbackRepository.findByRating(rating);
-        } else {
-            // For customers, only show their own feedback
-            return feedbackRepository.findByRating(rating).stream()
-                    .filter(feedback -> feedback.getUser().getId().equals(currentUser.getId()))
-                    .toList();
-        }
+        // Customers only see their own feedback through the parent scope filter
+        return feedbackRepository.findByRating(rating);
     }
     
     @Override
@@ -192,7 +181,7 @@ public class FeedbackServiceImpl implements FeedbackService {
     @Override
     public List<Feedback> findFeedbackWithoutResponses() {
         // Only staff and admin can see feedback without responses
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         if (currentUser.getRole() != Role.ROLE_ADMIN && currentUser.getRole() != Role.ROLE_STAFF) {
             throw new UnauthorizedException("Only staff can access this information");
         }
@@ -202,25 +191,12 @@ public class FeedbackServiceImpl implements FeedbackService {
     
     @Override
     public boolean hasPermission(Long feedbackId) {
-        User currentUser = userService.getCurrentUser();
-        Feedback feedback = feedbackRepository.findById(feedbackId)
-                .orElseThrow(() -> new ResourceNotFoundException("Feedback not found with id: " + feedbackId));
-        
-        // Admin and staff can access any feedback
-        if (currentUser.getRole() == Role.ROLE_ADMIN || currentUser.getRole() == Role.ROLE_STAFF) {
-            return true;
-        }
-        
-        // Users can only access their own feedback
-        return feedback.getUser().getId().equals(currentUser.getId());
+        return accessPolicy.canAccessFeedback(feedbackId);
     }
     
     @Override
     public boolean canCreateFeedbackForSchedule(Long scheduleId) {
-        User currentUser = userService.getCurrentUser();
-        Schedule schedule = scheduleService.findById(scheduleId);
-        
         // Check if the schedule belongs to one of the user's children
-        return schedule.getChild().getParent().getId().equals(currentUser.getId());
+        return accessPolicy.ownsSchedule(scheduleId);
     }
 }
@@ -1,23 +1,30 @@
 package com.vaccine.tracker.service.impl;
 
+import com.vaccine.tracker.dto.request.PageCursor;
 import com.vaccine.tracker.dto.request.PaymentRequest;
 import com.vaccine.tracker.entity.Order;
 import com.vaccine.tracker.entity.Payment;
-import com.vaccine.tracker.entity.User;
-import com.vaccine.tracker.enums.PaymentStatus;
+import com.vaccine.tracker.entity.Payment.PaymentStatus;
 import com.vaccine.tracker.enums.Role;
 import com.vaccine.tracker.exception.BadRequestException;
 import com.vaccine.tracker.exception.ResourceNotFoundException;
 import com.vaccine.tracker.exception.UnauthorizedException;
+import com.vaccine.tracker.mapper.JsonArrayWriter;
 import com.vaccine.tracker.mapper.PaymentMapper;
 import com.vaccine.tracker.repository.PaymentRepository;
+import com.vaccine.tracker.security.AccessPolicy;
+import com.vaccine.tracker.security.UserPrincipal;
 import com.vaccine.tracker.service.OrderService;
 import com.vaccine.tracker.service.PaymentService;
+import com.vaccine.tracker.service.ReportRollupService;
 import com.vaccine.tracker.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -32,6 +39,9 @@ public class PaymentServiceImpl implements PaymentService {
     @Autowired
     private PaymentRepository paymentRepository;
     
+    @Autowired
+    private AccessPolicy accessPolicy;
+    
     @Autowired
     private OrderService orderService;
     
@@ -41,17 +51,15 @@ public class PaymentServiceImpl implements PaymentService {
     @Autowired
     private PaymentMapper paymentMapper;
     
+    @Autowired
+    private JsonArrayWriter jsonArrayWriter;
+    
+    @Autowired
+    private ReportRollupService reportRollupService;
+    
     @Override
     public Payment findById(Long id) {
-        Payment payment = paymentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Payment not found with id: " + id));
-        
-        // Check permission
-        if (!hasPermission(id)) {
-            throw new UnauthorizedException("You don't have permission to access this payment");
-        }
-        
-        return payment;
+        return accessPolicy.loadPayment(id);
     }
     
     @Override
@@ -111,7 +119,7 @@ public class PaymentServiceImpl implements PaymentService {
         Payment payment = findById(id);
         
         // Only admin, staff, or the order owner can complete a payment
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         if (currentUser.getRole() != Role.ROLE_ADMIN && 
             currentUser.getRole() != Role.ROLE_STAFF && 
             !payment.getOrder().getUser().getId().equals(currentUser.getId())) {
@@ -129,7 +137,9 @@ public class PaymentServiceImpl implements PaymentService {
         // Mark the order as paid
         payment.getOrder().setPaid(true);
         
-        return paymentRepository.save(payment);
+        Payment saved = paymentRepository.save(payment);
+        reportRollupService.recordPaymentStatusChange(saved, PaymentStatus.PENDING);
+        return saved;
     }
     
     @Override
@@ -138,7 +148,7 @@ public class PaymentServiceImpl implements PaymentService {
         Payment payment = findById(id);
         
         // Only admin, staff, or the order owner can fail a payment
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         if (currentUser.getRole() != Role.ROLE_ADMIN && 
             currentUser.getRole() != Role.ROLE_STAFF && 
             !payment.getOrder().getUser().getId().equals(currentUser.getId())) {
@@ -162,7 +172,7 @@ public class PaymentServiceImpl implements PaymentService {
         Payment payment = findById(id);
         
         // Only admin can refund payments
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         if (currentUser.getRole() != Role.ROLE_ADMIN) {
             throw new UnauthorizedException("Only administrators can refund payments");
         }
@@ -178,12 +188,14 @@ public class PaymentServiceImpl implements PaymentService {
         // Mark the order as unpaid
         payment.getOrder().setPaid(false);
         
-        return paymentRepository.save(payment);
+        Payment saved = paymentRepository.save(payment);
+        reportRollupService.recordPaymentStatusChange(saved, PaymentStatus.COMPLETED);
+        return saved;
     }
     
     @Override
     public List<Payment> findAll() {
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         
         // Only admin can see all payments
         if (currentUser.getRole() != Role.ROLE_ADMIN) {
@@ -193,9 +205,21 @@ public class PaymentServiceImpl implements PaymentService {
         return paymentRepository.findAll();
     }
     
+    @Override
+    public Slice<Payment> findAllPage(PageCursor cursor, int size) {
+        if (!userService.getCurrentPrincipal().isAdmin()) {
+            throw new UnauthorizedException("Only administrators can access all payments");
+        }
+        
+        if (cursor == null) {
+            return paymentRepository.findFirstPage(PageCursor.limit(size));
+        }
+        return paymentRepository.findPageAfter(cursor.getKeyAsDateTime(), cursor.getId(), PageCursor.limit(size));
+    }
+    
     @Override
     public List<Payment> findByUserId(Long userId) {
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         
         // Users can only see their own payments, but admin/staff can see any user's payments
         if (currentUser.getRole() == Role.ROLE_ADMIN || 
@@ -209,7 +233,7 @@ public class PaymentServiceImpl implements PaymentService {
     
     @Override
     public List<Payment> findByPaymentMethod(String paymentMethod) {
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         
         // Only admin/staff can search payments by method
         if (currentUser.getRole() != Role.ROLE_ADMIN && currentUser.getRole() != Role.ROLE_STAFF) {
@@ -221,7 +245,7 @@ public class PaymentServiceImpl implements PaymentService {
     
     @Override
     public List<Payment> findByPaymentDateBetween(LocalDateTime startDate, LocalDateTime endDate) {
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         
         // Only admin/staff can search payments by date range
         if (currentUser.getRole() != Role.ROLE_ADMIN && currentUser.getRole() != Role.ROLE_STAFF) {
@@ -231,9 +255,22 @@ public class PaymentServiceImpl implements PaymentService {
         return paymentRepository.findByPaymentDateBetween(startDate, endDate);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public long writeByPaymentDateBetween(LocalDateTime startDate, LocalDateTime endDate, OutputStream out)
+            throws IOException {
+        if (!userService.getCurrentPrincipal().isStaff()) {
+            throw new UnauthorizedException("Only staff can search payments by date range");
+        }
+        
+        // Rows are mapped and written as they arrive from the cursor
+        return jsonArrayWriter.write(paymentRepository.streamByPaymentDateBetween(startDate, endDate),
+                paymentMapper::toPaymentResponse, out);
+    }
+    
     @Override
     public BigDecimal calculateTotalRevenue(LocalDateTime startDate, LocalDateTime endDate) {
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         
         // Only admin/staff can calculate revenue
         if (currentUser.getRole() != Role.ROLE_ADMIN && currentUser.getRole() != Role.ROLE_STAFF) {
@@ -253,17 +290,7 @@ public class PaymentServiceImpl implements PaymentService {
     
     @Override
     public boolean hasPermission(Long paymentId) {
-        User currentUser = userService.getCurrentUser();
-        Payment payment = paymentRepository.findById(paymentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Payment not found with id: " + paymentId));
-        
-        // Admin and staff can access any payment
-        if (currentUser.getRole() == Role.ROLE_ADMIN || currentUser.getRole() == Role.ROLE_STAFF) {
-            return true;
-        }
-        
-        // Users can only access their own payments
-        return payment.getOrder().getUser().getId().equals(currentUser.getId());
+        return accessPolicy.canAccessPayment(paymentId);
     }
     
     /**
@@ -277,6 +304,7 @@ public class PaymentServiceImpl implements PaymentService {
     private Payment processPaymentLogic(Payment payment) {
         // Save the payment initially with PENDING status
         Payment savedPayment = paymentRepository.save(payment);
+        PaymentStatus previousStatus = savedPayment.getStatus();
         
         // Simulate payment processing logic
         // In a real implementation, this would integrate with a payment gateway
@@ -288,7 +316,9 @@ public class PaymentServiceImpl implements PaymentService {
         // Mark the order as paid
         savedPayment.getOrder().setPaid(true);
         
-        return paymentRepository.save(savedPayment);
+        Payment completed = paymentRepository.save(savedPayment);
+        reportRollupService.recordPaymentStatusChange(completed, previousStatus);
+        return completed;
     }
     
     /**
@@ -1,25 +1,32 @@
 package com.vaccine.tracker.service.impl;
 
+import com.vaccine.tracker.dto.request.PageCursor;
 import com.vaccine.tracker.dto.request.ReactionRequest;
 import com.vaccine.tracker.entity.Child;
+import com.vaccine.tracker.entity.DailyReportStat;
 import com.vaccine.tracker.entity.Reaction;
 import com.vaccine.tracker.entity.Schedule;
-import com.vaccine.tracker.entity.User;
 import com.vaccine.tracker.enums.Role;
 import com.vaccine.tracker.enums.ScheduleStatus;
 import com.vaccine.tracker.exception.BadRequestException;
-import com.vaccine.tracker.exception.ResourceNotFoundException;
 import com.vaccine.tracker.exception.UnauthorizedException;
+import com.vaccine.tracker.mapper.JsonArrayWriter;
 import com.vaccine.tracker.mapper.ReactionMapper;
 import com.vaccine.tracker.repository.ReactionRepository;
+import com.vaccine.tracker.security.AccessPolicy;
+import com.vaccine.tracker.security.UserPrincipal;
 import com.vaccine.tracker.service.ChildService;
 import com.vaccine.tracker.service.ReactionService;
+import com.vaccine.tracker.service.ReportRollupService;
 import com.vaccine.tracker.service.ScheduleService;
 import com.vaccine.tracker.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -32,6 +39,9 @@ public class ReactionServiceImpl implements ReactionService {
     @Autowired
     private ReactionRepository reactionRepository;
     
+    @Autowired
+    private AccessPolicy accessPolicy;
+    
     @Autowired
     private UserService userService;
     
@@ -44,17 +54,15 @@ public class ReactionServiceImpl implements ReactionService {
     @Autowired
     private ReactionMapper reactionMapper;
     
+    @Autowired
+    private JsonArrayWriter jsonArrayWriter;
+    
+    @Autowired
+    private ReportRollupService reportRollupService;
+    
     @Override
     public Reaction findById(Long id) {
-        Reaction reaction = reactionRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Reaction not found with id: " + id));
-        
-        // Check permission
-        if (!hasPermission(id)) {
-            throw new UnauthorizedException("You don't have permission to access this reaction");
-        }
-        
-        return reaction;
+        return accessPolicy.loadReaction(id);
     }
     
     @Override
@@ -67,7 +75,7 @@ public class ReactionServiceImpl implements ReactionService {
         Schedule schedule = scheduleService.findById(reactionRequest.getScheduleId());
         
         // Check if user has permission to report reaction for this child
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         if (currentUser.getRole() != Role.ROLE_ADMIN && 
             currentUser.getRole() != Role.ROLE_STAFF && 
             !child.getParent().getId().equals(currentUser.getId())) {
@@ -87,7 +95,9 @@ public class ReactionServiceImpl implements ReactionService {
         // Create and save new reaction
         Reaction reaction = reactionMapper.toReaction(reactionRequest, child, schedule);
         
-        return reactionRepository.save(reaction);
+        Reaction saved = reactionRepository.save(reaction);
+        reportRollupService.recordChange(null, reportRollupService.reactionFact(saved));
+        return saved;
     }
     
     @Override
@@ -99,7 +109,7 @@ public class ReactionServiceImpl implements ReactionService {
         Reaction reaction = findById(id);
         
         // Only the reporter, staff, or admin can update reactions
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         if (currentUser.getRole() != Role.ROLE_ADMIN && 
             currentUser.getRole() != Role.ROLE_STAFF && 
             !reaction.getChild().getParent().getId().equals(currentUser.getId())) {
@@ -113,9 +123,12 @@ public class ReactionServiceImpl implements ReactionService {
         }
         
         // Update reaction properties
+        DailyReportStat before = reportRollupService.reactionFact(reaction);
         reactionMapper.updateReactionFromRequest(reaction, reactionRequest);
         
-        return reactionRepository.save(reaction);
+        Reaction saved = reactionRepository.save(reaction);
+        reportRollupService.recordChange(before, reportRollupService.reactionFact(saved));
+        return saved;
     }
     
     @Override
@@ -124,11 +137,12 @@ public class ReactionServiceImpl implements ReactionService {
         Reaction reaction = findById(id);
         
         // Only admin can delete reactions
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         if (currentUser.getRole() != Role.ROLE_ADMIN) {
             throw new UnauthorizedException("Only administrators can delete reactions");
         }
         
+        reportRollupService.recordChange(reportRollupService.reactionFact(reaction), null);
         reactionRepository.delete(reaction);
     }
     
@@ -138,7 +152,7 @@ public class ReactionServiceImpl implements ReactionService {
         Reaction reaction = findById(id);
         
         // Only staff and admin can add staff notes
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         if (currentUser.getRole() != Role.ROLE_ADMIN && currentUser.getRole() != Role.ROLE_STAFF) {
             throw new UnauthorizedException("Only staff can add notes to reactions");
         }
@@ -154,7 +168,7 @@ public class ReactionServiceImpl implements ReactionService {
         Reaction reaction = findById(id);
         
         // Only staff and admin can mark reactions as resolved
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         if (currentUser.getRole() != Role.ROLE_ADMIN && currentUser.getRole() != Role.ROLE_STAFF) {
             throw new UnauthorizedException("Only staff can mark reactions as resolved");
         }
@@ -167,7 +181,7 @@ public class ReactionServiceImpl implements ReactionService {
     
     @Override
     public List<Reaction> findAll() {
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         
         // Only staff and admin can see all reactions
         if (currentUser.getRole() == Role.ROLE_ADMIN || currentUser.getRole() == Role.ROLE_STAFF) {
@@ -178,6 +192,22 @@ public class ReactionServiceImpl implements ReactionService {
         }
     }
     
+    @Override
+    public Slice<Reaction> findAllPage(PageCursor cursor, int size) {
+        // Customers only see their children's reactions through the parent scope filter
+        if (cursor == null) {
+            return reactionRepository.findFirstPage(PageCursor.limit(size));
+        }
+        return reactionRepository.findPageAfter(cursor.getKeyAsDateTime(), cursor.getId(), PageCursor.limit(size));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public long writeAll(OutputStream out) throws IOException {
+        // Customers only see their children's reactions through the parent scope filter
+        return jsonArrayWriter.write(reactionRepository.streamAll(), reactionMapper::toReactionResponse, out);
+    }
+    
     @Override
     public List<Reaction> findByChildId(Long childId) {
         // Check if user has permission to access the child's data
@@ -200,82 +230,37 @@ public class ReactionServiceImpl implements ReactionService {
     
     @Override
     public List<Reaction> findByResolved(Boolean resolved) {
-        User currentUser = userService.getCurrentUser();
-        
-        // Only staff and admin can see all resolved/unresolved reactions
-        if (currentUser.getRole() == Role.ROLE_ADMIN || currentUser.getRole() == Role.ROLE_STAFF) {
-            return reactionRepository.findByResolved(resolved);
-        } else {
-            // Customers can only see their children's reactions
-            return reactionRepository.findByResolved(resolved).stream()
-                    .filter(reaction -> reaction.getChild().getParent().getId().equals(currentUser.getId()))
-                    .toList();
-        }
+        // Customers only see their children's reactions through the parent scope filter
+        return reactionRepository.findByResolved(resolved);
     }
     
     @Override
     public List<Reaction> findSevereReactions() {
-        User currentUser = userService.getCurrentUser();
-        
-        // Only staff and admin can see all severe reactions
-        if (currentUser.getRole() == Role.ROLE_ADMIN || currentUser.getRole() == Role.ROLE_STAFF) {
-            return reactionRepository.findSevereReactions();
-        } else {
-            // Customers can only see their children's severe reactions
-            return reactionRepository.findSevereReactions().stream()
-                    .filter(reaction -> reaction.getChild().getParent().getId().equals(currentUser.getId()))
-                    .toList();
-        }
+        // Customers only see their children's reactions through the parent scope filter
+        return reactionRepository.findSevereReactions();
     }
     
     @Override
     public List<Reaction> findBySeverity(Integer severity) {
-        User currentUser = userService.getCurrentUser();
-        
-        // Only staff and admin can see all reactions by severity
-        if (currentUser.getRole() == Role.ROLE_ADMIN || currentUser.getRole() == Role.ROLE_STAFF) {
-            return reactionRepository.findBySeverity(severity);
-        } else {
-            // Customers can only see their children's reactions
-            return reactionRepository.findBySeverity(severity).stream()
-                    .filter(reaction -> reaction.getChild().getParent().getId().equals(currentUser.getId()))
-                    .toList();
-        }
+        // Customers only see their children's reactions through the parent scope filter
+        return reactionRepository.findBySeverity(severity);
     }
     
     @Override
     public List<Reaction> findByReactionDateBetween(LocalDateTime startDate, LocalDateTime endDate) {
-        User currentUser = userService.getCurrentUser();
-        
-        // Only staff and admin can see all reactions in date range
-        if (currentUser.getRole() == Role.ROLE_ADMIN || currentUser.getRole() == Role.ROLE_STAFF) {
-            return reactionRepository.findByReactionDateBetween(startDate, endDate);
-        } else {
-            // Customers can only see their children's reactions
-            return reactionRepository.findByReactionDateBetween(startDate, endDate).stream()
-                    .filter(reaction -> reaction.getChild().getParent().getId().equals(currentUser.getId()))
-                    .toList();
-        }
+        // Customers only see their children's reactions through the parent scope filter
+        return reactionRepository.findByReactionDateBetween(startDate, endDate);
     }
     
     @Override
     public List<Reaction> findByVaccineId(Long vaccineId) {
-        User currentUser = userService.getCurrentUser();
-        
-        // Only staff and admin can see all reactions for a vaccine
-        if (currentUser.getRole() == Role.ROLE_ADMIN || currentUser.getRole() == Role.ROLE_STAFF) {
-            return reactionRepository.findByVaccineId(vaccineId);
-        } else {
-            // Customers can only see their children's reactions
-            return reactionRepository.findByVaccineId(vaccineId).stream()
-                    .filter(reaction -> reaction.getChild().getParent().getId().equals(currentUser.getId()))
-                    .toList();
-        }
+        // Customers only see their children's reactions through the parent scope filter
+        return reactionRepository.findByVaccineId(vaccineId);
     }
     
     @Override
     public List<Reaction> findByParentId(Long parentId) {
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         
         // Users can only see their own children's reactions, but admin/staff can see any parent's children's reactions
         if (currentUser.getRole() == Role.ROLE_ADMIN || 
@@ -289,17 +274,7 @@ public class ReactionServiceImpl implements ReactionService {
     
     @Override
     public boolean hasPermission(Long reactionId) {
-        User currentUser = userService.getCurrentUser();
-        Reaction reaction = reactionRepository.findById(reactionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Reaction not found with id: " + reactionId));
-        
-        // Admin and staff can access any reaction
-        if (currentUser.getRole() == Role.ROLE_ADMIN || currentUser.getRole() == Role.ROLE_STAFF) {
-            return true;
-        }
-        
-        // Parents can only access their children's reactions
-        return reaction.getChild().getParent().getId().equals(currentUser.getId());
+        return accessPolicy.canAccessReaction(reactionId);
     }
     
     /**
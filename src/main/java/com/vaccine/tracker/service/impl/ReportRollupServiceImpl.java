@@ -0,0 +1,415 @@
+package com.vaccine.tracker.service.impl;
+
+import com.vaccine.tracker.constant.ReportConstants;
+import com.vaccine.tracker.entity.Child;
+import com.vaccine.tracker.entity.DailyReportStat;
+import com.vaccine.tracker.entity.Payment;
+import com.vaccine.tracker.entity.Payment.PaymentStatus;
+import com.vaccine.tracker.entity.Reaction;
+import com.vaccine.tracker.entity.Schedule;
+import com.vaccine.tracker.entity.Schedule.ScheduleStatus;
+import com.vaccine.tracker.enums.ReportMetric;
+import com.vaccine.tracker.exception.UnauthorizedException;
+import com.vaccine.tracker.repository.ChildRepository;
+import com.vaccine.tracker.repository.DailyReportStatRepository;
+import com.vaccine.tracker.repository.DailyReportStatWriter;
+import com.vaccine.tracker.repository.PaymentRepository;
+import com.vaccine.tracker.repository.ReactionRepository;
+import com.vaccine.tracker.repository.ScheduleRepository;
+import com.vaccine.tracker.service.MonthlyReportSnapshots;
+import com.vaccine.tracker.service.ReportCache;
+import com.vaccine.tracker.service.ReportRollupService;
+import com.vaccine.tracker.service.UserService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of ReportRollupService interface.
+ * Deltas recorded during a transaction are merged per rollup row and written
+ * just before that transaction commits, in the transaction itself, so the
+ * rollup commits or rolls back together with the change it describes. Cached
+ * reports of the affected days are dropped once the commit has happened.
+ */
+@Service
+public class ReportRollupServiceImpl implements ReportRollupService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReportRollupServiceImpl.class);
+    
+    @Autowired
+    private DailyReportStatRepository statRepository;
+    
+    @Autowired
+    private DailyReportStatWriter statWriter;
+    
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+    
+    @Autowired
+    private ReactionRepository reactionRepository;
+    
+    @Autowired
+    private ChildRepository childRepository;
+    
+    @Autowired
+    private PaymentRepository paymentRepository;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private ReportCache reportCache;
+    
+    @Autowired
+    private MonthlyReportSnapshots monthlySnapshots;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private TransactionTemplate applyTransaction;
+    
+    @PostConstruct
+    public void init() {
+        // Only for changes recorded outside a transaction
+        applyTransaction = new TransactionTemplate(transactionManager);
+    }
+    
+    @Override
+    public List<DailyReportStat> scheduleFacts(Schedule schedule) {
+        if (schedule == null || schedule.getScheduledDate() == null || schedule.getVaccine() == null
+                || schedule.getStatus() == null) {
+            return List.of();
+        }
+        
+        Long vaccineId = schedule.getVaccine().getId();
+        DailyReportStat fact = new DailyReportStat(ReportMetric.SCHEDULES, schedule.getScheduledDate(),
+                vaccineId, schedule.getStatus().name(), 1, BigDecimal.ZERO);
+        LocalDate birthDate = schedule.getChild() != null ? schedule.getChild().getDateOfBirth() : null;
+        if (schedule.getStatus() != ScheduleStatus.COMPLETED || birthDate == null) {
+            return List.of(fact);
+        }
+        return List.of(fact, coverageFact(birthDate, vaccineId, schedule.getDoseNumber(), 1));
+    }
+    
+    @Override
+    public List<DailyReportStat> childFacts(Child child) {
+        if (child == null || child.getDateOfBirth() == null) {
+            return List.of();
+        }
+        
+        LocalDate birthDate = child.getDateOfBirth();
+        List<DailyReportStat> facts = new ArrayList<>();
+        facts.add(new DailyReportStat(ReportMetric.CHILDREN, birthDate.withDayOfMonth(1),
+                ReportConstants.UNATTRIBUTED_VACCINE_ID, ReportConstants.BUCKET_ALL, 1, BigDecimal.ZERO));
+        if (child.getId() != null) {
+            for (Object[] row : scheduleRepository.countCompletedByVaccineAndDoseForChild(child.getId())) {
+                facts.add(coverageFact(birthDate, (Long) row[0], (Integer) row[1], ((Number) row[2]).longValue()));
+            }
+        }
+        return facts;
+    }
+    
+    @Override
+    public DailyReportStat reactionFact(Reaction reaction) {
+        if (reaction == null || reaction.getReactionDate() == null || reaction.getVaccination() == null
+                || reaction.getVaccination().getVaccine() == null || reaction.getSeverity() == null) {
+            return null;
+        }
+        return new DailyReportStat(ReportMetric.REACTIONS, reaction.getReactionDate().toLocalDate(),
+                reaction.getVaccination().getVaccine().getId(), String.valueOf(reaction.getSeverity()),
+                1, BigDecimal.ZERO);
+    }
+    
+    @Override
+    public void recordChange(DailyReportStat before, DailyReportStat after) {
+        if (before != null && after != null && before.getKey().equals(after.getKey())) {
+            return;
+        }
+        
+        List<DailyReportStat> deltas = new ArrayList<>(2);
+        if (before != null) {
+            deltas.add(negate(before));
+        }
+        if (after != null) {
+            deltas.add(after);
+        }
+        enqueue(deltas);
+    }
+    
+    @Override
+    public void recordChanges(List<DailyReportStat> before, List<DailyReportStat> after) {
+        Map<DailyReportStat.Key, DailyReportStat> deltas = new LinkedHashMap<>();
+        for (DailyReportStat fact : before) {
+            merge(deltas, negate(fact));
+        }
+        for (DailyReportStat fact : after) {
+            merge(deltas, fact);
+        }
+        enqueue(deltas.values().stream()
+                .filter(delta -> delta.getItemCount() != 0 || delta.getAmount().signum() != 0)
+                .toList());
+    }
+    
+    @Override
+    public void recordPaymentStatusChange(Payment payment, PaymentStatus previousStatus) {
+        boolean wasCounted = previousStatus == PaymentStatus.COMPLETED;
+        boolean isCounted = payment.getStatus() == PaymentStatus.COMPLETED;
+        if (wasCounted == isCounted) {
+            return;
+        }
+        
+        DailyReportStat fact = revenueFact(payment);
+        enqueue(List.of(isCounted ? fact : negate(fact)));
+    }
+    
+    @Override
+    @Transactional
+    public int rebuild(LocalDate startDate, LocalDate endDate) {
+        if (!userService.getCurrentPrincipal().isAdmin()) {
+            throw new UnauthorizedException("Only administrators can rebuild report rollups");
+        }
+        
+        Map<DailyReportStat.Key, DailyReportStat> expected = computeFromFacts(startDate, endDate);
+        int deleted = statRepository.deleteByStatDateRange(startDate, endDate);
+        statWriter.apply(expected.values());
+        reportCache.invalidate(startDate, endDate);
+        
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(startDate); !month.isAfter(YearMonth.from(endDate));
+             month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        // Only once the rebuilt rows are visible, so no snapshot is taken from the old ones
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                monthlySnapshots.invalidate(months);
+            }
+        });
+        
+        logger.info("Rebuilt report rollup for {} to {}: {} rows replaced by {}",
+                startDate, endDate, deleted, expected.size());
+        return expected.size();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> checkConsistency(LocalDate startDate, LocalDate endDate) {
+        if (!userService.getCurrentPrincipal().isStaff()) {
+            throw new UnauthorizedException("Only staff can check report rollups");
+        }
+        
+        Map<DailyReportStat.Key, DailyReportStat> expected = computeFromFacts(startDate, endDate);
+        Map<DailyReportStat.Key, DailyReportStat> actual = new LinkedHashMap<>();
+        for (DailyReportStat stat : statRepository.findByStatDateBetween(startDate, endDate)) {
+            actual.put(stat.getKey(), stat);
+        }
+        
+        Set<DailyReportStat.Key> keys = new HashSet<>(expected.keySet());
+        keys.addAll(actual.keySet());
+        
+        List<String> mismatches = new ArrayList<>();
+        int mismatchCount = 0;
+        for (DailyReportStat.Key key : keys) {
+            DailyReportStat want = expected.get(key);
+            DailyReportStat have = actual.get(key);
+            long wantCount = want != null ? want.getItemCount() : 0;
+            long haveCount = have != null ? have.getItemCount() : 0;
+            BigDecimal wantAmount = want != null ? want.getAmount() : BigDecimal.ZERO;
+            BigDecimal haveAmount = have != null ? have.getAmount() : BigDecimal.ZERO;
+            
+            if (wantCount != haveCount || wantAmount.compareTo(haveAmount) != 0) {
+                mismatchCount++;
+                if (mismatches.size() < ReportConstants.MAX_REPORTED_MISMATCHES) {
+                    mismatches.add(key + ": expected count " + wantCount + " amount " + wantAmount
+                            + ", rollup has count " + haveCount + " amount " + haveAmount);
+                }
+            }
+        }
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("startDate", startDate);
+        result.put("endDate", endDate);
+        result.put("consistent", mismatchCount == 0);
+        result.put("rowsCompared", keys.size());
+        result.put("mismatchCount", mismatchCount);
+        result.put("mismatches", mismatches);
+        return result;
+    }
+    
+    /**
+     * Aggregate the fact tables into the rollup rows they should produce.
+     */
+    private Map<DailyReportStat.Key, DailyReportStat> computeFromFacts(LocalDate startDate, LocalDate endDate) {
+        Map<DailyReportStat.Key, DailyReportStat> rows = new LinkedHashMap<>();
+        
+        for (Object[] row : scheduleRepository.countByDayVaccineAndStatus(startDate, endDate)) {
+            merge(rows, new DailyReportStat(ReportMetric.SCHEDULES, toDate(row[0]), (Long) row[1],
+                    ((Enum<?>) row[2]).name(), ((Number) row[3]).longValue(), BigDecimal.ZERO));
+        }
+        
+        LocalDateTime from = startDate.atStartOfDay();
+        LocalDateTime until = endDate.plusDays(1).atStartOfDay();
+        for (Object[] row : reactionRepository.countByDayVaccineAndSeverity(from, until)) {
+            merge(rows, new DailyReportStat(ReportMetric.REACTIONS, toDate(row[0]), (Long) row[1],
+                    String.valueOf(row[2]), ((Number) row[3]).longValue(), BigDecimal.ZERO));
+        }
+        
+        // Cohort rows are dated on the first of the birth month; rebuild every cohort whose first day is in range
+        LocalDate firstCohort = startDate.getDayOfMonth() == 1 ? startDate : startDate.plusMonths(1).withDayOfMonth(1);
+        LocalDate lastBirthDate = YearMonth.from(endDate).atEndOfMonth();
+        if (!firstCohort.isAfter(endDate)) {
+            for (Object[] row : childRepository.countByBirthMonth(firstCohort, lastBirthDate)) {
+                merge(rows, new DailyReportStat(ReportMetric.CHILDREN, toCohort(row[0], row[1]),
+                        ReportConstants.UNATTRIBUTED_VACCINE_ID, ReportConstants.BUCKET_ALL,
+                        ((Number) row[2]).longValue(), BigDecimal.ZERO));
+            }
+            for (Object[] row : scheduleRepository.countCompletedByBirthMonthVaccineAndDose(firstCohort, lastBirthDate)) {
+                merge(rows, new DailyReportStat(ReportMetric.COVERAGE, toCohort(row[0], row[1]), (Long) row[2],
+                        doseBucket((Integer) row[3]), ((Number) row[4]).longValue(), BigDecimal.ZERO));
+            }
+        }
+        
+        for (Object[] row : paymentRepository.sumCompletedRevenueByDayAndVaccine(from, until)) {
+            Long vaccineId = row[1] != null ? (Long) row[1] : ReportConstants.UNATTRIBUTED_VACCINE_ID;
+            merge(rows, new DailyReportStat(ReportMetric.REVENUE, toDate(row[0]), vaccineId,
+                    ReportConstants.BUCKET_ALL, ((Number) row[2]).longValue(), toMoney(row[3])));
+        }
+        
+        return rows;
+    }
+    
+    /**
+     * The revenue row of a payment: its amount, attributed to the vaccine of the vaccination paid for.
+     */
+    private static DailyReportStat revenueFact(Payment payment) {
+        LocalDate day = payment.getPaymentDate() != null ? payment.getPaymentDate().toLocalDate() : LocalDate.now();
+        Long vaccineId = payment.getVaccination() != null && payment.getVaccination().getVaccine() != null
+                ? payment.getVaccination().getVaccine().getId() : ReportConstants.UNATTRIBUTED_VACCINE_ID;
+        return new DailyReportStat(ReportMetric.REVENUE, day, vaccineId, ReportConstants.BUCKET_ALL, 1,
+                toMoney(payment.getAmount()));
+    }
+    
+    /**
+     * Queue deltas until the current transaction is about to commit, or apply them now if there is none.
+     */
+    private void enqueue(List<DailyReportStat> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyTransaction.executeWithoutResult(status -> statWriter.apply(deltas));
+            invalidate(deltas);
+            return;
+        }
+        
+        @SuppressWarnings("unchecked")
+        Map<DailyReportStat.Key, DailyReportStat> pending =
+                (Map<DailyReportStat.Key, DailyReportStat>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<DailyReportStat.Key, DailyReportStat> created = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    // A failed write fails the commit, so the rollup never drifts from the source tables
+                    statWriter.apply(created.values());
+                }
+                
+                @Override
+                public void afterCommit() {
+                    invalidate(created.values());
+                }
+                
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ReportRollupServiceImpl.this);
+                }
+            });
+            pending = created;
+        }
+        
+        for (DailyReportStat delta : deltas) {
+            merge(pending, delta);
+        }
+    }
+    
+    private void invalidate(Collection<DailyReportStat> deltas) {
+        Set<LocalDate> days = new HashSet<>();
+        Set<YearMonth> months = new HashSet<>();
+        for (DailyReportStat delta : deltas) {
+            if (days.add(delta.getStatDate())) {
+                reportCache.invalidate(delta.getStatDate(), delta.getStatDate());
+            }
+            // Cohort rows are dated by birth month and do not feed the monthly report
+            if (delta.getMetric() != ReportMetric.COVERAGE && delta.getMetric() != ReportMetric.CHILDREN) {
+                months.add(YearMonth.from(delta.getStatDate()));
+            }
+        }
+        monthlySnapshots.invalidate(months);
+    }
+    
+    private static void merge(Map<DailyReportStat.Key, DailyReportStat> rows, DailyReportStat delta) {
+        DailyReportStat row = rows.get(delta.getKey());
+        if (row == null) {
+            rows.put(delta.getKey(), new DailyReportStat(delta.getMetric(), delta.getStatDate(),
+                    delta.getVaccineId(), delta.getBucket(), delta.getItemCount(), delta.getAmount()));
+        } else {
+            row.setItemCount(row.getItemCount() + delta.getItemCount());
+            row.setAmount(row.getAmount().add(delta.getAmount()));
+        }
+    }
+    
+    private static DailyReportStat negate(DailyReportStat fact) {
+        return new DailyReportStat(fact.getMetric(), fact.getStatDate(), fact.getVaccineId(), fact.getBucket(),
+                -fact.getItemCount(), fact.getAmount().negate());
+    }
+    
+    private static DailyReportStat coverageFact(LocalDate birthDate, Long vaccineId, Integer doseNumber, long count) {
+        return new DailyReportStat(ReportMetric.COVERAGE, birthDate.withDayOfMonth(1), vaccineId,
+                doseBucket(doseNumber), count, BigDecimal.ZERO);
+    }
+    
+    /**
+     * A schedule without a dose number counts as the first dose.
+     */
+    private static String doseBucket(Integer doseNumber) {
+        return String.valueOf(doseNumber != null ? doseNumber : 1);
+    }
+    
+    private static LocalDate toCohort(Object year, Object month) {
+        return LocalDate.of(((Number) year).intValue(), ((Number) month).intValue(), 1);
+    }
+    
+    private static BigDecimal toMoney(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO.setScale(ReportConstants.MONEY_SCALE);
+        }
+        BigDecimal amount = value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+        return amount.setScale(ReportConstants.MONEY_SCALE, RoundingMode.HALF_EVEN);
+    }
+    
+    private static LocalDate toDate(Object value) {
+        return value instanceof LocalDateTime dateTime ? dateTime.toLocalDate() : (LocalDate) value;
+    }
+}
@@ -0,0 +1,802 @@
+package com.vaccine.tracker.service.impl;
+
+import com.vaccine.tracker.constant.ReportConstants;
+import com.vaccine.tracker.dto.request.VaccinationExportRequest;
+import com.vaccine.tracker.dto.response.MonthlyReportResponse;
+import com.vaccine.tracker.dto.response.ReportResponse;
+import com.vaccine.tracker.dto.response.ScheduleSummaryResponse;
+import com.vaccine.tracker.entity.Schedule;
+import com.vaccine.tracker.entity.Schedule.ScheduleStatus;
+import com.vaccine.tracker.entity.User;
+import com.vaccine.tracker.entity.Vaccine;
+import com.vaccine.tracker.enums.ReportMetric;
+import com.vaccine.tracker.enums.ReportSection;
+import com.vaccine.tracker.enums.Role;
+import com.vaccine.tracker.exception.BadRequestException;
+import com.vaccine.tracker.exception.ResourceNotFoundException;
+import com.vaccine.tracker.exception.UnauthorizedException;
+import com.vaccine.tracker.mapper.FeedbackMapper;
+import com.vaccine.tracker.repository.DailyReportStatRepository;
+import com.vaccine.tracker.repository.FeedbackRepository;
+import com.vaccine.tracker.repository.OrderRepository;
+import com.vaccine.tracker.repository.PaymentRepository;
+import com.vaccine.tracker.repository.ReactionRepository;
+import com.vaccine.tracker.repository.ScheduleRepository;
+import com.vaccine.tracker.repository.UserRepository;
+import com.vaccine.tracker.repository.VaccinationRepository;
+import com.vaccine.tracker.repository.VaccineRepository;
+import com.vaccine.tracker.service.MissedScheduleJob;
+import com.vaccine.tracker.service.MonthlyReportSnapshots;
+import com.vaccine.tracker.service.ProviderReportCache;
+import com.vaccine.tracker.service.ReportCache;
+import com.vaccine.tracker.service.ReportSectionExecutor;
+import com.vaccine.tracker.service.ReportService;
+import com.vaccine.tracker.service.ScheduleColumnStore;
+import com.vaccine.tracker.service.ScheduleService;
+import com.vaccine.tracker.service.UserService;
+import com.vaccine.tracker.service.VaccinationExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Implementation of ReportService interface.
+ * Reports are built from the daily report rollup and served from the report cache.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ReportServiceImpl implements ReportService {
+    
+    private static final String UNATTRIBUTED = "Unattributed";
+    
+    @Autowired
+    private DailyReportStatRepository statRepository;
+    
+    @Autowired
+    private VaccineRepository vaccineRepository;
+    
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+    
+    @Autowired
+    private VaccinationRepository vaccinationRepository;
+    
+    @Autowired
+    private ReactionRepository reactionRepository;
+    
+    @Autowired
+    private PaymentRepository paymentRepository;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+    
+    @Autowired
+    private FeedbackMapper feedbackMapper;
+    
+    @Autowired
+    private ScheduleService scheduleService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private VaccinationExportService vaccinationExportService;
+    
+    @Autowired
+    private ReportCache reportCache;
+    
+    @Autowired
+    private ReportSectionExecutor sectionExecutor;
+    
+    @Autowired
+    private ScheduleColumnStore scheduleColumnStore;
+    
+    @Autowired
+    private MonthlyReportSnapshots monthlySnapshots;
+    
+    @Autowired
+    private MissedScheduleJob missedScheduleJob;
+    
+    @Autowired
+    private ProviderReportCache providerReportCache;
+    
+    @Override
+    public ReportResponse generateScheduleReport(LocalDateTime startDate, LocalDateTime endDate) {
+        requireStaff();
+        return reportCache.get("SCHEDULE", startDate, endDate, (from, to) -> {
+            ReportResponse report = newReport("SCHEDULE", from, to);
+            fillScheduleSection(report, from.toLocalDate(), to.toLocalDate());
+            return report;
+        });
+    }
+    
+    @Override
+    public ReportResponse generateVaccineReport(LocalDateTime startDate, LocalDateTime endDate) {
+        requireStaff();
+        return reportCache.get("VACCINE", startDate, endDate, (from, to) -> {
+            ReportResponse report = newReport("VACCINE", from, to);
+            fillVaccineSection(report, from.toLocalDate(), to.toLocalDate());
+            return report;
+        });
+    }
+    
+    @Override
+    public ReportResponse generateRevenueReport(LocalDateTime startDate, LocalDateTime endDate) {
+        requireStaff();
+        return reportCache.get("REVENUE", startDate, endDate, (from, to) -> {
+            ReportResponse report = newReport("REVENUE", from, to);
+            fillRevenueSection(report, from.toLocalDate(), to.toLocalDate());
+            return report;
+        });
+    }
+    
+    @Override
+    public ReportResponse generateCustomerReport(LocalDateTime startDate, LocalDateTime endDate) {
+        requireStaff();
+        return reportCache.get("CUSTOMER", startDate, endDate, (from, to) -> {
+            ReportResponse report = newReport("CUSTOMER", from, to);
+            fillCustomerSection(report, from, to);
+            return report;
+        });
+    }
+    
+    @Override
+    public ReportResponse generateReactionReport(LocalDateTime startDate, LocalDateTime endDate) {
+        requireStaff();
+        return reportCache.get("REACTION", startDate, endDate, (from, to) -> {
+            ReportResponse report = newReport("REACTION", from, to);
+            fillReactionSection(report, from.toLocalDate(), to.toLocalDate());
+            return report;
+        });
+    }
+    
+    @Override
+    public ReportResponse generateComprehensiveReport(LocalDateTime startDate, LocalDateTime endDate) {
+        requireStaff();
+        return reportCache.get("COMPREHENSIVE", startDate, endDate, (start, end) -> {
+            long startedAt = System.nanoTime();
+            
+            // Each section fills a response of its own, so one that overruns its deadline never writes into the result
+            Map<ReportSection, Future<ReportResponse>> parts = new EnumMap<>(ReportSection.class);
+            for (ReportSection section : ReportSection.values()) {
+                parts.put(section, sectionExecutor.submit(section, () -> {
+                    ReportResponse part = new ReportResponse();
+                    fillSection(section, part, start, end);
+                    return part;
+                }));
+            }
+            
+            ReportResponse report = newReport("COMPREHENSIVE", start, end);
+            parts.forEach((section, result) -> {
+                ReportResponse part = sectionExecutor.await(section, result, startedAt);
+                if (part != null) {
+                    copySection(section, part, report);
+                } else {
+                    report.getPartialSections().add(section.name());
+                }
+            });
+            return report;
+        });
+    }
+    
+    @Override
+    public Map<String, Object> getScheduleStatsByDateRange(LocalDate startDate, LocalDate endDate) {
+        requireStaff();
+        Map<String, Long> byStatus = toCountMap(
+                statRepository.sumCountByBucket(ReportMetric.SCHEDULES, startDate, endDate), String::valueOf);
+        
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("startDate", startDate);
+        stats.put("endDate", endDate);
+        stats.put("totalSchedules", sum(byStatus));
+        stats.put("schedulesByStatus", byStatus);
+        stats.put("schedulesByVaccine", byVaccineName(
+                statRepository.sumCountByVaccine(ReportMetric.SCHEDULES, startDate, endDate)));
+        stats.put("schedulesByAgeGroup", byAgeGroup(startDate, endDate));
+        return stats;
+    }
+    
+    @Override
+    public MonthlyReportResponse getMonthlyVaccinationReport(int year, int month) {
+        requireStaff();
+        YearMonth period = YearMonth.of(year, month);
+        return monthlySnapshots.get(period, period, this::computeMonthlyReport).get(0);
+    }
+    
+    @Override
+    public List<MonthlyReportResponse> getMonthlyVaccinationReports(YearMonth from, YearMonth to) {
+        requireStaff();
+        if (from.isAfter(to)) {
+            throw new BadRequestException("The first month must not be after the last month");
+        }
+        if (!from.plusMonths(ReportConstants.MAX_MONTHLY_REPORT_MONTHS).isAfter(to)) {
+            throw new BadRequestException("At most " + ReportConstants.MAX_MONTHLY_REPORT_MONTHS
+                    + " months can be requested at once");
+        }
+        return monthlySnapshots.get(from, to, this::computeMonthlyReport);
+    }
+    
+    /**
+     * Freeze the month that just closed, so its first request is already served from a snapshot.
+     */
+    @Scheduled(cron = "${app.reports.monthly-snapshots.freeze-cron:0 10 0 1 * *}")
+    public void freezeClosedMonth() {
+        YearMonth closed = YearMonth.now().minusMonths(1);
+        monthlySnapshots.get(closed, closed, this::computeMonthlyReport);
+    }
+    
+    @Override
+    public Map<String, Object> getVaccinationCoverageStats() {
+        requireStaff();
+        LocalDate today = LocalDate.now();
+        int bands = ReportConstants.AGE_GROUP_LABELS.length;
+        
+        // Coverage is read from the birth month cohorts of the rollup; a cohort's age band is its age today
+        long[] childrenByBand = new long[bands];
+        for (Object[] row : statRepository.sumCountByDayVaccineAndBucket(ReportMetric.CHILDREN)) {
+            childrenByBand[ageBand((LocalDate) row[0], today)] += ((Number) row[3]).longValue();
+        }
+        long totalChildren = Arrays.stream(childrenByBand).sum();
+        
+        Map<Long, Map<Integer, long[]>> completedByVaccine = new HashMap<>();
+        for (Object[] row : statRepository.sumCountByDayVaccineAndBucket(ReportMetric.COVERAGE)) {
+            long[] byBand = completedByVaccine.computeIfAbsent((Long) row[1], vaccineId -> new TreeMap<>())
+                    .computeIfAbsent(Integer.valueOf((String) row[2]), dose -> new long[bands]);
+            byBand[ageBand((LocalDate) row[0], today)] += ((Number) row[3]).longValue();
+        }
+        
+        List<Map<String, Object>> vaccines = new ArrayList<>();
+        for (Vaccine vaccine : vaccineRepository.findAll()) {
+            int doseCount = vaccine.getDoseCount() != null && vaccine.getDoseCount() > 0 ? vaccine.getDoseCount() : 1;
+            Map<Integer, long[]> byDose = completedByVaccine.computeIfAbsent(vaccine.getId(), vaccineId -> new TreeMap<>());
+            for (int dose = 1; dose <= doseCount; dose++) {
+                byDose.putIfAbsent(dose, new long[bands]);
+            }
+            
+            List<Map<String, Object>> doses = new ArrayList<>();
+            byDose.forEach((dose, byBand) -> doses.add(doseCoverage(dose, byBand, childrenByBand, totalChildren)));
+            long fullyVaccinated = Arrays.stream(byDose.get(doseCount)).sum();
+            
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("vaccineId", vaccine.getId());
+            row.put("vaccineName", vaccine.getName());
+            row.put("doseCount", doseCount);
+            row.put("fullyVaccinated", fullyVaccinated);
+            row.put("fullCoveragePercent", percent(fullyVaccinated, totalChildren));
+            row.put("doses", doses);
+            vaccines.add(row);
+        }
+        
+        Map<String, Long> childrenByAgeBand = new LinkedHashMap<>();
+        for (int band = 0; band < bands; band++) {
+            childrenByAgeBand.put(ReportConstants.AGE_GROUP_LABELS[band], childrenByBand[band]);
+        }
+        
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalChildren", totalChildren);
+        stats.put("childrenByAgeBand", childrenByAgeBand);
+        stats.put("vaccines", vaccines);
+        return stats;
+    }
+    
+    @Override
+    public Map<String, Object> getChildVaccinationStatusReport(Long childId) {
+        // Access to the child is checked by the schedule service
+        List<ScheduleSummaryResponse> schedules = scheduleService.findSummariesByChildId(childId);
+        LocalDate today = LocalDate.now();
+        
+        Map<String, Long> byStatus = new TreeMap<>();
+        List<ScheduleSummaryResponse> completed = new ArrayList<>();
+        List<ScheduleSummaryResponse> upcoming = new ArrayList<>();
+        List<ScheduleSummaryResponse> overdue = new ArrayList<>();
+        for (ScheduleSummaryResponse schedule : schedules) {
+            byStatus.merge(schedule.getStatus(), 1L, Long::sum);
+            String status = schedule.getStatus();
+            if (ScheduleStatus.COMPLETED.name().equals(status)) {
+                completed.add(schedule);
+            } else if (ScheduleStatus.MISSED.name().equals(status)) {
+                overdue.add(schedule);
+            } else if (ScheduleStatus.SCHEDULED.name().equals(status)) {
+                (schedule.getScheduledDate().isBefore(today) ? overdue : upcoming).add(schedule);
+            }
+        }
+        
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("childId", childId);
+        report.put("totalSchedules", schedules.size());
+        report.put("schedulesByStatus", byStatus);
+        report.put("completed", completed);
+        report.put("upcoming", upcoming);
+        report.put("overdue", overdue);
+        return report;
+    }
+    
+    @Override
+    public Map<String, Object> getProviderPerformanceReport(Long providerId) {
+        requireStaff();
+        return providerReportCache.get(providerId, id -> {
+            String name = providerNames(List.of(id)).get(id);
+            if (name == null) {
+                throw new ResourceNotFoundException("Provider", "id", id);
+            }
+            LocalDate today = LocalDate.now();
+            Map<Long, ProviderStats> stats = providerStats(
+                    scheduleRepository.countByProviderAndStatusForProvider(id, today),
+                    vaccinationRepository.sumAdministeredByProviderForProvider(id, today),
+                    reactionRepository.countByProviderForProvider(id, today.atStartOfDay()));
+            return providerReport(id, name, stats.getOrDefault(id, new ProviderStats()), today);
+        });
+    }
+    
+    @Override
+    public List<Map<String, Object>> getProviderLeaderboard() {
+        requireStaff();
+        return providerReportCache.getLeaderboard(() -> {
+            LocalDate today = LocalDate.now();
+            Map<Long, ProviderStats> stats = providerStats(
+                    scheduleRepository.countByProviderAndStatus(today),
+                    vaccinationRepository.sumAdministeredByProvider(today),
+                    reactionRepository.countByProvider(today.atStartOfDay()));
+            Map<Long, String> names = providerNames(stats.keySet());
+            // Rows left pointing at users who are no longer staff have no report
+            stats.keySet().retainAll(names.keySet());
+            
+            List<Map.Entry<Long, ProviderStats>> ranked = new ArrayList<>(stats.entrySet());
+            ranked.sort(Comparator.comparingLong((Map.Entry<Long, ProviderStats> entry) -> entry.getValue().completed)
+                    .reversed()
+                    .thenComparingLong(Map.Entry::getKey));
+            
+            List<Map<String, Object>> reports = new ArrayList<>();
+            for (Map.Entry<Long, ProviderStats> entry : ranked) {
+                reports.add(providerReport(entry.getKey(), names.get(entry.getKey()), entry.getValue(), today));
+            }
+            return reports;
+        }, report -> (Long) report.get("providerId"));
+    }
+    
+    @Override
+    public Map<String, Object> getVaccineInventoryReport() {
+        requireStaff();
+        LocalDate today = LocalDate.now();
+        LocalDate windowEnd = today.plusDays(ReportConstants.INVENTORY_WINDOW_DAYS);
+        LocalDate windowStart = today.minusDays(ReportConstants.INVENTORY_WINDOW_DAYS);
+        
+        // Doses still scheduled in the coming window are the expected demand
+        Map<Long, Long> demand = toCountMap(statRepository.sumCountByVaccineInBucket(
+                ReportMetric.SCHEDULES, ScheduleStatus.SCHEDULED.name(), today, windowEnd), key -> (Long) key);
+        Map<Long, Long> administered = toCountMap(statRepository.sumCountByVaccineInBucket(
+                ReportMetric.SCHEDULES, ScheduleStatus.COMPLETED.name(), windowStart, today), key -> (Long) key);
+        
+        List<Map<String, Object>> vaccines = new ArrayList<>();
+        for (Vaccine vaccine : vaccineRepository.findAll()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("vaccineId", vaccine.getId());
+            row.put("vaccineName", vaccine.getName());
+            row.put("upcomingDoses", demand.getOrDefault(vaccine.getId(), 0L));
+            row.put("administeredDoses", administered.getOrDefault(vaccine.getId(), 0L));
+            vaccines.add(row);
+        }
+        
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("windowDays", ReportConstants.INVENTORY_WINDOW_DAYS);
+        report.put("vaccines", vaccines);
+        return report;
+    }
+    
+    @Override
+    public Map<String, Object> getMissedAppointmentsReport() {
+        requireStaff();
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusMonths(ReportConstants.MISSED_REPORT_MONTHS);
+        
+        Map<String, Long> missedByVaccine = byVaccineName(statRepository.sumCountByVaccineInBucket(
+                ReportMetric.SCHEDULES, ScheduleStatus.MISSED.name(), from, to));
+        
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startDate", from);
+        report.put("endDate", to);
+        report.put("totalMissed", sum(missedByVaccine));
+        report.put("missedByVaccine", missedByVaccine);
+        // Schedules become missed when the nightly job runs; later overdue ones are not counted yet
+        report.put("missedMarkedAt", missedScheduleJob.getLastRunAt());
+        return report;
+    }
+    
+    @Override
+    public long exportVaccinationDataToCsv(VaccinationExportRequest request, OutputStream out) throws IOException {
+        return vaccinationExportService.exportCsv(request, out);
+    }
+    
+    private MonthlyReportResponse computeMonthlyReport(YearMonth period) {
+        LocalDate from = period.atDay(1);
+        LocalDate to = period.atEndOfMonth();
+        
+        Map<String, Long> byStatus = toCountMap(
+                statRepository.sumCountByBucket(ReportMetric.SCHEDULES, from, to), String::valueOf);
+        Map<String, Long> administered = byVaccineName(statRepository.sumCountByVaccineInBucket(
+                ReportMetric.SCHEDULES, ScheduleStatus.COMPLETED.name(), from, to));
+        Map<String, Long> reactions = toCountMap(
+                statRepository.sumCountByBucket(ReportMetric.REACTIONS, from, to), String::valueOf);
+        Map<Long, BigDecimal> revenue = toAmountMap(
+                statRepository.sumAmountByVaccine(ReportMetric.REVENUE, from, to), key -> (Long) key);
+        
+        MonthlyReportResponse result = new MonthlyReportResponse(period.getYear(), period.getMonthValue());
+        result.setTotalSchedules(sum(byStatus));
+        result.setSchedulesByStatus(byStatus);
+        result.setTotalAdministered(sum(administered));
+        result.setAdministeredByVaccine(administered);
+        result.setTotalReactions(sum(reactions));
+        result.setTotalRevenue(revenue.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add));
+        return result;
+    }
+    
+    private void fillSection(ReportSection section, ReportResponse report, LocalDateTime start, LocalDateTime end) {
+        LocalDate from = start.toLocalDate();
+        LocalDate to = end.toLocalDate();
+        switch (section) {
+            case SCHEDULE -> fillScheduleSection(report, from, to);
+            case VACCINE -> fillVaccineSection(report, from, to);
+            case REVENUE -> fillRevenueSection(report, from, to);
+            case CUSTOMER -> fillCustomerSection(report, start, end);
+            case REACTION -> fillReactionSection(report, from, to);
+        }
+    }
+    
+    private static void copySection(ReportSection section, ReportResponse from, ReportResponse to) {
+        switch (section) {
+            case SCHEDULE -> {
+                to.setTotalSchedules(from.getTotalSchedules());
+                to.setCompletedSchedules(from.getCompletedSchedules());
+                to.setPendingSchedules(from.getPendingSchedules());
+                to.setCancelledSchedules(from.getCancelledSchedules());
+                to.setMissedSchedules(from.getMissedSchedules());
+                to.setSchedulesByVaccine(from.getSchedulesByVaccine());
+                to.setSchedulesByAgeGroup(from.getSchedulesByAgeGroup());
+            }
+            case VACCINE -> {
+                to.setTotalVaccinesAdministered(from.getTotalVaccinesAdministered());
+                to.setVaccinesByType(from.getVaccinesByType());
+                to.setMostAdministeredVaccines(from.getMostAdministeredVaccines());
+            }
+            case REVENUE -> {
+                to.setTotalRevenue(from.getTotalRevenue());
+                to.setAverageOrderValue(from.getAverageOrderValue());
+                to.setRevenueByMonth(from.getRevenueByMonth());
+                to.setRevenueByVaccine(from.getRevenueByVaccine());
+            }
+            case CUSTOMER -> {
+                to.setTotalCustomers(from.getTotalCustomers());
+                to.setNewCustomers(from.getNewCustomers());
+                to.setAverageRating(from.getAverageRating());
+                to.setRecentFeedback(from.getRecentFeedback());
+            }
+            case REACTION -> {
+                to.setTotalReactions(from.getTotalReactions());
+                to.setSevereReactions(from.getSevereReactions());
+                to.setReactionsBySeverity(from.getReactionsBySeverity());
+                to.setReactionsByVaccine(from.getReactionsByVaccine());
+            }
+        }
+    }
+    
+    private void fillScheduleSection(ReportResponse report, LocalDate from, LocalDate to) {
+        Map<String, Long> byStatus = toCountMap(
+                statRepository.sumCountByBucket(ReportMetric.SCHEDULES, from, to), String::valueOf);
+        
+        report.setTotalSchedules(sum(byStatus));
+        report.setCompletedSchedules(byStatus.getOrDefault(ScheduleStatus.COMPLETED.name(), 0L));
+        report.setPendingSchedules(byStatus.getOrDefault(ScheduleStatus.SCHEDULED.name(), 0L));
+        // Schedules have no cancelled status; a schedule that will not take place is postponed or missed
+        report.setCancelledSchedules(0);
+        report.setMissedSchedules(byStatus.getOrDefault(ScheduleStatus.MISSED.name(), 0L));
+        report.setSchedulesByVaccine(byVaccineName(statRepository.sumCountByVaccine(ReportMetric.SCHEDULES, from, to)));
+        report.setSchedulesByAgeGroup(byAgeGroup(from, to));
+    }
+    
+    private void fillVaccineSection(ReportResponse report, LocalDate from, LocalDate to) {
+        Map<Long, Long> administered = toCountMap(statRepository.sumCountByVaccineInBucket(
+                ReportMetric.SCHEDULES, ScheduleStatus.COMPLETED.name(), from, to), key -> (Long) key);
+        Map<Long, Vaccine> vaccines = loadVaccines(administered.keySet());
+        
+        Map<String, Long> byName = new HashMap<>();
+        administered.forEach((vaccineId, count) -> {
+            Vaccine vaccine = vaccines.get(vaccineId);
+            byName.merge(vaccine != null ? vaccine.getName() : UNATTRIBUTED, count, Long::sum);
+        });
+        
+        report.setTotalVaccinesAdministered(sum(byName));
+        // Vaccines have no type column, so there is nothing to break the total down by
+        report.setVaccinesByType(new LinkedHashMap<>());
+        report.setMostAdministeredVaccines(sortedByValue(byName, ReportConstants.TOP_VACCINES_LIMIT));
+    }
+    
+    private void fillRevenueSection(ReportResponse report, LocalDate from, LocalDate to) {
+        Map<Long, BigDecimal> byVaccineId = toAmountMap(
+                statRepository.sumAmountByVaccine(ReportMetric.REVENUE, from, to), key -> (Long) key);
+        Map<Long, Vaccine> vaccines = loadVaccines(byVaccineId.keySet());
+        
+        Map<String, BigDecimal> byVaccine = new TreeMap<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map.Entry<Long, BigDecimal> entry : byVaccineId.entrySet()) {
+            Vaccine vaccine = vaccines.get(entry.getKey());
+            byVaccine.merge(vaccine != null ? vaccine.getName() : UNATTRIBUTED, entry.getValue(), BigDecimal::add);
+            total = total.add(entry.getValue());
+        }
+        
+        Map<String, BigDecimal> byMonth = new LinkedHashMap<>();
+        for (Object[] row : statRepository.sumAmountByMonth(ReportMetric.REVENUE, from, to)) {
+            byMonth.put(String.format("%d-%02d", ((Number) row[0]).intValue(), ((Number) row[1]).intValue()),
+                    (BigDecimal) row[2]);
+        }
+        
+        long payments = paymentRepository.countCompletedByPaymentDateRange(
+                from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        
+        report.setTotalRevenue(total);
+        report.setAverageOrderValue(payments == 0 ? BigDecimal.ZERO
+                : total.divide(BigDecimal.valueOf(payments), ReportConstants.MONEY_SCALE, RoundingMode.HALF_UP));
+        report.setRevenueByVaccine(byVaccine);
+        report.setRevenueByMonth(byMonth);
+    }
+    
+    private void fillCustomerSection(ReportResponse report, LocalDateTime startDate, LocalDateTime endDate) {
+        Double averageRating = feedbackRepository.calculateAverageRatingBetween(startDate, endDate);
+        
+        report.setTotalCustomers(userRepository.countByRole(Role.ROLE_CUSTOMER.name()));
+        report.setNewCustomers(orderRepository.countNewCustomersBetween(startDate, endDate));
+        report.setAverageRating(averageRating != null ? averageRating : 0.0);
+        report.setRecentFeedback(feedbackMapper.toFeedbackResponseList(
+                feedbackRepository.findByCreatedAtBetweenOrderByCreatedAtDesc(
+                        startDate, endDate, PageRequest.of(0, ReportConstants.RECENT_FEEDBACK_LIMIT))));
+    }
+    
+    private void fillReactionSection(ReportResponse report, LocalDate from, LocalDate to) {
+        Map<Integer, Long> bySeverity = toCountMap(
+                statRepository.sumCountByBucket(ReportMetric.REACTIONS, from, to),
+                key -> Integer.valueOf((String) key));
+        
+        long severe = 0;
+        for (Map.Entry<Integer, Long> entry : bySeverity.entrySet()) {
+            if (entry.getKey() >= ReportConstants.SEVERE_REACTION_THRESHOLD) {
+                severe += entry.getValue();
+            }
+        }
+        
+        report.setTotalReactions(sum(bySeverity));
+        report.setSevereReactions(severe);
+        report.setReactionsBySeverity(new TreeMap<>(bySeverity));
+        report.setReactionsByVaccine(byVaccineName(statRepository.sumCountByVaccine(ReportMetric.REACTIONS, from, to)));
+    }
+    
+    /**
+     * Resolve [vaccine id, count] rows to vaccine names, largest count first.
+     */
+    private Map<String, Long> byVaccineName(List<Object[]> rows) {
+        Map<Long, Long> byId = toCountMap(rows, key -> (Long) key);
+        Map<Long, Vaccine> vaccines = loadVaccines(byId.keySet());
+        
+        Map<String, Long> byName = new HashMap<>();
+        byId.forEach((vaccineId, count) -> {
+            Vaccine vaccine = vaccines.get(vaccineId);
+            byName.merge(vaccine != null ? vaccine.getName() : UNATTRIBUTED, count, Long::sum);
+        });
+        return sortedByValue(byName, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Count schedules per age group of the child on the scheduled day, from the schedule column store.
+     */
+    private Map<String, Long> byAgeGroup(LocalDate from, LocalDate to) {
+        long[] counts = scheduleColumnStore.countByAgeGroup(from, to, ReportConstants.AGE_GROUP_UPPER_DAYS);
+        
+        Map<String, Long> byGroup = new LinkedHashMap<>();
+        for (int group = 0; group < counts.length; group++) {
+            byGroup.put(ReportConstants.AGE_GROUP_LABELS[group], counts[group]);
+        }
+        return byGroup;
+    }
+    
+    /**
+     * Coverage of one dose, overall and per age band.
+     */
+    private static Map<String, Object> doseCoverage(int dose, long[] completedByBand, long[] childrenByBand,
+                                                    long totalChildren) {
+        Map<String, Double> byBand = new LinkedHashMap<>();
+        long completed = 0;
+        for (int band = 0; band < completedByBand.length; band++) {
+            completed += completedByBand[band];
+            byBand.put(ReportConstants.AGE_GROUP_LABELS[band], percent(completedByBand[band], childrenByBand[band]));
+        }
+        
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("doseNumber", dose);
+        row.put("childrenCompleted", completed);
+        row.put("coveragePercent", percent(completed, totalChildren));
+        row.put("coveragePercentByAgeBand", byBand);
+        return row;
+    }
+    
+    /**
+     * Age group, from the report age groups, of children born in a given month as of today.
+     */
+    private static int ageBand(LocalDate birthMonth, LocalDate today) {
+        long ageDays = ChronoUnit.DAYS.between(birthMonth, today);
+        int[] bounds = ReportConstants.AGE_GROUP_UPPER_DAYS;
+        int band = 0;
+        while (band < bounds.length && ageDays >= bounds[band]) {
+            band++;
+        }
+        return band;
+    }
+    
+    private static double percent(long part, long whole) {
+        return whole == 0 ? 0.0 : part * 100.0 / whole;
+    }
+    
+    /**
+     * Sum the rows per provider. Each metric has one source, so a dose with both a schedule
+     * and a vaccination record is counted once: schedule totals and outcomes come from the
+     * schedules, administered doses and their delay from the vaccinations, which are also
+     * what the reactions are recorded against.
+     */
+    private static Map<Long, ProviderStats> providerStats(List<Object[]> scheduleRows,
+                                                          List<Object[]> administeredRows,
+                                                          List<Object[]> reactionRows) {
+        Map<Long, ProviderStats> stats = new HashMap<>();
+        for (Object[] row : scheduleRows) {
+            ProviderStats provider = stats.computeIfAbsent((Long) row[0], id -> new ProviderStats());
+            long count = ((Number) row[2]).longValue();
+            provider.total += count;
+            if (row[1] == ScheduleStatus.COMPLETED) {
+                provider.completed += count;
+            } else if (row[1] == ScheduleStatus.MISSED) {
+                provider.missed += count;
+            }
+        }
+        for (Object[] row : administeredRows) {
+            ProviderStats provider = stats.computeIfAbsent((Long) row[0], id -> new ProviderStats());
+            provider.administered += ((Number) row[1]).longValue();
+            if (row[2] != null) {
+                provider.delayDays += ((Number) row[2]).longValue();
+            }
+        }
+        for (Object[] row : reactionRows) {
+            stats.computeIfAbsent((Long) row[0], id -> new ProviderStats()).reactions += ((Number) row[1]).longValue();
+        }
+        return stats;
+    }
+    
+    // Vaccinations are administered by staff, so only staff users have a provider report
+    private static boolean isProvider(User user) {
+        return Role.ROLE_STAFF.name().equals(user.getRole()) || Role.ROLE_ADMIN.name().equals(user.getRole());
+    }
+    
+    private static Map<String, Object> providerReport(Long providerId, String providerName, ProviderStats stats,
+                                                      LocalDate today) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("providerId", providerId);
+        report.put("providerName", providerName);
+        report.put("coveredUntil", today.minusDays(1));
+        report.put("totalSchedules", stats.total);
+        report.put("completedSchedules", stats.completed);
+        report.put("missedSchedules", stats.missed);
+        report.put("completionRate", percent(stats.completed, stats.total));
+        report.put("missedRate", percent(stats.missed, stats.total));
+        report.put("averageDelayDays", stats.administered == 0 ? 0.0 : (double) stats.delayDays / stats.administered);
+        report.put("totalReactions", stats.reactions);
+        report.put("reactionRate", percent(stats.reactions, stats.administered));
+        return report;
+    }
+    
+    /**
+     * @return the names of the given users that are providers, by id
+     */
+    private Map<Long, String> providerNames(Collection<Long> ids) {
+        Map<Long, String> names = new HashMap<>();
+        for (User user : userRepository.findAllById(ids)) {
+            if (isProvider(user)) {
+                names.put(user.getId(), user.getFirstName() + " " + user.getLastName());
+            }
+        }
+        return names;
+    }
+    
+    private Map<Long, Vaccine> loadVaccines(Iterable<Long> ids) {
+        Map<Long, Vaccine> vaccines = new HashMap<>();
+        for (Vaccine vaccine : vaccineRepository.findAllById(ids)) {
+            vaccines.put(vaccine.getId(), vaccine);
+        }
+        return vaccines;
+    }
+    
+    private static <K> Map<K, Long> toCountMap(List<Object[]> rows, Function<Object, K> key) {
+        Map<K, Long> result = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            long count = ((Number) row[1]).longValue();
+            if (count != 0) {
+                result.merge(key.apply(row[0]), count, Long::sum);
+            }
+        }
+        return result;
+    }
+    
+    private static <K> Map<K, BigDecimal> toAmountMap(List<Object[]> rows, Function<Object, K> key) {
+        Map<K, BigDecimal> result = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            BigDecimal amount = (BigDecimal) row[1];
+            if (amount != null && amount.signum() != 0) {
+                result.merge(key.apply(row[0]), amount, BigDecimal::add);
+            }
+        }
+        return result;
+    }
+    
+    private static Map<String, Long> sortedByValue(Map<String, Long> values, int limit) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        values.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(limit)
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+    
+    private static long sum(Map<?, Long> counts) {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+    
+    private static ReportResponse newReport(String type, LocalDateTime startDate, LocalDateTime endDate) {
+        ReportResponse report = new ReportResponse();
+        report.setReportType(type);
+        report.setStartDate(startDate);
+        report.setEndDate(endDate);
+        return report;
+    }
+    
+    private void requireStaff() {
+        if (!userService.getCurrentPrincipal().isStaff()) {
+            throw new UnauthorizedException("Only staff can view reports");
+        }
+    }
+    
+    /**
+     * Totals of one provider's schedules, administered vaccinations and reactions to them.
+     */
+    private static final class ProviderStats {
+        
+        private long total;
+        private long completed;
+        private long missed;
+        private long administered;
+        private long delayDays;
+        private long reactions;
+    }
+}
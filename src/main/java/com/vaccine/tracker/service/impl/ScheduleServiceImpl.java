@@ -1,26 +1,33 @@
 package com.vaccine.tracker.service.impl;
 
+import com.vaccine.tracker.dto.request.PageCursor;
 import com.vaccine.tracker.dto.request.ScheduleRequest;
+import com.vaccine.tracker.dto.response.ScheduleSummaryResponse;
 import com.vaccine.tracker.entity.Child;
+import com.vaccine.tracker.entity.DailyReportStat;
 import com.vaccine.tracker.entity.Schedule;
-import com.vaccine.tracker.entity.User;
 import com.vaccine.tracker.entity.Vaccine;
 import com.vaccine.tracker.enums.Role;
 import com.vaccine.tracker.enums.ScheduleStatus;
 import com.vaccine.tracker.exception.BadRequestException;
-import com.vaccine.tracker.exception.ResourceNotFoundException;
 import com.vaccine.tracker.exception.UnauthorizedException;
 import com.vaccine.tracker.mapper.ScheduleMapper;
 import com.vaccine.tracker.repository.ScheduleRepository;
+import com.vaccine.tracker.security.AccessPolicy;
+import com.vaccine.tracker.security.UserPrincipal;
 import com.vaccine.tracker.service.ChildService;
+import com.vaccine.tracker.service.ReportRollupService;
+import com.vaccine.tracker.service.ScheduleColumnStore;
 import com.vaccine.tracker.service.ScheduleService;
 import com.vaccine.tracker.service.UserService;
 import com.vaccine.tracker.service.VaccineService;
 import com.vaccine.tracker.validator.ScheduleValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -33,6 +40,9 @@ public class ScheduleServiceImpl implements ScheduleService {
     @Autowired
     private ScheduleRepository scheduleRepository;
     
+    @Autowired
+    private AccessPolicy accessPolicy;
+    
     @Autowired
     private ChildService childService;
     
@@ -48,17 +58,15 @@ public class ScheduleServiceImpl implements ScheduleService {
     @Autowired
     private ScheduleValidator scheduleValidator;
     
+    @Autowired
+    private ReportRollupService reportRollupService;
+    
+    @Autowired
+    private ScheduleColumnStore scheduleColumnStore;
+    
     @Override
     public Schedule findById(Long id) {
-        Schedule schedule = scheduleRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Schedule not found with id: " + id));
-        
-        // Check permission
-        if (!hasPermission(id)) {
-            throw new UnauthorizedException("You don't have permission to access this schedule");
-        }
-        
-        return schedule;
+        return accessPolicy.loadSchedule(id);
     }
     
     @Override
@@ -83,47 +91,20 @@ public class ScheduleServiceImpl implements ScheduleService {
     
     @Override
     public List<Schedule> findByVaccine(Vaccine vaccine) {
-        User currentUser = userService.getCurrentUser();
-        
-        // Only staff and admin can see all schedules for a vaccine
-        if (currentUser.getRole() == Role.ROLE_ADMIN || currentUser.getRole() == Role.ROLE_STAFF) {
-            return scheduleRepository.findByVaccine(vaccine);
-        } else {
-            // For customers, filter to only show their children's schedules
-            return scheduleRepository.findByVaccine(vaccine).stream()
-                    .filter(schedule -> schedule.getChild().getParent().getId().equals(currentUser.getId()))
-                    .toList();
-        }
+        // Customers only see their children's schedules through the parent scope filter
+        return scheduleRepository.findByVaccine(vaccine);
     }
     
     @Override
     public List<Schedule> findByVaccineId(Long vaccineId) {
-        User currentUser = userService.getCurrentUser();
-        
-        // Only staff and admin can see all schedules for a vaccine
-        if (currentUser.getRole() == Role.ROLE_ADMIN || currentUser.getRole() == Role.ROLE_STAFF) {
-            return scheduleRepository.findByVaccineId(vaccineId);
-        } else {
-            // For customers, filter to only show their children's schedules
-            return scheduleRepository.findByVaccineId(vaccineId).stream()
-                    .filter(schedule -> schedule.getChild().getParent().getId().equals(currentUser.getId()))
-                    .toList();
-        }
+        // Customers only see their children's schedules through the parent scope filter
+        return scheduleRepository.findByVaccineId(vaccineId);
     }
     
     @Override
     public List<Schedule> findByStatus(ScheduleStatus status) {
-        User currentUser = userService.getCurrentUser();
-        
-        // Only staff and admin can see all schedules by status
-        if (currentUser.getRole() == Role.ROLE_ADMIN || currentUser.getRole() == Role.ROLE_STAFF) {
-            return scheduleRepository.findByStatus(status);
-        } else {
-            // For customers, filter to only show their children's schedules
-            return scheduleRepository.findByStatus(status).stream()
-                    .filter(schedule -> schedule.getChild().getParent().getId().equals(currentUser.getId()))
-                    .toList();
-        }
+        // Customers only see their children's schedules through the parent scope filter
+        return scheduleRepository.findByStatus(status);
     }
     
     @Override
@@ -147,7 +128,10 @@ public class ScheduleServiceImpl implements ScheduleService {
         // Create and save new schedule
         Schedule schedule = scheduleMapper.toSchedule(scheduleRequest, child, vaccine);
         
-        return scheduleRepository.save(schedule);
+        Schedule saved = scheduleRepository.save(schedule);
+        reportRollupService.recordChanges(List.of(), reportRollupService.scheduleFacts(saved));
+        scheduleColumnStore.record(saved);
+        return saved;
     }
     
     @Override
@@ -176,9 +160,10 @@ public class ScheduleServiceImpl implements ScheduleService {
         checkScheduleConflicts(child, scheduleRequest.getScheduleDate(), id);
         
         // Update schedule properties
+        List<DailyReportStat> before = reportRollupService.scheduleFacts(schedule);
         scheduleMapper.updateScheduleFromRequest(schedule, scheduleRequest, child, vaccine);
         
-        return scheduleRepository.save(schedule);
+        return saveAndRecord(schedule, before);
     }
     
     @Override
@@ -192,13 +177,15 @@ public class ScheduleServiceImpl implements ScheduleService {
         }
         
         // Check permission
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         if (currentUser.getRole() != Role.ROLE_ADMIN && 
             currentUser.getRole() != Role.ROLE_STAFF && 
             !schedule.getChild().getParent().getId().equals(currentUser.getId())) {
             throw new UnauthorizedException("You don't have permission to delete this schedule");
         }
         
+        reportRollupService.recordChanges(reportRollupService.scheduleFacts(schedule), List.of());
+        scheduleColumnStore.remove(schedule.getId());
         scheduleRepository.delete(schedule);
     }
     
@@ -218,37 +205,19 @@ public class ScheduleServiceImpl implements ScheduleService {
     
     @Override
     public List<Schedule> findByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        User currentUser = userService.getCurrentUser();
-        
-        // Only staff and admin can see all schedules in a date range
-        if (currentUser.getRole() == Role.ROLE_ADMIN || currentUser.getRole() == Role.ROLE_STAFF) {
-            return scheduleRepository.findByScheduleDateBetween(startDate, endDate);
-        } else {
-            // For customers, filter to only show their children's schedules
-            return scheduleRepository.findByScheduleDateBetween(startDate, endDate).stream()
-                    .filter(schedule -> schedule.getChild().getParent().getId().equals(currentUser.getId()))
-                    .toList();
-        }
+        // Customers only see their children's schedules through the parent scope filter
+        return scheduleRepository.findByScheduleDateBetween(startDate, endDate);
     }
     
     @Override
     public List<Schedule> findByDateRangeAndStatus(LocalDateTime startDate, LocalDateTime endDate, ScheduleStatus status) {
-        User currentUser = userService.getCurrentUser();
-        
-        // Only staff and admin can see all schedules in a date range with status
-        if (currentUser.getRole() == Role.ROLE_ADMIN || currentUser.getRole() == Role.ROLE_STAFF) {
-            return scheduleRepository.findByScheduleDateBetweenAndStatus(startDate, endDate, status);
-        } else {
-            // For customers, filter to only show their children's schedules
-            return scheduleRepository.findByScheduleDateBetweenAndStatus(startDate, endDate, status).stream()
-                    .filter(schedule -> schedule.getChild().getParent().getId().equals(currentUser.getId()))
-                    .toList();
-        }
+        // Customers only see their children's schedules through the parent scope filter
+        return scheduleRepository.findByScheduleDateBetweenAndStatus(startDate, endDate, status);
     }
     
     @Override
     public List<Schedule> findByParentId(Long parentId) {
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         
         // Only staff, admin, or the parent can see the parent's children's schedules
         if (currentUser.getRole() == Role.ROLE_ADMIN || 
@@ -260,13 +229,56 @@ public class ScheduleServiceImpl implements ScheduleService {
         }
     }
     
+    @Override
+    public Slice<ScheduleSummaryResponse> findPageByParentId(Long parentId, PageCursor cursor, int size) {
+        if (!userService.getCurrentPrincipal().canAccessParent(parentId)) {
+            throw new UnauthorizedException("You don't have permission to access these schedules");
+        }
+        
+        if (cursor == null) {
+            return scheduleRepository.findFirstPageByParentId(parentId, PageCursor.limit(size));
+        }
+        return scheduleRepository.findPageByParentIdAfter(
+                parentId, cursor.getKeyAsDate(), cursor.getId(), PageCursor.limit(size));
+    }
+    
+    @Override
+    public List<ScheduleSummaryResponse> findSummariesByChildId(Long childId) {
+        if (!childService.hasPermission(childId)) {
+            throw new UnauthorizedException("You don't have permission to access this child's schedules");
+        }
+        
+        return scheduleRepository.findSummariesByChildId(childId);
+    }
+    
+    @Override
+    public List<ScheduleSummaryResponse> findUpcomingSummariesForChild(Long childId) {
+        if (!childService.hasPermission(childId)) {
+            throw new UnauthorizedException("You don't have permission to access this child's schedules");
+        }
+        
+        return scheduleRepository.findUpcomingSummariesByChildId(childId, LocalDate.now());
+    }
+    
+    @Override
+    public List<ScheduleSummaryResponse> findSummariesByStatus(ScheduleStatus status) {
+        // Customers only see their children's schedules through the parent scope filter
+        return scheduleRepository.findSummariesByStatus(status);
+    }
+    
+    @Override
+    public List<ScheduleSummaryResponse> findSummariesByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        // Customers only see their children's schedules through the parent scope filter
+        return scheduleRepository.findSummariesByScheduledDateBetween(startDate.toLocalDate(), endDate.toLocalDate());
+    }
+    
     @Override
     @Transactional
     public Schedule updateStatus(Long id, ScheduleStatus status, String notes) {
         Schedule schedule = findById(id);
         
         // Only staff and admin can update schedule status
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         if (currentUser.getRole() != Role.ROLE_ADMIN && currentUser.getRole() != Role.ROLE_STAFF) {
             throw new UnauthorizedException("Only staff can update schedule status");
         }
@@ -276,12 +288,13 @@ public class ScheduleServiceImpl implements ScheduleService {
             throw new BadRequestException("Schedule cannot be modified (status: " + schedule.getStatus() + ")");
         }
         
+        List<DailyReportStat> before = reportRollupService.scheduleFacts(schedule);
         schedule.setStatus(status);
         if (notes != null && !notes.trim().isEmpty()) {
             schedule.setNotes(notes);
         }
         
-        return scheduleRepository.save(schedule);
+        return saveAndRecord(schedule, before);
     }
     
     @Override
@@ -295,16 +308,17 @@ public class ScheduleServiceImpl implements ScheduleService {
         }
         
         // Check permission
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         if (currentUser.getRole() != Role.ROLE_ADMIN && 
             currentUser.getRole() != Role.ROLE_STAFF && 
             !schedule.getChild().getParent().getId().equals(currentUser.getId())) {
             throw new UnauthorizedException("You don't have permission to cancel this schedule");
         }
         
+        List<DailyReportStat> before = reportRollupService.scheduleFacts(schedule);
         schedule.cancel(reason);
         
-        return scheduleRepository.save(schedule);
+        return saveAndRecord(schedule, before);
     }
     
     @Override
@@ -313,11 +327,12 @@ public class ScheduleServiceImpl implements ScheduleService {
         Schedule schedule = findById(id);
         
         // Only staff and admin can complete schedules
-        User currentUser = userService.getCurrentUser();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         if (currentUser.getRole() != Role.ROLE_ADMIN && currentUser.getRole() != Role.ROLE_STAFF) {
             throw new UnauthorizedException("Only staff can complete schedules");
         }
         
+        List<DailyReportStat> before = reportRollupService.scheduleFacts(schedule);
         schedule.setStatus(ScheduleStatus.COMPLETED);
         schedule.setCompletedDate(LocalDateTime.now());
         
@@ -325,22 +340,26 @@ public class ScheduleServiceImpl implements ScheduleService {
             schedule.setNotes(notes);
         }
         
-        return scheduleRepository.save(schedule);
+        return saveAndRecord(schedule, before);
     }
     
     @Override
     public boolean hasPermission(Long scheduleId) {
-        User currentUser = userService.getCurrentUser();
-        Schedule schedule = scheduleRepository.findById(scheduleId)
-                .orElseThrow(() -> new ResourceNotFoundException("Schedule not found with id: " + scheduleId));
-        
-        // Admin and staff can access any schedule
-        if (currentUser.getRole() == Role.ROLE_ADMIN || currentUser.getRole() == Role.ROLE_STAFF) {
-            return true;
-        }
-        
-        // Customers can only access their children's schedules
-        return schedule.getChild().getParent().getId().equals(currentUser.getId());
+        return accessPolicy.canAccessSchedule(scheduleId);
+    }
+    
+    /**
+     * Save a schedule and record its move in the report rollup and the schedule column store.
+     * 
+     * @param schedule the modified schedule
+     * @param before the schedule's rollup facts taken before it was modified
+     * @return the saved schedule
+     */
+    private Schedule saveAndRecord(Schedule schedule, List<DailyReportStat> before) {
+        Schedule saved = scheduleRepository.save(schedule);
+        reportRollupService.recordChanges(before, reportRollupService.scheduleFacts(saved));
+        scheduleColumnStore.record(saved);
+        return saved;
     }
     
     /**
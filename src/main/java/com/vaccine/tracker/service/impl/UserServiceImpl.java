@@ -1,5 +1,6 @@
 package com.vaccine.tracker.service.impl;
 
+import com.vaccine.tracker.dto.request.PageCursor;
 import com.vaccine.tracker.dto.request.RegisterRequest;
 import com.vaccine.tracker.dto.response.UserResponse;
 import com.vaccine.tracker.entity.User;
@@ -8,9 +9,13 @@ import com.vaccine.tracker.exception.BadRequestException;
 import com.vaccine.tracker.exception.ResourceNotFoundException;
 import com.vaccine.tracker.exception.UnauthorizedException;
 import com.vaccine.tracker.mapper.UserMapper;
+import com.vaccine.tracker.repository.TouchColumnWriter;
 import com.vaccine.tracker.repository.UserRepository;
+import com.vaccine.tracker.security.UserDetailsCache;
+import com.vaccine.tracker.security.UserPrincipal;
 import com.vaccine.tracker.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -35,6 +40,12 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private UserMapper userMapper;
     
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+    
+    @Autowired
+    private TouchColumnWriter lastLoginWriter;
+    
     @Override
     public User findById(Long id) {
         return userRepository.findById(id)
@@ -90,13 +101,21 @@ public class UserServiceImpl implements UserService {
         User user = findById(id);
         
         // Check if current user is authorized to update this user
-        User currentUser = getCurrentUser();
+        UserPrincipal currentUser = getCurrentPrincipal();
         if (!currentUser.getRole().equals(Role.ROLE_ADMIN) && !currentUser.getId().equals(id)) {
             throw new UnauthorizedException("You are not authorized to update this user");
         }
         
+        boolean wasEnabled = user.isEnabled();
         userMapper.updateUserFromResponse(user, userResponse);
         
+        // Only a change of the enabled flag invalidates the user's tokens
+        if (user.isEnabled() != wasEnabled) {
+            userDetailsCache.revokeTokens(user.getUsername());
+        } else {
+            userDetailsCache.evict(user.getUsername());
+        }
+        
         return userRepository.save(user);
     }
     
@@ -107,12 +126,13 @@ public class UserServiceImpl implements UserService {
         User user = findById(id);
         
         // Check if current user is authorized to delete this user
-        User currentUser = getCurrentUser();
+        UserPrincipal currentUser = getCurrentPrincipal();
         if (!currentUser.getRole().equals(Role.ROLE_ADMIN) && !currentUser.getId().equals(id)) {
             throw new UnauthorizedException("You are not authorized to delete this user");
         }
         
         userRepository.delete(user);
+        userDetailsCache.revokeTokens(user.getUsername());
     }
     
     @Override
@@ -120,6 +140,14 @@ public class UserServiceImpl implements UserService {
         return userRepository.findAll();
     }
     
+    @Override
+    public Slice<User> findAllPage(PageCursor cursor, int size) {
+        if (cursor == null) {
+            return userRepository.findFirstPage(PageCursor.limit(size));
+        }
+        return userRepository.findPageAfter(cursor.getKey(), cursor.getId(), PageCursor.limit(size));
+    }
+    
     @Override
     public List<User> findByRole(Role role) {
         return userRepository.findByRole(role);
@@ -131,11 +159,9 @@ public class UserServiceImpl implements UserService {
     }
     
     @Override
-    @Transactional
     public void updateLastLogin(String username) {
-        User user = findByUsername(username);
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
+        // Coalesced in memory and written in batches; see TouchColumnWriter
+        lastLoginWriter.touch(username, LocalDateTime.now());
     }
     
     @Override
@@ -143,6 +169,7 @@ public class UserServiceImpl implements UserService {
     public User updateEnabledStatus(Long id, boolean enabled) {
         User user = findById(id);
         user.setEnabled(enabled);
+        userDetailsCache.revokeTokens(user.getUsername());
         return userRepository.save(user);
     }
     
@@ -150,12 +177,13 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public User changeRole(Long id, Role role) {
         // Only admin can change roles
-        if (!getCurrentUser().getRole().equals(Role.ROLE_ADMIN)) {
+        if (!getCurrentPrincipal().getRole().equals(Role.ROLE_ADMIN)) {
             throw new UnauthorizedException("Only administrators can change user roles");
         }
         
         User user = findById(id);
         user.setRole(role);
+        userDetailsCache.revokeTokens(user.getUsername());
         return userRepository.save(user);
     }
     
@@ -165,7 +193,7 @@ public class UserServiceImpl implements UserService {
         User user = findById(id);
         
         // Check if current user is authorized to change this user's password
-        User currentUser = getCurrentUser();
+        UserPrincipal currentUser = getCurrentPrincipal();
         if (!currentUser.getRole().equals(Role.ROLE_ADMIN) && !currentUser.getId().equals(id)) {
             throw new UnauthorizedException("You are not authorized to change this user's password");
         }
@@ -180,20 +208,27 @@ public class UserServiceImpl implements UserService {
         // Update password
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        userDetailsCache.revokeTokens(user.getUsername());
         
         return true;
     }
     
     @Override
     public User getCurrentUser() {
+        // Primary key lookup: repeated calls within one request are served from
+        // the persistence context instead of issuing another users query
+        return findById(getCurrentPrincipal().getId());
+    }
+    
+    @Override
+    public UserPrincipal getCurrentPrincipal() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         
         if (authentication == null || !authentication.isAuthenticated() || 
-                "anonymousUser".equals(authentication.getPrincipal())) {
+                !(authentication.getPrincipal() instanceof UserPrincipal)) {
             throw new UnauthorizedException("User not authenticated");
         }
         
-        String username = authentication.getName();
-        return findByUsername(username);
+        return (UserPrincipal) authentication.getPrincipal();
     }
-}
+}
\ No newline at end of file
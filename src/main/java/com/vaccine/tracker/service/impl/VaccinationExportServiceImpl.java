@@ -0,0 +1,189 @@
+package com.vaccine.tracker.service.impl;
+
+import com.vaccine.tracker.constant.ExportConstants;
+import com.vaccine.tracker.dto.request.VaccinationExportRequest;
+import com.vaccine.tracker.entity.Vaccination;
+import com.vaccine.tracker.enums.VaccinationExportColumn;
+import com.vaccine.tracker.exception.BadRequestException;
+import com.vaccine.tracker.exception.UnauthorizedException;
+import com.vaccine.tracker.repository.VaccinationRepository;
+import com.vaccine.tracker.service.UserService;
+import com.vaccine.tracker.service.VaccinationExportService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Implementation of VaccinationExportService interface.
+ * The date range is split into partitions, each read through its own short
+ * read-only transaction and database cursor, and every row is written as soon
+ * as it is read. The persistence context is cleared at a fixed interval, so
+ * heap use stays bounded by the fetch size and output buffer, not the registry size.
+ */
+@Service
+public class VaccinationExportServiceImpl implements VaccinationExportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(VaccinationExportServiceImpl.class);
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String LINE_END = "\r\n";
+    
+    @Autowired
+    private VaccinationRepository vaccinationRepository;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public long exportCsv(VaccinationExportRequest request, OutputStream out) throws IOException {
+        if (!userService.getCurrentPrincipal().isStaff()) {
+            throw new UnauthorizedException("Only staff can export vaccination data");
+        }
+        
+        List<VaccinationExportColumn> columns = request.getColumns() == null || request.getColumns().isEmpty()
+                ? Arrays.asList(VaccinationExportColumn.values())
+                : request.getColumns();
+        boolean withDetails = columns.stream().anyMatch(VaccinationExportColumn::needsAssociation);
+        
+        LocalDate startDate = request.getStartDate() != null
+                ? request.getStartDate() : vaccinationRepository.findMinScheduledDate();
+        LocalDate endDate = request.getEndDate() != null
+                ? request.getEndDate() : vaccinationRepository.findMaxScheduledDate();
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new BadRequestException("Start date must not be after end date");
+        }
+        
+        GZIPOutputStream gzip = request.isGzip() ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(gzip != null ? gzip : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        
+        writeHeader(writer, columns);
+        
+        long started = System.nanoTime();
+        long rows = 0;
+        
+        // Both bounds are null only when the registry is empty
+        if (startDate != null && endDate != null) {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            
+            try {
+                for (LocalDate from = startDate; !from.isAfter(endDate); from = from.plusDays(request.getPartitionDays())) {
+                    LocalDate partitionStart = from;
+                    LocalDate partitionEnd = min(from.plusDays(request.getPartitionDays()), endDate.plusDays(1));
+                    rows += transaction.execute(status ->
+                            writePartition(writer, columns, withDetails, partitionStart, partitionEnd));
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        
+        writer.flush();
+        if (gzip != null) {
+            gzip.finish();
+        }
+        out.flush();
+        
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        logger.info("Exported {} vaccination rows in {} ms ({} rows/s)", rows, elapsedMillis, rows * 1000 / elapsedMillis);
+        
+        return rows;
+    }
+    
+    /**
+     * Stream one partition, [startDate, endDate), to the writer.
+     */
+    private long writePartition(Writer writer, List<VaccinationExportColumn> columns, boolean withDetails,
+                                LocalDate startDate, LocalDate endDate) {
+        long count = 0;
+        
+        try (Stream<Vaccination> stream = withDetails
+                ? vaccinationRepository.streamWithDetailsByScheduledDateRange(startDate, endDate)
+                : vaccinationRepository.streamByScheduledDateRange(startDate, endDate)) {
+            Iterator<Vaccination> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                writeRow(writer, columns, iterator.next());
+                
+                if (++count % ExportConstants.STREAM_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        
+        entityManager.clear();
+        return count;
+    }
+    
+    private void writeHeader(Writer writer, List<VaccinationExportColumn> columns) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(columns.get(i).getHeader());
+        }
+        writer.write(LINE_END);
+    }
+    
+    private void writeRow(Writer writer, List<VaccinationExportColumn> columns, Vaccination vaccination)
+            throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = columns.get(i).valueOf(vaccination);
+            if (value != null) {
+                writer.write(escape(value));
+            }
+        }
+        writer.write(LINE_END);
+    }
+    
+    /**
+     * Quote a value per RFC 4180, and neutralize text that a spreadsheet would run as a formula.
+     */
+    private static String escape(Object value) {
+        String text = value.toString();
+        
+        if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+    
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -1,5 +1,6 @@
 package com.vaccine.tracker.service.impl;
 
+import com.vaccine.tracker.constant.SearchConstants;
 import com.vaccine.tracker.dto.response.VaccineResponse;
 import com.vaccine.tracker.entity.Vaccine;
 import com.vaccine.tracker.enums.Role;
@@ -10,6 +11,7 @@ import com.vaccine.tracker.exception.UnauthorizedException;
 import com.vaccine.tracker.mapper.VaccineMapper;
 import com.vaccine.tracker.repository.VaccineRepository;
 import com.vaccine.tracker.service.UserService;
+import com.vaccine.tracker.service.VaccineCatalogIndex;
 import com.vaccine.tracker.service.VaccineService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -33,6 +35,9 @@ public class VaccineServiceImpl implements VaccineService {
     @Autowired
     private VaccineMapper vaccineMapper;
     
+    @Autowired
+    private VaccineCatalogIndex vaccineCatalogIndex;
+    
     @Override
     public Vaccine findById(Long id) {
         return vaccineRepository.findById(id)
@@ -49,7 +54,7 @@ public class VaccineServiceImpl implements VaccineService {
     @Transactional
     public Vaccine create(VaccineResponse vaccineResponse) {
         // Only admin can create vaccines
-        if (!userService.getCurrentUser().getRole().equals(Role.ROLE_ADMIN)) {
+        if (!userService.getCurrentPrincipal().getRole().equals(Role.ROLE_ADMIN)) {
             throw new UnauthorizedException("Only administrators can create vaccines");
         }
         
@@ -65,14 +70,16 @@ public class VaccineServiceImpl implements VaccineService {
         Vaccine vaccine = new Vaccine();
         vaccineMapper.updateVaccineFromResponse(vaccine, vaccineResponse);
         
-        return vaccineRepository.save(vaccine);
+        Vaccine saved = vaccineRepository.save(vaccine);
+        vaccineCatalogIndex.rebuildAfterCommit();
+        return saved;
     }
     
     @Override
     @Transactional
     public Vaccine update(Long id, VaccineResponse vaccineResponse) {
         // Only admin can update vaccines
-        if (!userService.getCurrentUser().getRole().equals(Role.ROLE_ADMIN)) {
+        if (!userService.getCurrentPrincipal().getRole().equals(Role.ROLE_ADMIN)) {
             throw new UnauthorizedException("Only administrators can update vaccines");
         }
         
@@ -90,14 +97,16 @@ public class VaccineServiceImpl implements VaccineService {
         // Update vaccine properties
         vaccineMapper.updateVaccineFromResponse(vaccine, vaccineResponse);
         
-        return vaccineRepository.save(vaccine);
+        Vaccine saved = vaccineRepository.save(vaccine);
+        vaccineCatalogIndex.rebuildAfterCommit();
+        return saved;
     }
     
     @Override
     @Transactional
     public void delete(Long id) {
         // Only admin can delete vaccines
-        if (!userService.getCurrentUser().getRole().equals(Role.ROLE_ADMIN)) {
+        if (!userService.getCurrentPrincipal().getRole().equals(Role.ROLE_ADMIN)) {
             throw new UnauthorizedException("Only administrators can delete vaccines");
         }
         
@@ -109,6 +118,7 @@ public class VaccineServiceImpl implements VaccineService {
         }
         
         vaccineRepository.delete(vaccine);
+        vaccineCatalogIndex.rebuildAfterCommit();
     }
     
     @Override
@@ -136,11 +146,16 @@ public class VaccineServiceImpl implements VaccineService {
         return vaccineRepository.findByManufacturerContainingIgnoreCase(manufacturer);
     }
     
+    @Override
+    public List<VaccineResponse> typeahead(String query, int limit) {
+        return vaccineCatalogIndex.search(query, Math.max(1, Math.min(limit, SearchConstants.MAX_LIMIT)));
+    }
+    
     @Override
     @Transactional
     public Vaccine updatePrice(Long id, BigDecimal price) {
         // Only admin can update vaccine prices
-        if (!userService.getCurrentUser().getRole().equals(Role.ROLE_ADMIN)) {
+        if (!userService.getCurrentPrincipal().getRole().equals(Role.ROLE_ADMIN)) {
             throw new UnauthorizedException("Only administrators can update vaccine prices");
         }
         
@@ -153,7 +168,9 @@ public class VaccineServiceImpl implements VaccineService {
         
         vaccine.setPrice(price);
         
-        return vaccineRepository.save(vaccine);
+        Vaccine saved = vaccineRepository.save(vaccine);
+        vaccineCatalogIndex.rebuildAfterCommit();
+        return saved;
     }
     
     /**
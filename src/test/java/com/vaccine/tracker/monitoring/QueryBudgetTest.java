@@ -0,0 +1,297 @@
+package com.vaccine.tracker.monitoring;
+
+import com.vaccine.tracker.entity.Child;
+import com.vaccine.tracker.entity.Feedback;
+import com.vaccine.tracker.entity.Payment;
+import com.vaccine.tracker.entity.Reaction;
+import com.vaccine.tracker.entity.Schedule;
+import com.vaccine.tracker.entity.User;
+import com.vaccine.tracker.entity.Vaccination;
+import com.vaccine.tracker.entity.Vaccine;
+import com.vaccine.tracker.enums.Role;
+import com.vaccine.tracker.repository.ChildRepository;
+import com.vaccine.tracker.repository.FeedbackRepository;
+import com.vaccine.tracker.repository.PaymentRepository;
+import com.vaccine.tracker.repository.ReactionRepository;
+import com.vaccine.tracker.repository.ScheduleRepository;
+import com.vaccine.tracker.repository.UserRepository;
+import com.vaccine.tracker.repository.VaccinationRepository;
+import com.vaccine.tracker.repository.VaccineRepository;
+import com.vaccine.tracker.security.UserPrincipal;
+import com.vaccine.tracker.service.ChildNameIndex;
+import com.vaccine.tracker.service.VaccineCatalogIndex;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.method.HandlerMethod;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Calls the read endpoints against seeded data and fails when a request issues
+ * more SQL statements than the {@link QueryBudget} of its handler allows.
+ * Every list holds several rows, so a handler loading an association per row
+ * exceeds its fixed budget here rather than in production.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "app.schedules.missed-job.run-on-startup=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTest {
+
+    private static final int PARENTS = 2;
+    private static final int CHILDREN_PER_PARENT = 3;
+    private static final int VACCINES = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChildRepository childRepository;
+
+    @Autowired
+    private VaccineRepository vaccineRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private VaccinationRepository vaccinationRepository;
+
+    @Autowired
+    private ReactionRepository reactionRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ChildNameIndex childNameIndex;
+
+    @Autowired
+    private VaccineCatalogIndex vaccineCatalogIndex;
+
+    private UserPrincipal staff;
+    private UserPrincipal parent;
+    private Long parentId;
+    private Long staffId;
+    private Long childId;
+    private Long scheduleId;
+
+    @BeforeAll
+    void seed() {
+        User staffUser = userRepository.save(newUser("budget.staff", Role.ROLE_STAFF));
+        staffId = staffUser.getId();
+        staff = new UserPrincipal(staffId, staffUser.getUsername(), staffUser.getEmail(), staffUser.getPassword(),
+                Role.ROLE_STAFF, true);
+
+        List<Vaccine> vaccines = new ArrayList<>();
+        for (int i = 0; i < VACCINES; i++) {
+            Vaccine vaccine = new Vaccine();
+            vaccine.setName("Budget Vaccine " + i);
+            vaccine.setDescription("Seeded vaccine " + i);
+            vaccine.setManufacturer("Budget Labs");
+            vaccine.setRecommendedAgeMonths(i * 2);
+            vaccine.setDoseCount(2);
+            vaccines.add(vaccineRepository.save(vaccine));
+        }
+
+        LocalDate today = LocalDate.now();
+        for (int p = 0; p < PARENTS; p++) {
+            User parentUser = userRepository.save(newUser("budget.parent" + p, Role.ROLE_CUSTOMER));
+            if (p == 0) {
+                parentId = parentUser.getId();
+                parent = new UserPrincipal(parentId, parentUser.getUsername(), parentUser.getEmail(),
+                        parentUser.getPassword(), Role.ROLE_CUSTOMER, true);
+            }
+
+            for (int c = 0; c < CHILDREN_PER_PARENT; c++) {
+                Child child = new Child();
+                child.setFirstName("Budget");
+                child.setLastName("Child" + p + c);
+                child.setDateOfBirth(today.minusMonths(6 + c));
+                child.setParent(parentUser);
+                child = childRepository.save(child);
+                if (childId == null) {
+                    childId = child.getId();
+                }
+
+                for (int v = 0; v < vaccines.size(); v++) {
+                    Schedule schedule = new Schedule();
+                    schedule.setChild(child);
+                    schedule.setVaccine(vaccines.get(v));
+                    schedule.setScheduledDate(today.plusDays(v * 7L - 14));
+                    schedule.setDoseNumber(1);
+                    schedule.setStatus(v == 0 ? Schedule.ScheduleStatus.COMPLETED : Schedule.ScheduleStatus.SCHEDULED);
+                    schedule.setProvider(staffUser);
+                    schedule = scheduleRepository.save(schedule);
+                    if (scheduleId == null) {
+                        scheduleId = schedule.getId();
+                    }
+
+                    Feedback feedback = new Feedback();
+                    feedback.setUser(parentUser);
+                    feedback.setSchedule(schedule);
+                    feedback.setRating(4);
+                    feedback.setComment("Seeded feedback");
+                    feedbackRepository.save(feedback);
+                }
+
+                Vaccination vaccination = new Vaccination();
+                vaccination.setChild(child);
+                vaccination.setVaccine(vaccines.get(0));
+                vaccination.setScheduledDate(today.minusDays(14));
+                vaccination.setAdministeredDate(today.minusDays(13));
+                vaccination.setDoseNumber(1);
+                vaccination.setStatus(Vaccination.VaccinationStatus.COMPLETED);
+                vaccination.setProvider(staffUser);
+                vaccination = vaccinationRepository.save(vaccination);
+
+                Reaction reaction = new Reaction();
+                reaction.setChild(child);
+                reaction.setVaccination(vaccination);
+                reaction.setReactionDate(today.minusDays(12).atStartOfDay());
+                reaction.setSymptom("Fever");
+                reaction.setSeverity(Reaction.Severity.MILD);
+                reactionRepository.save(reaction);
+
+                Payment payment = new Payment();
+                payment.setParent(parentUser);
+                payment.setChild(child);
+                payment.setVaccination(vaccination);
+                payment.setAmount(new BigDecimal("25.00"));
+                payment.setPaymentDate(today.minusDays(13).atStartOfDay());
+                payment.setStatus(Payment.PaymentStatus.COMPLETED);
+                payment.setPaymentMethod(Payment.PaymentMethod.CASH);
+                paymentRepository.save(payment);
+            }
+        }
+
+        // The in-memory indexes were built while the context started, before the seed
+        childNameIndex.load();
+        vaccineCatalogIndex.rebuildAfterCommit();
+    }
+
+    @Test
+    void childEndpointsStayWithinBudget() throws Exception {
+        assertWithinBudget(get("/api/children/list"), parent);
+        assertWithinBudget(get("/api/children/list"), staff);
+        assertWithinBudget(get("/api/children/by-parent/{parentId}", parentId), staff);
+        assertWithinBudget(get("/api/children/search").param("keyword", "budget"), staff);
+    }
+
+    @Test
+    void scheduleEndpointsStayWithinBudget() throws Exception {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        assertWithinBudget(get("/api/schedules/list"), staff);
+        assertWithinBudget(get("/api/schedules/list"), parent);
+        assertWithinBudget(get("/api/schedules/child/{childId}", childId), parent);
+        assertWithinBudget(get("/api/schedules/upcoming/{childId}", childId), parent);
+        assertWithinBudget(get("/api/schedules/by-status").param("status", "SCHEDULED"), staff);
+        assertWithinBudget(get("/api/schedules/by-date-range")
+                .param("startDate", now.minusMonths(1).toString())
+                .param("endDate", now.plusMonths(1).toString()), staff);
+    }
+
+    @Test
+    void reactionEndpointsStayWithinBudget() throws Exception {
+        assertWithinBudget(get("/api/reactions/child/{childId}", childId), parent);
+        assertWithinBudget(get("/api/reactions/my-children"), parent);
+        assertWithinBudget(get("/api/reactions"), staff);
+    }
+
+    @Test
+    void feedbackEndpointsStayWithinBudget() throws Exception {
+        assertWithinBudget(get("/api/feedbacks/my-feedback"), parent);
+        assertWithinBudget(get("/api/feedbacks"), staff);
+        assertWithinBudget(get("/api/feedbacks/by-schedule/{scheduleId}", scheduleId), parent);
+        assertWithinBudget(get("/api/feedbacks/without-responses"), staff);
+    }
+
+    @Test
+    void paymentEndpointsStayWithinBudget() throws Exception {
+        assertWithinBudget(get("/api/payments"), parent);
+    }
+
+    @Test
+    void vaccineTypeaheadIssuesNoStatements() throws Exception {
+        assertWithinBudget(get("/api/vaccines/typeahead").param("query", "budget"), parent);
+    }
+
+    @Test
+    void reportEndpointsStayWithinBudget() throws Exception {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        String startDate = now.minusMonths(1).toString();
+        String endDate = now.toString();
+        for (String section : List.of("schedule", "vaccine", "revenue", "customer", "reaction")) {
+            assertWithinBudget(get("/api/reports/" + section)
+                    .param("startDate", startDate).param("endDate", endDate), staff);
+        }
+        // Sections run on threads of their own; their statements must count towards the request
+        assertWithinBudget(get("/api/reports/comprehensive")
+                .param("startDate", startDate).param("endDate", endDate), staff);
+        assertWithinBudget(get("/api/reports/providers/{providerId}", staffId), staff);
+        assertWithinBudget(get("/api/reports/providers"), staff);
+    }
+
+    private void assertWithinBudget(MockHttpServletRequestBuilder request, UserPrincipal principal) throws Exception {
+        MvcResult result = mockMvc.perform(request.with(user(principal)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        HandlerMethod handler = assertInstanceOf(HandlerMethod.class, result.getHandler());
+        QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(handler.getMethod(), QueryBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(handler.getBeanType(), QueryBudget.class);
+        }
+        assertNotNull(budget, () -> handler.getShortLogMessage() + " has no query budget");
+
+        StatementCounts counts = (StatementCounts) result.getRequest()
+                .getAttribute(QueryBudgetInterceptor.COUNTS_ATTRIBUTE);
+        assertNotNull(counts, () -> handler.getShortLogMessage() + " was not counted");
+
+        String endpoint = result.getRequest().getRequestURI();
+        QueryBudget limit = budget;
+        assertTrue(counts.getSelects() <= limit.selects(),
+                () -> endpoint + " issued " + counts + ", over its budget of " + limit.selects() + " selects");
+        assertTrue(counts.getWrites() <= limit.writes(),
+                () -> endpoint + " issued " + counts + ", over its budget of " + limit.writes() + " writes");
+    }
+
+    private static User newUser(String username, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("{noop}password");
+        user.setFirstName("Budget");
+        user.setLastName(username);
+        user.setEmail(username + "@example.com");
+        user.setRole(role.name());
+        return user;
+    }
+}
@@ -0,0 +1,154 @@
+package com.vaccine.tracker.repository;
+
+import com.vaccine.tracker.constant.PersistenceConstants;
+import com.vaccine.tracker.entity.Child;
+import com.vaccine.tracker.entity.Schedule;
+import com.vaccine.tracker.entity.User;
+import com.vaccine.tracker.entity.Vaccine;
+import com.vaccine.tracker.enums.Role;
+import com.vaccine.tracker.monitoring.SqlStatementCounter;
+import com.vaccine.tracker.monitoring.StatementCounts;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that new rows take pooled sequence ids and are written in JDBC
+ * batches, and that the startup migration moves a sequence past rows
+ * created outside of it.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "app.schedules.missed-job.run-on-startup=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BatchInsertTest {
+
+    private static final int ROWS = 120;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChildRepository childRepository;
+
+    @Autowired
+    private VaccineRepository vaccineRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private IdSequenceAligner idSequenceAligner;
+
+    @Autowired
+    private SqlStatementCounter statementCounter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Child child;
+    private Vaccine vaccine;
+
+    @BeforeAll
+    void seed() {
+        User parent = new User();
+        parent.setUsername("batch.parent");
+        parent.setPassword("{noop}password");
+        parent.setFirstName("Batch");
+        parent.setLastName("Parent");
+        parent.setEmail("batch.parent@example.com");
+        parent.setRole(Role.ROLE_CUSTOMER.name());
+        parent = userRepository.save(parent);
+
+        Vaccine seeded = new Vaccine();
+        seeded.setName("Batch Vaccine");
+        seeded.setDescription("Seeded vaccine for bulk schedules");
+        seeded.setManufacturer("Batch Labs");
+        seeded.setRecommendedAgeMonths(1);
+        vaccine = vaccineRepository.save(seeded);
+
+        Child seededChild = new Child();
+        seededChild.setFirstName("Batch");
+        seededChild.setLastName("Child");
+        seededChild.setDateOfBirth(LocalDate.now().minusMonths(1));
+        seededChild.setParent(parent);
+        child = childRepository.save(seededChild);
+    }
+
+    @Test
+    void bulkSchedulesAreInsertedInBatches() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        StatementCounts counts = transaction.execute(status -> {
+            List<Schedule> schedules = new ArrayList<>();
+            for (int dose = 1; dose <= ROWS; dose++) {
+                Schedule schedule = new Schedule();
+                schedule.setChild(entityManager.getReference(Child.class, child.getId()));
+                schedule.setVaccine(entityManager.getReference(Vaccine.class, vaccine.getId()));
+                schedule.setScheduledDate(LocalDate.now().plusDays(dose));
+                schedule.setDoseNumber(dose);
+                schedule.setStatus(Schedule.ScheduleStatus.SCHEDULED);
+                schedules.add(schedule);
+            }
+
+            statementCounter.begin();
+            scheduleRepository.saveAll(schedules);
+            entityManager.flush();
+            return statementCounter.end();
+        });
+
+        int blocks = (ROWS + PersistenceConstants.ID_ALLOCATION_SIZE - 1) / PersistenceConstants.ID_ALLOCATION_SIZE;
+
+        // At most one prepared INSERT per batch, and one sequence call per id block plus the one already in use
+        assertTrue(counts.getInserts() <= blocks, "inserts: " + counts.getInserts());
+        assertTrue(counts.getTotal() - counts.getInserts() <= blocks + 1,
+                "other statements: " + (counts.getTotal() - counts.getInserts()));
+        assertEquals(ROWS, scheduleRepository.findByChildId(child.getId()).size());
+    }
+
+    @Test
+    void alignerMovesSequencePastExistingIds() {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+        String nextValueSql = dialect.getSequenceSupport().getSequenceNextValString("vaccines_seq");
+
+        // A row written the way identity columns did, far ahead of the sequence
+        Long current = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+        long legacyId = current + 10 * PersistenceConstants.ID_ALLOCATION_SIZE;
+        jdbcTemplate.update("INSERT INTO vaccines (id, name, description, manufacturer, recommended_age_months) "
+                + "VALUES (?, ?, ?, ?, ?)", legacyId, "Legacy Batch Vaccine", "Created before sequences", "Legacy Labs", 6);
+
+        idSequenceAligner.alignSequences();
+
+        Long next = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+        assertTrue(next - PersistenceConstants.ID_ALLOCATION_SIZE >= legacyId,
+                "next block starts at " + (next - PersistenceConstants.ID_ALLOCATION_SIZE + 1));
+    }
+}
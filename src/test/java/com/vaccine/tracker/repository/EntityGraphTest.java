@@ -0,0 +1,210 @@
+package com.vaccine.tracker.repository;
+
+import com.vaccine.tracker.entity.Child;
+import com.vaccine.tracker.entity.Feedback;
+import com.vaccine.tracker.entity.Payment;
+import com.vaccine.tracker.entity.Reaction;
+import com.vaccine.tracker.entity.Schedule;
+import com.vaccine.tracker.entity.User;
+import com.vaccine.tracker.entity.Vaccination;
+import com.vaccine.tracker.entity.Vaccine;
+import com.vaccine.tracker.enums.Role;
+import com.vaccine.tracker.monitoring.SqlStatementCounter;
+import com.vaccine.tracker.monitoring.StatementCounts;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the child and customer list reads fetch the associations
+ * their views touch in the same query, instead of one query per row.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "app.schedules.missed-job.run-on-startup=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EntityGraphTest {
+
+    private static final int ROWS = 4;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChildRepository childRepository;
+
+    @Autowired
+    private VaccineRepository vaccineRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private VaccinationRepository vaccinationRepository;
+
+    @Autowired
+    private ReactionRepository reactionRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private SqlStatementCounter statementCounter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long parentId;
+    private Long childId;
+
+    @BeforeAll
+    void seed() {
+        User parent = new User();
+        parent.setUsername("graph.parent");
+        parent.setPassword("{noop}password");
+        parent.setFirstName("Graph");
+        parent.setLastName("Parent");
+        parent.setEmail("graph.parent@example.com");
+        parent.setRole(Role.ROLE_CUSTOMER.name());
+        parent = userRepository.save(parent);
+        parentId = parent.getId();
+
+        Child child = new Child();
+        child.setFirstName("Graph");
+        child.setLastName("Child");
+        child.setDateOfBirth(LocalDate.now().minusYears(1));
+        child.setParent(parent);
+        child = childRepository.save(child);
+        childId = child.getId();
+
+        // A vaccine per row, so lazy loading would cost a query per row
+        for (int row = 1; row <= ROWS; row++) {
+            Vaccine vaccine = new Vaccine();
+            vaccine.setName("Graph Vaccine " + row);
+            vaccine.setDescription("Seeded vaccine " + row);
+            vaccine.setManufacturer("Graph Labs");
+            vaccine.setRecommendedAgeMonths(row);
+            vaccine = vaccineRepository.save(vaccine);
+
+            Schedule schedule = new Schedule();
+            schedule.setChild(child);
+            schedule.setVaccine(vaccine);
+            schedule.setScheduledDate(LocalDate.now().minusDays(row));
+            schedule.setDoseNumber(1);
+            schedule.setStatus(Schedule.ScheduleStatus.COMPLETED);
+            schedule = scheduleRepository.save(schedule);
+
+            Vaccination vaccination = new Vaccination();
+            vaccination.setChild(child);
+            vaccination.setVaccine(vaccine);
+            vaccination.setScheduledDate(LocalDate.now().minusDays(row));
+            vaccination.setAdministeredDate(LocalDate.now().minusDays(row));
+            vaccination.setDoseNumber(1);
+            vaccination.setStatus(Vaccination.VaccinationStatus.COMPLETED);
+            vaccination = vaccinationRepository.save(vaccination);
+
+            Reaction reaction = new Reaction();
+            reaction.setChild(child);
+            reaction.setVaccination(vaccination);
+            reaction.setReactionDate(LocalDateTime.now().minusDays(row));
+            reaction.setSymptom("Fever");
+            reaction.setSeverity(Reaction.Severity.MILD);
+            reactionRepository.save(reaction);
+
+            Feedback feedback = new Feedback();
+            feedback.setUser(parent);
+            feedback.setSchedule(schedule);
+            feedback.setRating(5);
+            feedback.setComment("Visit " + row);
+            feedbackRepository.save(feedback);
+
+            Payment payment = new Payment();
+            payment.setParent(parent);
+            payment.setChild(child);
+            payment.setVaccination(vaccination);
+            payment.setAmount(new BigDecimal("25.00"));
+            payment.setPaymentDate(LocalDateTime.now().minusDays(row));
+            payment.setStatus(Payment.PaymentStatus.COMPLETED);
+            payment.setPaymentMethod(Payment.PaymentMethod.CASH);
+            paymentRepository.save(payment);
+        }
+    }
+
+    @Test
+    void schedulesFetchChildAndVaccine() {
+        assertSingleSelect(() -> {
+            List<Schedule> schedules = scheduleRepository.findByChildId(childId);
+            schedules.forEach(schedule -> {
+                schedule.getChild().getFirstName();
+                schedule.getVaccine().getName();
+            });
+            return schedules.size();
+        });
+    }
+
+    @Test
+    void reactionsFetchChildAndVaccinationVaccine() {
+        assertSingleSelect(() -> {
+            List<Reaction> reactions = reactionRepository.findByChildId(childId);
+            reactions.forEach(reaction -> {
+                reaction.getChild().getFirstName();
+                reaction.getVaccination().getVaccine().getName();
+            });
+            return reactions.size();
+        });
+    }
+
+    @Test
+    void feedbackFetchesUserAndScheduleVaccine() {
+        assertSingleSelect(() -> {
+            List<Feedback> feedback = feedbackRepository.findByUserId(parentId);
+            feedback.forEach(entry -> {
+                entry.getUser().getUsername();
+                entry.getSchedule().getVaccine().getName();
+            });
+            return feedback.size();
+        });
+    }
+
+    @Test
+    void paymentsFetchParentAndChild() {
+        assertSingleSelect(() -> {
+            List<Payment> payments = paymentRepository.findByChildId(childId);
+            payments.forEach(payment -> {
+                payment.getParent().getUsername();
+                payment.getChild().getFirstName();
+            });
+            return payments.size();
+        });
+    }
+
+    private void assertSingleSelect(Supplier<Integer> read) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        transaction.executeWithoutResult(status -> {
+            statementCounter.begin();
+            int rows = read.get();
+            StatementCounts counts = statementCounter.end();
+
+            assertEquals(ROWS, rows);
+            assertEquals(1, counts.getSelects());
+        });
+    }
+}
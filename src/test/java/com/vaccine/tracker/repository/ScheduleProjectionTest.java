@@ -0,0 +1,140 @@
+package com.vaccine.tracker.repository;
+
+import com.vaccine.tracker.dto.response.ScheduleSummaryResponse;
+import com.vaccine.tracker.entity.Child;
+import com.vaccine.tracker.entity.Schedule;
+import com.vaccine.tracker.entity.User;
+import com.vaccine.tracker.entity.Vaccine;
+import com.vaccine.tracker.enums.Role;
+import com.vaccine.tracker.monitoring.SqlStatementCounter;
+import com.vaccine.tracker.monitoring.StatementCounts;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the schedule list views read their rows with a single query
+ * and never load the schedule, child or vaccine entities behind them.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "app.schedules.missed-job.run-on-startup=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ScheduleProjectionTest {
+
+    private static final int SCHEDULES = 6;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChildRepository childRepository;
+
+    @Autowired
+    private VaccineRepository vaccineRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private SqlStatementCounter statementCounter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Long childId;
+
+    @BeforeAll
+    void seed() {
+        User parent = new User();
+        parent.setUsername("projection.parent");
+        parent.setPassword("{noop}password");
+        parent.setFirstName("Projection");
+        parent.setLastName("Parent");
+        parent.setEmail("projection.parent@example.com");
+        parent.setRole(Role.ROLE_CUSTOMER.name());
+        parent = userRepository.save(parent);
+
+        Vaccine vaccine = new Vaccine();
+        vaccine.setName("Projection Vaccine");
+        vaccine.setDescription("Seeded vaccine with a long description that list views never need");
+        vaccine.setManufacturer("Projection Labs");
+        vaccine.setRecommendedAgeMonths(2);
+        vaccine.setDoseCount(SCHEDULES);
+        vaccine = vaccineRepository.save(vaccine);
+
+        Child child = new Child();
+        child.setFirstName("Projection");
+        child.setLastName("Child");
+        child.setDateOfBirth(LocalDate.now().minusMonths(3));
+        child.setParent(parent);
+        child = childRepository.save(child);
+        childId = child.getId();
+
+        for (int dose = 1; dose <= SCHEDULES; dose++) {
+            Schedule schedule = new Schedule();
+            schedule.setChild(child);
+            schedule.setVaccine(vaccine);
+            schedule.setScheduledDate(LocalDate.now().plusMonths(dose));
+            schedule.setDoseNumber(dose);
+            schedule.setStatus(Schedule.ScheduleStatus.SCHEDULED);
+            scheduleRepository.save(schedule);
+        }
+    }
+
+    @Test
+    void listsSchedulesWithOneQueryAndNoEntities() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        transaction.executeWithoutResult(status -> {
+            statementCounter.begin();
+            List<ScheduleSummaryResponse> rows = scheduleRepository.findSummariesByChildId(childId);
+            StatementCounts counts = statementCounter.end();
+
+            assertEquals(1, counts.getSelects());
+            assertEquals(SCHEDULES, rows.size());
+            assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+
+            ScheduleSummaryResponse first = rows.get(0);
+            assertEquals(1, first.getDoseNumber());
+            assertEquals("SCHEDULED", first.getStatus());
+            assertEquals(childId, first.getChildId());
+            assertEquals("Projection Child", first.getChildName());
+            assertEquals("Projection Vaccine", first.getVaccineName());
+        });
+    }
+
+    @Test
+    void upcomingSchedulesAreProjectedToo() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        transaction.executeWithoutResult(status -> {
+            statementCounter.begin();
+            List<ScheduleSummaryResponse> rows =
+                    scheduleRepository.findUpcomingSummariesByChildId(childId, LocalDate.now());
+            StatementCounts counts = statementCounter.end();
+
+            assertEquals(1, counts.getSelects());
+            assertEquals(SCHEDULES, rows.size());
+            assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        });
+    }
+}
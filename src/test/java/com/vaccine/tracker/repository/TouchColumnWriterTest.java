@@ -0,0 +1,139 @@
+package com.vaccine.tracker.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that touches are coalesced to one row write per key and flush, and
+ * that neither a failed flush nor touches racing a flush lose the latest value.
+ */
+class TouchColumnWriterTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    @Test
+    void coalescesRepeatedTouchesIntoOneRowPerKey() {
+        RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+        TouchColumnWriter writer = new TouchColumnWriter(jdbcTemplate, "users", "username", "last_login");
+
+        writer.touch("alice", BASE.plusMinutes(1));
+        writer.touch("alice", BASE.plusMinutes(3));
+        writer.touch("alice", BASE.plusMinutes(2));
+        writer.touch("bob", BASE);
+        writer.flush();
+
+        assertEquals(1, jdbcTemplate.batches.size());
+        assertEquals(2, jdbcTemplate.batches.get(0).size());
+        assertEquals(BASE.plusMinutes(3), jdbcTemplate.latest.get("alice"));
+        assertEquals(BASE, jdbcTemplate.latest.get("bob"));
+        assertTrue(jdbcTemplate.sql.startsWith("UPDATE users SET last_login = ? WHERE username = ?"));
+        assertEquals(0, writer.getPendingCount());
+    }
+
+    @Test
+    void skipsTheDatabaseWhenNothingIsPending() {
+        RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+        TouchColumnWriter writer = new TouchColumnWriter(jdbcTemplate, "users", "username", "last_login");
+
+        writer.flush();
+
+        assertTrue(jdbcTemplate.batches.isEmpty());
+    }
+
+    @Test
+    void keepsTouchesOfAFailedFlushForTheNextOne() {
+        RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+        TouchColumnWriter writer = new TouchColumnWriter(jdbcTemplate, "users", "username", "last_login");
+        writer.touch("alice", BASE);
+        writer.touch("bob", BASE);
+
+        jdbcTemplate.failNext.set(true);
+        writer.flush();
+        assertEquals(2, writer.getPendingCount());
+
+        writer.flush();
+        assertEquals(0, writer.getPendingCount());
+        assertEquals(BASE, jdbcTemplate.latest.get("alice"));
+        assertEquals(BASE, jdbcTemplate.latest.get("bob"));
+    }
+
+    @Test
+    void neverLosesTheLatestTouchWhileFlushing() throws InterruptedException {
+        RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+        TouchColumnWriter writer = new TouchColumnWriter(jdbcTemplate, "users", "username", "last_login");
+        int threads = 8;
+        int touchesPerThread = 2000;
+        int keys = 20;
+
+        CountDownLatch done = new CountDownLatch(threads);
+        List<Thread> touchers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            Thread toucher = new Thread(() -> {
+                for (int i = 0; i < touchesPerThread; i++) {
+                    writer.touch("user" + (i % keys), BASE.plusSeconds((long) i * threads + offset));
+                }
+                done.countDown();
+            });
+            touchers.add(toucher);
+            toucher.start();
+        }
+        while (done.getCount() > 0) {
+            writer.flush();
+        }
+        for (Thread toucher : touchers) {
+            toucher.join();
+        }
+        writer.flush();
+
+        assertEquals(0, writer.getPendingCount());
+        for (int k = 0; k < keys; k++) {
+            int lastIndex = touchesPerThread - keys + k;
+            LocalDateTime expected = BASE.plusSeconds((long) lastIndex * threads + threads - 1);
+            assertEquals(expected, jdbcTemplate.latest.get("user" + k));
+        }
+        // Far fewer row writes than touches
+        assertTrue(jdbcTemplate.rowsWritten < threads * touchesPerThread);
+    }
+
+    /**
+     * Records batch updates instead of running them, keeping the latest value written per key.
+     */
+    private static final class RecordingJdbcTemplate extends JdbcTemplate {
+
+        private final List<List<Object[]>> batches = new ArrayList<>();
+        private final Map<String, LocalDateTime> latest = new ConcurrentHashMap<>();
+        private final AtomicBoolean failNext = new AtomicBoolean();
+        private volatile String sql;
+        private volatile int rowsWritten;
+
+        @Override
+        public synchronized int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            if (failNext.getAndSet(false)) {
+                throw new DataAccessResourceFailureException("Database unavailable");
+            }
+            this.sql = sql;
+            batches.add(batchArgs);
+            rowsWritten += batchArgs.size();
+            for (Object[] row : batchArgs) {
+                LocalDateTime time = ((Timestamp) row[0]).toLocalDateTime();
+                // Same guard as the UPDATE: the column never moves backwards
+                latest.merge((String) row[1], time, (current, next) -> next.isAfter(current) ? next : current);
+            }
+            return new int[batchArgs.size()];
+        }
+    }
+}
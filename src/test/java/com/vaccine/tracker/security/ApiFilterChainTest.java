@@ -0,0 +1,150 @@
+package com.vaccine.tracker.security;
+
+import com.vaccine.tracker.entity.User;
+import com.vaccine.tracker.enums.Role;
+import com.vaccine.tracker.monitoring.SqlStatementCounter;
+import com.vaccine.tracker.monitoring.StatementCounts;
+import com.vaccine.tracker.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that every /api/** request is authenticated from its bearer token
+ * alone: without touching the database, without an HTTP session, and with
+ * revoked tokens rejected at once.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "app.schedules.missed-job.run-on-startup=false"
+})
+@AutoConfigureMockMvc
+class ApiFilterChainTest {
+
+    private static final String API_ENDPOINT = "/api/children/list";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SqlStatementCounter statementCounter;
+
+    private UserPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.findByUsername("chain.parent").orElseGet(() -> {
+            User created = new User();
+            created.setUsername("chain.parent");
+            created.setPassword("{noop}password");
+            created.setFirstName("Chain");
+            created.setLastName("Parent");
+            created.setEmail("chain.parent@example.com");
+            created.setRole(Role.ROLE_CUSTOMER.name());
+            return userRepository.save(created);
+        });
+        principal = UserPrincipal.create(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void acceptsAValidTokenWithoutCreatingASession() throws Exception {
+        MvcResult result = mockMvc.perform(get(API_ENDPOINT).header("Authorization", bearer(principal)))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Set-Cookie"))
+                .andReturn();
+
+        assertNull(result.getRequest().getSession(false));
+    }
+
+    @Test
+    void rejectsApiCallsWithoutAToken() throws Exception {
+        MvcResult result = mockMvc.perform(get(API_ENDPOINT))
+                .andExpect(status().isUnauthorized())
+                .andReturn();
+
+        assertNull(result.getRequest().getSession(false));
+    }
+
+    @Test
+    void ignoresAnAuthenticatedSessionOnApiCalls() throws Exception {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, context);
+
+        mockMvc.perform(get(API_ENDPOINT).session(session))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void rejectsTokensRevokedByAnAccountChange() throws Exception {
+        String token = bearer(principal);
+        mockMvc.perform(get(API_ENDPOINT).header("Authorization", token))
+                .andExpect(status().isOk());
+
+        userDetailsCache.revokeTokens(principal.getUsername());
+
+        mockMvc.perform(get(API_ENDPOINT).header("Authorization", token))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get(API_ENDPOINT).header("Authorization", bearer(principal)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void authenticatesWithoutTouchingTheDatabase() throws Exception {
+        // Make sure no cached user details could be hiding a lookup
+        userDetailsCache.evict(principal.getUsername());
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(tokenProvider);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", API_ENDPOINT);
+        request.addHeader("Authorization", bearer(principal));
+
+        statementCounter.begin();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        StatementCounts counts = statementCounter.end();
+
+        assertEquals(0, counts.getTotal());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserPrincipal authenticated = assertInstanceOf(UserPrincipal.class, authentication.getPrincipal());
+        assertEquals(principal.getId(), authenticated.getId());
+        assertEquals(Role.ROLE_CUSTOMER, authenticated.getRole());
+    }
+
+    private String bearer(UserPrincipal principal) {
+        return "Bearer " + tokenProvider.generateToken(principal);
+    }
+}
@@ -0,0 +1,129 @@
+package com.vaccine.tracker.security;
+
+import com.vaccine.tracker.enums.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the sliding window of failed logins, and that a login storm against
+ * one account stops costing password verifications once it is throttled.
+ */
+class LoginAttemptThrottleTest {
+
+    private static final int MAX_FAILURES_PER_USERNAME = 5;
+    private static final int MAX_FAILURES_PER_ADDRESS = 20;
+
+    private LoginAttemptThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        throttle = newThrottle(300);
+    }
+
+    @Test
+    void blocksUsernameOnceItReachesTheLimit() {
+        for (int i = 0; i < MAX_FAILURES_PER_USERNAME - 1; i++) {
+            throttle.recordFailure("alice", null);
+        }
+        assertFalse(throttle.isBlocked("alice", null));
+
+        throttle.recordFailure("alice", null);
+
+        assertTrue(throttle.isBlocked("alice", null));
+        assertTrue(throttle.isBlocked("ALICE", null));
+        assertFalse(throttle.isBlocked("bob", null));
+    }
+
+    @Test
+    void blocksAddressAcrossUsernames() {
+        for (int i = 0; i < MAX_FAILURES_PER_ADDRESS; i++) {
+            throttle.recordFailure("user" + i, "10.0.0.1");
+        }
+
+        assertTrue(throttle.isBlocked("someone-new", "10.0.0.1"));
+        assertFalse(throttle.isBlocked("someone-new", "10.0.0.2"));
+    }
+
+    @Test
+    void successfulLoginClearsUsernameFailures() {
+        for (int i = 0; i < MAX_FAILURES_PER_USERNAME; i++) {
+            throttle.recordFailure("alice", null);
+        }
+
+        throttle.reset("alice");
+
+        assertFalse(throttle.isBlocked("alice", null));
+    }
+
+    @Test
+    void failuresExpireOnceTheyLeaveTheWindow() throws InterruptedException {
+        throttle = newThrottle(1);
+        for (int i = 0; i < MAX_FAILURES_PER_USERNAME; i++) {
+            throttle.recordFailure("alice", null);
+        }
+        assertTrue(throttle.isBlocked("alice", null));
+
+        Thread.sleep(1200);
+
+        assertFalse(throttle.isBlocked("alice", null));
+    }
+
+    @Test
+    void loginStormStopsVerifyingPasswordsOnceThrottled() {
+        AtomicInteger verifications = new AtomicInteger();
+        ThrottlingAuthenticationProvider provider = new ThrottlingAuthenticationProvider(throttle);
+        provider.setUserDetailsService(username ->
+                new UserPrincipal(1L, username, username + "@example.com", "secret", Role.ROLE_CUSTOMER, true));
+        provider.setPasswordEncoder(new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                verifications.incrementAndGet();
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        });
+
+        int attempts = 100;
+        int throttled = 0;
+        for (int i = 0; i < attempts; i++) {
+            AuthenticationException failure = assertThrows(AuthenticationException.class,
+                    () -> provider.authenticate(new UsernamePasswordAuthenticationToken("alice", "wrong")));
+            if (failure instanceof LoginThrottledException) {
+                throttled++;
+            } else {
+                assertTrue(failure instanceof BadCredentialsException);
+            }
+        }
+
+        assertEquals(MAX_FAILURES_PER_USERNAME, verifications.get());
+        assertEquals(attempts - MAX_FAILURES_PER_USERNAME, throttled);
+        assertThrows(LoginThrottledException.class,
+                () -> provider.authenticate(new UsernamePasswordAuthenticationToken("alice", "secret")));
+    }
+
+    private static LoginAttemptThrottle newThrottle(long windowSeconds) {
+        LoginAttemptThrottle throttle = new LoginAttemptThrottle();
+        ReflectionTestUtils.setField(throttle, "windowSeconds", windowSeconds);
+        ReflectionTestUtils.setField(throttle, "maxFailuresPerUsername", MAX_FAILURES_PER_USERNAME);
+        ReflectionTestUtils.setField(throttle, "maxFailuresPerAddress", MAX_FAILURES_PER_ADDRESS);
+        ReflectionTestUtils.setField(throttle, "keysPerStripe", 1024);
+        throttle.init();
+        return throttle;
+    }
+}
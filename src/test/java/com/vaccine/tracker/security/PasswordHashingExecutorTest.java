@@ -0,0 +1,128 @@
+package com.vaccine.tracker.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the hashing pool sheds load instead of queueing without bound,
+ * and that callers never wait past the queue time plus the hashing budget.
+ */
+class PasswordHashingExecutorTest {
+
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void returnsTheTaskResult() {
+        executor = newExecutor(1, 1, 1000, 1000);
+
+        assertEquals("hashed", executor.execute(() -> "hashed"));
+    }
+
+    @Test
+    void rejectsWorkWhenThePoolAndQueueAreFull() throws InterruptedException {
+        executor = newExecutor(1, 1, 5000, 5000);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread running = new Thread(() -> executor.execute(() -> await(release)));
+        Thread queued = new Thread(() -> executor.execute(() -> await(release)));
+        running.start();
+        waitUntil(() -> executor.getActiveCount() == 1);
+        queued.start();
+        waitUntil(() -> executor.getQueuedCount() == 1);
+
+        try {
+            assertThrows(AuthenticationServiceException.class, () -> executor.execute(() -> "rejected"));
+        } finally {
+            release.countDown();
+            running.join();
+            queued.join();
+        }
+    }
+
+    @Test
+    void givesUpOnAHashThatRunsPastItsBudget() {
+        executor = newExecutor(1, 1, 50, 50);
+        long start = System.nanoTime();
+
+        assertThrows(AuthenticationServiceException.class, () -> executor.execute(() -> sleep(5000)));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+        // The cancelled task was interrupted, so the thread is free again
+        waitUntil(() -> executor.getActiveCount() == 0);
+    }
+
+    @Test
+    void skipsWorkThatWaitedTooLongToStart() throws InterruptedException {
+        executor = newExecutor(1, 1, 50, 2000);
+        Thread busy = new Thread(() -> executor.execute(() -> sleep(300)));
+        busy.start();
+        waitUntil(() -> executor.getActiveCount() == 1);
+
+        AtomicBoolean ran = new AtomicBoolean();
+        assertThrows(AuthenticationServiceException.class, () -> executor.execute(() -> {
+            ran.set(true);
+            return "late";
+        }));
+
+        assertFalse(ran.get());
+        busy.join();
+    }
+
+    private static PasswordHashingExecutor newExecutor(int threads, int queueCapacity,
+                                                       long maxQueueMillis, long maxHashMillis) {
+        PasswordHashingExecutor executor = new PasswordHashingExecutor();
+        ReflectionTestUtils.setField(executor, "threads", threads);
+        ReflectionTestUtils.setField(executor, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(executor, "maxQueueMillis", maxQueueMillis);
+        ReflectionTestUtils.setField(executor, "maxHashMillis", maxHashMillis);
+        executor.init();
+        return executor;
+    }
+
+    private static String await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "released";
+    }
+
+    private static String sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "slept";
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within 5 seconds");
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
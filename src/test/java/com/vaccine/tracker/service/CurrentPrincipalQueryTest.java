@@ -0,0 +1,105 @@
+package com.vaccine.tracker.service;
+
+import com.vaccine.tracker.entity.User;
+import com.vaccine.tracker.enums.Role;
+import com.vaccine.tracker.exception.UnauthorizedException;
+import com.vaccine.tracker.monitoring.SqlStatementCounter;
+import com.vaccine.tracker.monitoring.StatementCounts;
+import com.vaccine.tracker.repository.UserRepository;
+import com.vaccine.tracker.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks how many queries resolving the caller costs: none for the principal,
+ * and a single primary key lookup per transaction for the user entity.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "app.schedules.missed-job.run-on-startup=false"
+})
+class CurrentPrincipalQueryTest {
+
+    private static final int CALLS_PER_REQUEST = 10;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SqlStatementCounter statementCounter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private UserPrincipal principal;
+
+    @BeforeEach
+    void signIn() {
+        User user = userRepository.findByUsername("principal.parent").orElseGet(() -> {
+            User created = new User();
+            created.setUsername("principal.parent");
+            created.setPassword("{noop}password");
+            created.setFirstName("Principal");
+            created.setLastName("Parent");
+            created.setEmail("principal.parent@example.com");
+            created.setRole(Role.ROLE_CUSTOMER.name());
+            return userRepository.save(created);
+        });
+        principal = UserPrincipal.create(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void resolvingThePrincipalIssuesNoStatements() {
+        statementCounter.begin();
+        for (int i = 0; i < CALLS_PER_REQUEST; i++) {
+            assertEquals(principal.getId(), userService.getCurrentPrincipal().getId());
+            assertEquals(Role.ROLE_CUSTOMER, userService.getCurrentPrincipal().getRole());
+        }
+        StatementCounts counts = statementCounter.end();
+
+        assertEquals(0, counts.getTotal());
+    }
+
+    @Test
+    void loadingTheCurrentUserQueriesOncePerTransaction() {
+        TransactionTemplate request = new TransactionTemplate(transactionManager);
+        request.setReadOnly(true);
+
+        statementCounter.begin();
+        request.executeWithoutResult(status -> {
+            for (int i = 0; i < CALLS_PER_REQUEST; i++) {
+                assertEquals(principal.getUsername(), userService.getCurrentUser().getUsername());
+            }
+        });
+        StatementCounts counts = statementCounter.end();
+
+        assertEquals(1, counts.getSelects());
+    }
+
+    @Test
+    void rejectsCallersWithoutAPrincipal() {
+        SecurityContextHolder.clearContext();
+
+        assertThrows(UnauthorizedException.class, () -> userService.getCurrentPrincipal());
+    }
+}
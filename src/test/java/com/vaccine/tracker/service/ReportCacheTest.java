@@ -0,0 +1,202 @@
+package com.vaccine.tracker.service;
+
+import com.vaccine.tracker.dto.response.ReportResponse;
+import com.vaccine.tracker.exception.AppException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that concurrent requests for one report share a single computation,
+ * and that failures, partial reports and slow computations are not cached
+ * or waited on forever.
+ */
+class ReportCacheTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 3, 31, 10, 2);
+
+    private ReportCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = newCache(5000);
+    }
+
+    @Test
+    void concurrentRequestsShareOneComputation() throws Exception {
+        int callers = 16;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+
+        try {
+            List<Future<ReportResponse>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> cache.get("dashboard", START, END, (start, end) -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return new ReportResponse();
+                })));
+            }
+            waitUntil(() -> cache.getStats().get("coalesced") + loads.get() == callers);
+            release.countDown();
+
+            ReportResponse first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<ReportResponse> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(callers - 1, cache.getStats().get("coalesced"));
+    }
+
+    @Test
+    void requestsWithinOneBucketHitTheSameEntry() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("dashboard", START, END, (start, end) -> load(loads));
+        cache.get("dashboard", START, END.plusMinutes(2), (start, end) -> load(loads));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getStats().get("hits"));
+    }
+
+    @Test
+    void invalidationDropsReportsCoveringTheChangedDays() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("dashboard", START, END, (start, end) -> load(loads));
+
+        cache.invalidate(END.toLocalDate().plusDays(1), END.toLocalDate().plusDays(1));
+        cache.get("dashboard", START, END, (start, end) -> load(loads));
+        assertEquals(1, loads.get());
+
+        cache.invalidate(START.toLocalDate().plusDays(5), START.toLocalDate().plusDays(5));
+        cache.get("dashboard", START, END, (start, end) -> load(loads));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void failuresReachWaitersAndAreNotCached() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<ReportResponse> leader = pool.submit(() -> cache.get("dashboard", START, END, (start, end) -> {
+                await(release);
+                throw new AppException("Report query failed");
+            }));
+            waitUntil(() -> cache.getStats().get("misses") == 1);
+
+            // Fail the computation only once this thread is waiting on it
+            Thread releaser = new Thread(() -> {
+                waitUntil(() -> cache.getStats().get("coalesced") == 1);
+                release.countDown();
+            });
+            releaser.start();
+            AppException failure = assertThrows(AppException.class,
+                    () -> cache.get("dashboard", START, END, (start, end) -> new ReportResponse()));
+            assertEquals("Report query failed", failure.getMessage());
+            assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+            releaser.join();
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("dashboard", START, END, (start, end) -> load(loads));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void partialReportsAreNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        ReportResponse partial = new ReportResponse();
+        partial.getPartialSections().add("REVENUE");
+
+        cache.get("comprehensive", START, END, (start, end) -> {
+            loads.incrementAndGet();
+            return partial;
+        });
+        cache.get("comprehensive", START, END, (start, end) -> load(loads));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void waitersGiveUpAfterTheWaitTimeout() throws Exception {
+        cache = newCache(100);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+
+        try {
+            pool.submit(() -> cache.get("dashboard", START, END, (start, end) -> {
+                await(release);
+                return new ReportResponse();
+            }));
+            waitUntil(() -> cache.getStats().get("misses") == 1);
+
+            long start = System.nanoTime();
+            assertThrows(AppException.class,
+                    () -> cache.get("dashboard", START, END, (s, e) -> new ReportResponse()));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    private static ReportCache newCache(long waitTimeoutMillis) {
+        ReportCache cache = new ReportCache();
+        ReflectionTestUtils.setField(cache, "maxAgeSeconds", 60L);
+        ReflectionTestUtils.setField(cache, "bucketMinutes", 5L);
+        ReflectionTestUtils.setField(cache, "maxSize", 256);
+        ReflectionTestUtils.setField(cache, "waitTimeoutMillis", waitTimeoutMillis);
+        return cache;
+    }
+
+    private static ReportResponse load(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return new ReportResponse();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within 5 seconds");
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.vaccine.tracker.service;
+
+import com.vaccine.tracker.enums.ReportSection;
+import com.vaccine.tracker.monitoring.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that report sections are dropped once they miss their deadline,
+ * measured from the start of the report, and that a late section is cancelled.
+ */
+class ReportSectionExecutorTest {
+
+    private MockEnvironment environment;
+
+    private ReportSectionExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        environment = new MockEnvironment();
+        executor = newExecutor(100, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void returnsSectionsThatFinishInTime() {
+        long startedAt = System.nanoTime();
+
+        Future<String> result = executor.submit(ReportSection.SCHEDULE, () -> "schedules");
+
+        assertEquals("schedules", executor.await(ReportSection.SCHEDULE, result, startedAt));
+    }
+
+    @Test
+    void dropsAndCancelsASectionThatMissesItsDeadline() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        long startedAt = System.nanoTime();
+
+        Future<String> result = executor.submit(ReportSection.REVENUE, () -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "revenue";
+        });
+
+        assertNull(executor.await(ReportSection.REVENUE, result, startedAt));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) < 2000);
+        assertTrue(result.isCancelled());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void measuresTheDeadlineFromTheStartOfTheReport() {
+        // The report started long enough ago that this section's deadline has passed
+        long startedAt = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(150);
+
+        Future<String> result = executor.submit(ReportSection.CUSTOMER, () -> sleep(80, "customers"));
+
+        assertNull(executor.await(ReportSection.CUSTOMER, result, startedAt));
+    }
+
+    @Test
+    void appliesPerSectionDeadlines() {
+        environment.setProperty("app.reports.sections.reaction.timeout-millis", "2000");
+        long startedAt = System.nanoTime();
+
+        Future<String> reactions = executor.submit(ReportSection.REACTION, () -> sleep(300, "reactions"));
+        Future<String> vaccines = executor.submit(ReportSection.VACCINE, () -> sleep(300, "vaccines"));
+
+        assertNull(executor.await(ReportSection.VACCINE, vaccines, startedAt));
+        assertEquals("reactions", executor.await(ReportSection.REACTION, reactions, startedAt));
+    }
+
+    @Test
+    void dropsASectionThatFails() {
+        long startedAt = System.nanoTime();
+
+        Future<String> result = executor.submit(ReportSection.SCHEDULE, () -> {
+            throw new IllegalStateException("Section query failed");
+        });
+
+        assertNull(executor.await(ReportSection.SCHEDULE, result, startedAt));
+    }
+
+    @Test
+    void boundsTheSectionsRunningAtOnce() throws Exception {
+        executor.shutdown();
+        executor = newExecutor(5000, 2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        long startedAt = System.nanoTime();
+
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(ReportSection.SCHEDULE, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(50, "section");
+                return running.decrementAndGet();
+            }));
+        }
+        for (Future<Integer> result : results) {
+            executor.await(ReportSection.SCHEDULE, result, startedAt);
+        }
+
+        assertEquals(2, maxRunning.get());
+    }
+
+    private ReportSectionExecutor newExecutor(long timeoutMillis, int maxConcurrent) {
+        ReportSectionExecutor executor = new ReportSectionExecutor();
+        ReflectionTestUtils.setField(executor, "transactionManager", new NoOpTransactionManager());
+        ReflectionTestUtils.setField(executor, "environment", environment);
+        ReflectionTestUtils.setField(executor, "statementCounter", new SqlStatementCounter());
+        ReflectionTestUtils.setField(executor, "defaultTimeoutMillis", timeoutMillis);
+        ReflectionTestUtils.setField(executor, "maxConcurrent", maxConcurrent);
+        executor.init();
+        return executor;
+    }
+
+    private static String sleep(long millis, String result) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return result;
+    }
+
+    /**
+     * Sections only need a transaction boundary here, not a database.
+     */
+    private static final class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
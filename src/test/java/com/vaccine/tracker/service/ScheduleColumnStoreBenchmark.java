@@ -0,0 +1,95 @@
+package com.vaccine.tracker.service;
+
+import com.vaccine.tracker.constant.ReportConstants;
+import com.vaccine.tracker.entity.Schedule.ScheduleStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the schedule column store group-bys over generated schedules, spread
+ * over five years. The target is tens of milliseconds for a full-range
+ * group-by over 10M schedules.
+ *
+ * <p>Not part of the test run. Build the test classes and the test classpath,
+ * then run this class:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/test.classpath -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/test.classpath) \
+ *     com.vaccine.tracker.service.ScheduleColumnStoreBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ScheduleColumnStoreBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int schedules;
+
+    private ScheduleColumnStore store;
+
+    private LocalDate from;
+    private LocalDate to;
+    private LocalDate yearFrom;
+    private LocalDate yearTo;
+
+    @Setup(Level.Trial)
+    public void load() {
+        store = ScheduleColumnStoreFixture.load(() -> ScheduleColumnStoreFixture.rows(schedules, 42L), 1024);
+        from = ScheduleColumnStoreFixture.FIRST_DAY;
+        to = from.plusDays(ScheduleColumnStoreFixture.DAYS);
+        yearFrom = from.plusYears(2);
+        yearTo = yearFrom.plusYears(1).minusDays(1);
+    }
+
+    @Benchmark
+    public Map<ScheduleStatus, Long> countByStatus() {
+        return store.countByStatus(from, to);
+    }
+
+    @Benchmark
+    public Map<Long, Long> countByVaccine() {
+        return store.countByVaccine(from, to, null);
+    }
+
+    @Benchmark
+    public Map<Long, Long> countCompletedByVaccineForOneYear() {
+        return store.countByVaccine(yearFrom, yearTo, ScheduleStatus.COMPLETED);
+    }
+
+    @Benchmark
+    public Map<Long, Long> countByProvider() {
+        return store.countByProvider(from, to, null);
+    }
+
+    @Benchmark
+    public long[] countByAgeGroup() {
+        return store.countByAgeGroup(from, to, ReportConstants.AGE_GROUP_UPPER_DAYS);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ScheduleColumnStoreBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
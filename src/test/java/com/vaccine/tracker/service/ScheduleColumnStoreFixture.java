@@ -0,0 +1,94 @@
+package com.vaccine.tracker.service;
+
+import com.vaccine.tracker.entity.Schedule.ScheduleStatus;
+import com.vaccine.tracker.repository.ScheduleRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Builds schedule column stores from generated rows, through the same load
+ * path the application uses at startup but without a database.
+ */
+final class ScheduleColumnStoreFixture {
+
+    static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+    static final int DAYS = 5 * 365;
+    static final int VACCINES = 40;
+    static final int PROVIDERS = 200;
+
+    private static final ScheduleStatus[] STATUSES = ScheduleStatus.values();
+
+    private ScheduleColumnStoreFixture() {
+    }
+
+    /**
+     * Rows shaped like ScheduleRepository.streamColumnRows, in date order:
+     * [id, vaccine id, child birth date, scheduled date, status, provider id].
+     * About one in four rows has no provider and one in fifty no birth date.
+     */
+    static Stream<Object[]> rows(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        return IntStream.range(0, count).mapToObj(row -> {
+            LocalDate scheduled = FIRST_DAY.plusDays((long) row * DAYS / count);
+            LocalDate birth = random.nextInt(50) == 0 ? null : scheduled.minusDays(random.nextInt(6 * 365));
+            Long provider = random.nextInt(4) == 0 ? null : (long) (1 + random.nextInt(PROVIDERS));
+            return new Object[] {
+                    (long) row + 1,
+                    (long) (1 + random.nextInt(VACCINES)),
+                    birth,
+                    scheduled,
+                    STATUSES[random.nextInt(STATUSES.length)],
+                    provider
+            };
+        });
+    }
+
+    static ScheduleColumnStore load(Supplier<Stream<Object[]>> rows, int minTailRows) {
+        ScheduleRepository repository = (ScheduleRepository) Proxy.newProxyInstance(
+                ScheduleRepository.class.getClassLoader(),
+                new Class<?>[] {ScheduleRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("streamColumnRows")) {
+                        return rows.get();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        ScheduleColumnStore store = new ScheduleColumnStore();
+        ReflectionTestUtils.setField(store, "scheduleRepository", repository);
+        ReflectionTestUtils.setField(store, "transactionManager", new NoOpTransactionManager());
+        ReflectionTestUtils.setField(store, "loadOnStartup", true);
+        ReflectionTestUtils.setField(store, "minTailRows", minTailRows);
+        store.load();
+        return store;
+    }
+
+    /**
+     * The load only needs a transaction boundary, not a database.
+     */
+    private static final class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.vaccine.tracker.service;
+
+import com.vaccine.tracker.constant.ReportConstants;
+import com.vaccine.tracker.entity.Child;
+import com.vaccine.tracker.entity.Schedule;
+import com.vaccine.tracker.entity.Schedule.ScheduleStatus;
+import com.vaccine.tracker.entity.User;
+import com.vaccine.tracker.entity.Vaccine;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import static com.vaccine.tracker.service.ScheduleColumnStoreFixture.DAYS;
+import static com.vaccine.tracker.service.ScheduleColumnStoreFixture.FIRST_DAY;
+import static com.vaccine.tracker.service.ScheduleColumnStoreFixture.PROVIDERS;
+import static com.vaccine.tracker.service.ScheduleColumnStoreFixture.VACCINES;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks every group-by of the schedule column store against a plain scan
+ * of the same rows, after the load and after writes that force compaction.
+ */
+class ScheduleColumnStoreTest {
+
+    private static final int ROWS = 5000;
+
+    private static final int[] AGE_GROUPS = ReportConstants.AGE_GROUP_UPPER_DAYS;
+
+    @Test
+    void loadedCountsMatchAScan() {
+        List<Object[]> rows = ScheduleColumnStoreFixture.rows(ROWS, 1L).collect(Collectors.toList());
+        ScheduleColumnStore store = ScheduleColumnStoreFixture.load(rows::stream, 1024);
+        Map<Long, Row> model = model(rows);
+
+        assertEquals(ROWS, store.getSize());
+        assertMatches(store, model);
+    }
+
+    @Test
+    void writesAfterLoadAreCounted() {
+        List<Object[]> rows = ScheduleColumnStoreFixture.rows(ROWS, 2L).collect(Collectors.toList());
+        // No floor on the tail, so the writes below fold it into the sorted part several times
+        ScheduleColumnStore store = ScheduleColumnStoreFixture.load(rows::stream, 0);
+        Map<Long, Row> model = model(rows);
+        SplittableRandom random = new SplittableRandom(3L);
+        long nextId = ROWS + 1;
+
+        for (int write = 0; write < 2000; write++) {
+            int kind = random.nextInt(5);
+            if (kind == 0) {
+                // New schedule
+                Row row = randomRow(random);
+                long id = nextId++;
+                store.record(schedule(id, row));
+                model.put(id, row);
+            } else if (kind == 1) {
+                // Same day, other fields changed: updated in place
+                long id = existingId(model, random);
+                Row old = model.get(id);
+                Row row = new Row(1 + random.nextInt(VACCINES), old.birthDate(), old.scheduledDate(),
+                        randomStatus(random), (long) (1 + random.nextInt(PROVIDERS)));
+                store.record(schedule(id, row));
+                model.put(id, row);
+            } else if (kind == 2) {
+                // Rescheduled: moves in the sort order
+                long id = existingId(model, random);
+                Row old = model.get(id);
+                Row row = new Row(old.vaccineId(), old.birthDate(), FIRST_DAY.plusDays(random.nextInt(DAYS)),
+                        old.status(), old.providerId());
+                store.record(schedule(id, row));
+                model.put(id, row);
+            } else if (kind == 3) {
+                List<Long> ids = List.of(existingId(model, random), existingId(model, random));
+                ScheduleStatus status = randomStatus(random);
+                store.recordStatus(ids, status);
+                ids.forEach(id -> model.computeIfPresent(id, (key, old) -> new Row(old.vaccineId(),
+                        old.birthDate(), old.scheduledDate(), status, old.providerId())));
+            } else {
+                long id = existingId(model, random);
+                store.remove(id);
+                model.remove(id);
+            }
+        }
+
+        assertEquals(model.size(), store.getSize());
+        assertMatches(store, model);
+    }
+
+    private static void assertMatches(ScheduleColumnStore store, Map<Long, Row> model) {
+        LocalDate lastDay = FIRST_DAY.plusDays(DAYS);
+        List<LocalDate[]> ranges = List.of(
+                new LocalDate[] {FIRST_DAY.minusYears(1), lastDay.plusYears(1)},
+                new LocalDate[] {FIRST_DAY.plusDays(100), FIRST_DAY.plusDays(400)},
+                new LocalDate[] {FIRST_DAY.plusDays(365), FIRST_DAY.plusDays(365)},
+                new LocalDate[] {FIRST_DAY.minusDays(30), FIRST_DAY.minusDays(1)});
+
+        for (LocalDate[] range : ranges) {
+            LocalDate from = range[0];
+            LocalDate to = range[1];
+            String label = from + ".." + to;
+
+            assertEquals(scanByStatus(model, from, to), store.countByStatus(from, to), label);
+            assertArrayEquals(scanByAgeGroup(model, from, to), store.countByAgeGroup(from, to, AGE_GROUPS), label);
+            assertEquals(scanByKey(model, from, to, null, false), store.countByVaccine(from, to, null), label);
+            assertEquals(scanByKey(model, from, to, null, true), store.countByProvider(from, to, null), label);
+            for (ScheduleStatus status : ScheduleStatus.values()) {
+                assertEquals(scanByKey(model, from, to, status, false), store.countByVaccine(from, to, status),
+                        label + " " + status);
+                assertEquals(scanByKey(model, from, to, status, true), store.countByProvider(from, to, status),
+                        label + " " + status);
+            }
+        }
+    }
+
+    private static Map<ScheduleStatus, Long> scanByStatus(Map<Long, Row> model, LocalDate from, LocalDate to) {
+        Map<ScheduleStatus, Long> counts = new EnumMap<>(ScheduleStatus.class);
+        for (Row row : model.values()) {
+            if (row.in(from, to)) {
+                counts.merge(row.status(), 1L, Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    private static Map<Long, Long> scanByKey(Map<Long, Row> model, LocalDate from, LocalDate to,
+                                             ScheduleStatus status, boolean byProvider) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Row row : model.values()) {
+            if (!row.in(from, to) || (status != null && row.status() != status)) {
+                continue;
+            }
+            Long key = byProvider ? row.providerId() : Long.valueOf(row.vaccineId());
+            if (key != null) {
+                counts.merge(key, 1L, Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    private static long[] scanByAgeGroup(Map<Long, Row> model, LocalDate from, LocalDate to) {
+        long[] counts = new long[AGE_GROUPS.length + 1];
+        for (Row row : model.values()) {
+            if (row.in(from, to) && row.birthDate() != null) {
+                long ageDays = row.scheduledDate().toEpochDay() - row.birthDate().toEpochDay();
+                counts[(int) Arrays.stream(AGE_GROUPS).filter(bound -> ageDays >= bound).count()]++;
+            }
+        }
+        return counts;
+    }
+
+    private static Map<Long, Row> model(List<Object[]> rows) {
+        Map<Long, Row> model = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            model.put((Long) row[0], new Row((Long) row[1], (LocalDate) row[2], (LocalDate) row[3],
+                    (ScheduleStatus) row[4], (Long) row[5]));
+        }
+        return model;
+    }
+
+    private static Row randomRow(SplittableRandom random) {
+        LocalDate scheduled = FIRST_DAY.plusDays(random.nextInt(DAYS));
+        return new Row(1 + random.nextInt(VACCINES), scheduled.minusDays(random.nextInt(6 * 365)), scheduled,
+                randomStatus(random), random.nextBoolean() ? null : (long) (1 + random.nextInt(PROVIDERS)));
+    }
+
+    private static ScheduleStatus randomStatus(SplittableRandom random) {
+        return ScheduleStatus.values()[random.nextInt(ScheduleStatus.values().length)];
+    }
+
+    private static long existingId(Map<Long, Row> model, SplittableRandom random) {
+        List<Long> ids = new ArrayList<>(model.keySet());
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static Schedule schedule(long id, Row row) {
+        Vaccine vaccine = new Vaccine();
+        vaccine.setId(row.vaccineId());
+
+        Child child = new Child();
+        child.setDateOfBirth(row.birthDate());
+
+        Schedule schedule = new Schedule();
+        schedule.setId(id);
+        schedule.setVaccine(vaccine);
+        schedule.setChild(child);
+        schedule.setScheduledDate(row.scheduledDate());
+        schedule.setStatus(row.status());
+        if (row.providerId() != null) {
+            User provider = new User();
+            provider.setId(row.providerId());
+            schedule.setProvider(provider);
+        }
+        return schedule;
+    }
+
+    private record Row(long vaccineId, LocalDate birthDate, LocalDate scheduledDate,
+                       ScheduleStatus status, Long providerId) {
+
+        boolean in(LocalDate from, LocalDate to) {
+            return !scheduledDate.isBefore(from) && !scheduledDate.isAfter(to);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.vaccine.tracker.service;
+
+import com.vaccine.tracker.dto.request.VaccinationExportRequest;
+import com.vaccine.tracker.entity.Child;
+import com.vaccine.tracker.entity.User;
+import com.vaccine.tracker.entity.Vaccination;
+import com.vaccine.tracker.entity.Vaccine;
+import com.vaccine.tracker.enums.Role;
+import com.vaccine.tracker.enums.VaccinationExportColumn;
+import com.vaccine.tracker.exception.UnauthorizedException;
+import com.vaccine.tracker.monitoring.SqlStatementCounter;
+import com.vaccine.tracker.monitoring.StatementCounts;
+import com.vaccine.tracker.repository.ChildRepository;
+import com.vaccine.tracker.repository.UserRepository;
+import com.vaccine.tracker.repository.VaccinationRepository;
+import com.vaccine.tracker.repository.VaccineRepository;
+import com.vaccine.tracker.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exports a seeded stretch of the vaccination registry and checks the CSV
+ * content, and that the database is read with one query per partition
+ * however many rows the partition holds.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "app.schedules.missed-job.run-on-startup=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class VaccinationExportTest {
+
+    // A range no other test seeds, so the export only sees these rows
+    private static final LocalDate FIRST_DAY = LocalDate.of(2001, 1, 1);
+    private static final int DAYS = 90;
+
+    @Autowired
+    private VaccinationExportService exportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChildRepository childRepository;
+
+    @Autowired
+    private VaccineRepository vaccineRepository;
+
+    @Autowired
+    private VaccinationRepository vaccinationRepository;
+
+    @Autowired
+    private SqlStatementCounter statementCounter;
+
+    private UserPrincipal staff;
+    private UserPrincipal parent;
+
+    @BeforeAll
+    void seed() {
+        User staffUser = userRepository.save(newUser("export.staff", Role.ROLE_STAFF));
+        User parentUser = userRepository.save(newUser("export.parent", Role.ROLE_CUSTOMER));
+        staff = UserPrincipal.create(staffUser);
+        parent = UserPrincipal.create(parentUser);
+
+        Vaccine vaccine = new Vaccine();
+        vaccine.setName("Export Vaccine");
+        vaccine.setDescription("Seeded vaccine");
+        vaccine.setManufacturer("Export Labs");
+        vaccine.setRecommendedAgeMonths(2);
+        vaccine.setDoseCount(1);
+        vaccine = vaccineRepository.save(vaccine);
+
+        Child child = new Child();
+        child.setFirstName("Export");
+        child.setLastName("Child");
+        child.setDateOfBirth(FIRST_DAY.minusMonths(2));
+        child.setParent(parentUser);
+        child = childRepository.save(child);
+
+        for (int day = 0; day < DAYS; day++) {
+            Vaccination vaccination = new Vaccination();
+            vaccination.setChild(child);
+            vaccination.setVaccine(vaccine);
+            vaccination.setScheduledDate(FIRST_DAY.plusDays(day));
+            vaccination.setAdministeredDate(FIRST_DAY.plusDays(day));
+            vaccination.setDoseNumber(1);
+            vaccination.setStatus(Vaccination.VaccinationStatus.COMPLETED);
+            vaccination.setProvider(staffUser);
+            vaccination.setNotes(day == 0 ? "=HYPERLINK(\"x\"), see chart" : null);
+            vaccinationRepository.save(vaccination);
+        }
+    }
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void writesAHeaderAndEveryRowOnce() throws IOException {
+        signIn(staff);
+
+        String[] lines = export(request(false)).split("\r\n");
+
+        String header = Arrays.stream(VaccinationExportColumn.values())
+                .map(VaccinationExportColumn::getHeader)
+                .collect(Collectors.joining(","));
+        assertEquals(header, lines[0]);
+        assertEquals(DAYS + 1, lines.length);
+
+        Set<String> ids = new HashSet<>();
+        for (int i = 1; i < lines.length; i++) {
+            assertTrue(lines[i].contains("Export Child"));
+            ids.add(lines[i].substring(0, lines[i].indexOf(',')));
+        }
+        assertEquals(DAYS, ids.size());
+    }
+
+    @Test
+    void neutralizesFormulasAndQuotesValues() throws IOException {
+        signIn(staff);
+
+        String csv = export(request(false));
+
+        assertTrue(csv.contains("\"'=HYPERLINK(\"\"x\"\"), see chart\""));
+    }
+
+    @Test
+    void readsEachPartitionWithOneQuery() throws IOException {
+        signIn(staff);
+        VaccinationExportRequest request = request(false);
+        request.setColumns(List.of(VaccinationExportColumn.ID, VaccinationExportColumn.CHILD_NAME,
+                VaccinationExportColumn.VACCINE_NAME));
+        int partitions = (DAYS + request.getPartitionDays() - 1) / request.getPartitionDays();
+
+        statementCounter.begin();
+        long rows = exportService.exportCsv(request, new ByteArrayOutputStream());
+        StatementCounts counts = statementCounter.end();
+
+        assertEquals(DAYS, rows);
+        assertEquals(partitions, counts.getSelects());
+    }
+
+    @Test
+    void compressesToTheSameCsv() throws IOException {
+        signIn(staff);
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        exportService.exportCsv(request(false), plain);
+        exportService.exportCsv(request(true), compressed);
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertArrayEquals(plain.toByteArray(), gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    void refusesCustomers() {
+        signIn(parent);
+
+        assertThrows(UnauthorizedException.class,
+                () -> exportService.exportCsv(request(false), new ByteArrayOutputStream()));
+    }
+
+    private String export(VaccinationExportRequest request) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportCsv(request, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static VaccinationExportRequest request(boolean gzip) {
+        VaccinationExportRequest request = new VaccinationExportRequest();
+        request.setStartDate(FIRST_DAY);
+        request.setEndDate(FIRST_DAY.plusDays(DAYS - 1));
+        request.setGzip(gzip);
+        return request;
+    }
+
+    private static void signIn(UserPrincipal principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private static User newUser(String username, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("{noop}password");
+        user.setFirstName("Export");
+        user.setLastName(username);
+        user.setEmail(username + "@example.com");
+        user.setRole(role.name());
+        return user;
+    }
+}